@@ -0,0 +1,51 @@
+package likelion.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import likelion.dto.AnalysisResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalysisResponse JSON 직렬화 (응답/캐시 재생/SSE done 이벤트마다 발생)
+ * 실제 응답과 비슷한 길이의 문구로 채운 응답 하나를 계속 직렬화합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalysisResponseJsonBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AnalysisResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String reason = "정문과 가까운 편(약 120m)으로 접근성이 양호합니다. 1층이라 고객 노출과 유입에 유리합니다. ".repeat(3);
+        String content = "학기 중 점심 피크(11:30~13:30)에 회전율을 높이는 운영이 중요해요. ".repeat(12);
+        List<AnalysisResponse.AdjusmentItem> items = List.of(
+                new AnalysisResponse.AdjusmentItem("정문과 근접", 10),
+                new AnalysisResponse.AdjusmentItem("주변 경쟁사 밀도", -8));
+        response = new AnalysisResponse(
+                List.of(
+                        new AnalysisResponse.ScoreInfo("접근성", 82, null, reason, items, items),
+                        new AnalysisResponse.ScoreInfo("예산 적합성", 74, new AnalysisResponse.ExpectedPrice(3_000_000, 60_000_000), reason, items, items),
+                        new AnalysisResponse.ScoreInfo("메뉴 적합성", 90, null, reason, items, items)),
+                new AnalysisResponse.ReviewAnalysis(4.3,
+                        List.of(new AnalysisResponse.ReviewSample("가게1", 4.5, List.of("커피가 진하고 자리가 넓어요.")),
+                                new AnalysisResponse.ReviewSample("가게2", 3.5, List.of("시험기간엔 자리가 부족해요.")),
+                                new AnalysisResponse.ReviewSample("가게3", 5.0, List.of("디저트가 다양하고 가격이 괜찮아요.")),
+                                new AnalysisResponse.ReviewSample("가게4", 2.0, List.of("피크 시간 대기가 길어요."))),
+                        content),
+                new AnalysisResponse.DetailAnalysis(List.of(
+                        new AnalysisResponse.DetailSection("접근성", content),
+                        new AnalysisResponse.DetailSection("예산 적합성", content),
+                        new AnalysisResponse.DetailSection("메뉴 적합성", content))));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
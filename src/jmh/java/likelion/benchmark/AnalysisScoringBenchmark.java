@@ -0,0 +1,58 @@
+package likelion.benchmark;
+
+import likelion.domain.entity.Restaurant;
+import likelion.dto.AnalysisRequest;
+import likelion.dto.AnalysisResponse;
+import likelion.service.category.CategoryKeywords;
+import likelion.service.distance.DistanceCalc;
+import likelion.service.location.LocationScorer;
+import likelion.service.spatial.RestaurantSpatialIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * AnalysisService.analyze의 경쟁사 필터링 + 접근성 점수 (AI 없는 로컬 구간, LocationScorer)
+ * - locationScore: 실제 경로 (공간 인덱스 스냅샷 -> 반경 50m -> 동종업계 필터 -> 점수/사유)
+ * - fullScanCompetitors: 인덱스 없이 전체 식당을 거리+카테고리로 거르는 기준선
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalysisScoringBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int catalogSize;
+
+    private final LocationScorer locationScorer = new LocationScorer();
+    private RestaurantSpatialIndex.Snapshot snapshot;
+    private List<Restaurant> restaurants;
+    private AnalysisRequest request;
+    private Predicate<Restaurant> matcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        restaurants = SyntheticCatalog.restaurants(catalogSize);
+        RestaurantSpatialIndex index = SyntheticCatalog.spatialIndex(restaurants);
+        snapshot = index.snapshot();
+        request = SyntheticCatalog.request("카페/디저트");
+        matcher = CategoryKeywords.restaurantMatcher(request.category());
+    }
+
+    @Benchmark
+    public AnalysisResponse.ScoreInfo locationScore() {
+        return locationScorer.score(request, snapshot);
+    }
+
+    @Benchmark
+    public List<Restaurant> fullScanCompetitors() {
+        return restaurants.stream()
+                .filter(r -> DistanceCalc.calculateDistance(SyntheticCatalog.CENTER_LAT, SyntheticCatalog.CENTER_LON,
+                        r.getLatitude(), r.getLongitude()) <= 50)
+                .filter(matcher)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,60 @@
+package likelion.benchmark;
+
+import likelion.domain.entity.Restaurant;
+import likelion.service.category.CategoryClassifier;
+import likelion.service.category.CategoryKeywords;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 카테고리 키워드 확장 + 매칭
+ * - classify: 카카오 원문 하나 분류 (Aho-Corasick)
+ * - buildMatcher: 요청 카테고리 -> 키워드 확장 -> 매처 생성 (요청마다 한 번)
+ * - filterCatalog: 전체 식당에 매처 적용 (저장된 마스크가 있으면 비트 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CategoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int catalogSize;
+
+    @Param({"카페/디저트", "일식", "마라탕"})
+    String category;
+
+    private List<Restaurant> restaurants;
+    private Predicate<Restaurant> matcher;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        restaurants = SyntheticCatalog.restaurants(catalogSize);
+        matcher = CategoryKeywords.restaurantMatcher(category);
+    }
+
+    @Benchmark
+    public int classify() {
+        String raw = SyntheticCatalog.RAW_CATEGORIES.get(next++ % SyntheticCatalog.RAW_CATEGORIES.size());
+        return CategoryClassifier.classify(raw);
+    }
+
+    @Benchmark
+    public Predicate<Restaurant> buildMatcher() {
+        return CategoryKeywords.restaurantMatcher(category);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void filterCatalog(Blackhole bh) {
+        int count = 0;
+        for (Restaurant r : restaurants) {
+            if (matcher.test(r)) count++;
+        }
+        bh.consume(count);
+    }
+}
@@ -0,0 +1,78 @@
+package likelion.benchmark;
+
+import likelion.domain.entity.Restaurant;
+import likelion.service.distance.DistanceCalc;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DistanceCalc.calculateDistance
+ * - single: 한 번 호출 비용
+ * - scanWithinRadius: 전체 식당과 거리 계산해서 50m 안을 세는 비용 (공간 인덱스 없이 findAll() 하던 방식의 기준선)
+ * - scanWithRadiusFilter: 같은 스캔을 박스 제외 + 근사 거리(DistanceCalc.Radius)로
+ * - batchDistances: 배열 일괄 haversine (DistanceCalc.distances)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DistanceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int catalogSize;
+
+    private double[] lats;
+    private double[] lons;
+    private double lat;
+    private double lon;
+    private double[] out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Restaurant> restaurants = SyntheticCatalog.restaurants(catalogSize);
+        lats = new double[restaurants.size()];
+        lons = new double[restaurants.size()];
+        for (int i = 0; i < restaurants.size(); i++) {
+            lats[i] = restaurants.get(i).getLatitude();
+            lons[i] = restaurants.get(i).getLongitude();
+        }
+        lat = SyntheticCatalog.CENTER_LAT;
+        lon = SyntheticCatalog.CENTER_LON;
+        out = new double[lats.length];
+    }
+
+    @Benchmark
+    public double single() {
+        return DistanceCalc.calculateDistance(lat, lon, lats[0], lons[0]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void scanWithinRadius(Blackhole bh) {
+        int count = 0;
+        for (int i = 0; i < lats.length; i++) {
+            if (DistanceCalc.calculateDistance(lat, lon, lats[i], lons[i]) <= 50) count++;
+        }
+        bh.consume(count);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void scanWithRadiusFilter(Blackhole bh) {
+        DistanceCalc.Radius radius = DistanceCalc.radius(lat, lon, 50);
+        int count = 0;
+        for (int i = 0; i < lats.length; i++) {
+            if (radius.contains(lats[i], lons[i])) count++;
+        }
+        bh.consume(count);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double[] batchDistances() {
+        DistanceCalc.distances(lat, lon, lats, lons, out);
+        return out;
+    }
+}
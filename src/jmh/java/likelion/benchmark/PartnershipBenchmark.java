@@ -0,0 +1,41 @@
+package likelion.benchmark;
+
+import likelion.domain.entity.Restaurant;
+import likelion.service.partner.PartnerFinder;
+import likelion.service.spatial.RestaurantSpatialIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PartnerFinder.find (반경을 50m부터 30m씩 넓혀가며 카페<->음식점 후보 찾기)
+ * 타깃은 카탈로그 가운데 쪽 카페 하나로 고정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartnershipBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int catalogSize;
+
+    private PartnerFinder partnerFinder;
+    private Restaurant target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Restaurant> restaurants = SyntheticCatalog.restaurants(catalogSize);
+        RestaurantSpatialIndex index = SyntheticCatalog.spatialIndex(restaurants);
+        partnerFinder = new PartnerFinder(index);
+        target = index.nearest(SyntheticCatalog.CENTER_LAT, SyntheticCatalog.CENTER_LON, 200).stream()
+                .filter(r -> Boolean.TRUE.equals(r.getCafe()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public List<Restaurant> findPartners() {
+        return partnerFinder.find(target, true);
+    }
+}
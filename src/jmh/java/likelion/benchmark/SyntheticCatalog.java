@@ -0,0 +1,85 @@
+package likelion.benchmark;
+
+import likelion.domain.entity.Restaurant;
+import likelion.dto.AnalysisRequest;
+import likelion.repository.RestaurantRepository;
+import likelion.service.category.CategoryClassifier;
+import likelion.service.location.LocationScoreRules;
+import likelion.service.spatial.RestaurantSpatialIndex;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 가짜 식당 데이터
+ * 정문 기준 약 2km x 2km 안에 카카오 원문 형태의 카테고리로 size개를 고르게 뿌립니다. (seed 고정이라 매번 같은 데이터)
+ */
+public final class SyntheticCatalog {
+
+    // 시드 데이터에서 자주 나오는 카카오 카테고리 원문
+    public static final List<String> RAW_CATEGORIES = List.of(
+            "음식점 > 카페 > 커피전문점",
+            "음식점 > 카페 > 디저트카페 > 제과,베이커리",
+            "음식점 > 한식 > 국밥",
+            "음식점 > 한식 > 육류,고기 > 삼겹살",
+            "음식점 > 치킨",
+            "음식점 > 양식 > 피자",
+            "음식점 > 술집 > 호프,요리주점",
+            "음식점 > 패스트푸드 > 햄버거",
+            "음식점 > 일식 > 초밥,롤",
+            "음식점 > 일식 > 돈까스,우동",
+            "음식점 > 중식 > 중국요리",
+            "음식점 > 아시아음식 > 베트남음식",
+            "음식점 > 분식 > 떡볶이",
+            "음식점 > 간식 > 아이스크림"
+    );
+
+    // 분석 요청 기준 좌표 (정문 근처 상권)
+    public static final double CENTER_LAT = LocationScoreRules.ERICA_MAIN_GATE_LAT + 0.0008;
+    public static final double CENTER_LON = LocationScoreRules.ERICA_MAIN_GATE_LON + 0.0010;
+
+    private static final double SPREAD_DEG = 0.018; // 약 2km
+
+    private SyntheticCatalog() {
+    }
+
+    public static List<Restaurant> restaurants(int size) {
+        Random random = new Random(42);
+        List<Restaurant> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Restaurant r = new Restaurant();
+            r.setKakaoPlaceId((long) i + 1);
+            r.setRestaurantName("가게" + i);
+            r.setCategory(RAW_CATEGORIES.get(random.nextInt(RAW_CATEGORIES.size())));
+            r.setLatitude(LocationScoreRules.ERICA_MAIN_GATE_LAT + (random.nextDouble() - 0.5) * SPREAD_DEG);
+            r.setLongitude(LocationScoreRules.ERICA_MAIN_GATE_LON + (random.nextDouble() - 0.5) * SPREAD_DEG);
+            CategoryClassifier.applyTo(r);
+            result.add(r);
+        }
+        return result;
+    }
+
+    // findAll()만 돌려주는 저장소로 만든 공간 인덱스 (DB 없이)
+    public static RestaurantSpatialIndex spatialIndex(List<Restaurant> restaurants) {
+        RestaurantRepository repository = (RestaurantRepository) Proxy.newProxyInstance(
+                RestaurantRepository.class.getClassLoader(),
+                new Class<?>[]{RestaurantRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && (args == null || args.length == 0)) return restaurants;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        RestaurantSpatialIndex index = new RestaurantSpatialIndex(repository);
+        index.rebuild();
+        return index;
+    }
+
+    public static AnalysisRequest request(String category) {
+        return new AnalysisRequest(
+                CENTER_LAT + ", " + CENTER_LON, category, "대학가/학교 주변",
+                new AnalysisRequest.MinMax(150, 200), new AnalysisRequest.MinMax(2000, 3000),
+                "홀 영업 위주", "아메리카노", 4000,
+                new AnalysisRequest.MinMax(15, 20), 1);
+    }
+}
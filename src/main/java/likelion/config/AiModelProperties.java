@@ -0,0 +1,47 @@
+package likelion.config;
+
+import likelion.service.ai.AiPromptType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * AI 호출 종류별 모델 설정 (openai.models.*)
+ * - defaults: 종류별 설정이 없는 항목에 쓰는 기본값
+ * - types.{price, menu-guess, review-feedback, detail, partnership-event}: 종류별로 바꿀 항목만 적으면 됨
+ * maxTokens/temperature가 비어 있으면 요청에 넣지 않음 (OpenAI 기본값)
+ */
+@ConfigurationProperties(prefix = "openai.models")
+public record AiModelProperties(ModelSettings defaults, Map<AiPromptType, ModelSettings> types) {
+
+    private static final String DEFAULT_MODEL = "gpt-4o";
+
+    public AiModelProperties {
+        if (defaults == null) defaults = new ModelSettings(DEFAULT_MODEL, null, null);
+        types = (types == null || types.isEmpty()) ? Map.of() : new EnumMap<>(types);
+    }
+
+    public record ModelSettings(String model, Integer maxTokens, Double temperature) {
+
+        // 비어 있는 항목은 fallback 값으로 채움
+        ModelSettings orElse(ModelSettings fallback) {
+            return new ModelSettings(
+                    (model == null || model.isBlank()) ? fallback.model() : model,
+                    (maxTokens == null) ? fallback.maxTokens() : maxTokens,
+                    (temperature == null) ? fallback.temperature() : temperature);
+        }
+
+        // 같은 프롬프트라도 모델/설정이 다르면 다른 응답이므로 캐시 키에 같이 넣음
+        public String cacheKey() {
+            return model + "|" + maxTokens + "|" + temperature;
+        }
+    }
+
+    /** 종류별 설정을 기본값과 합친 최종 설정 */
+    public ModelSettings settingsFor(AiPromptType type) {
+        ModelSettings base = defaults.orElse(new ModelSettings(DEFAULT_MODEL, null, null));
+        ModelSettings override = types.get(type);
+        return (override == null) ? base : override.orElse(base);
+    }
+}
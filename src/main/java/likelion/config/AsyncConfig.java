@@ -0,0 +1,117 @@
+package likelion.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${analysis.executor.core-size:8}")
+    private int analysisCoreSize;
+
+    @Value("${analysis.executor.max-size:16}")
+    private int analysisMaxSize;
+
+    @Value("${analysis.executor.queue-capacity:100}")
+    private int analysisQueueCapacity;
+
+    @Value("${analysis.ai.executor.core-size:8}")
+    private int aiCoreSize;
+
+    @Value("${analysis.ai.executor.max-size:96}")
+    private int aiMaxSize;
+
+    @Value("${analysis.jobs.workers:4}")
+    private int jobWorkers;
+
+    @Value("${analysis.jobs.queue-capacity:50}")
+    private int jobQueueCapacity;
+
+    /**
+     * 분석 단계(AI 호출 등)를 병렬로 돌리는 스레드풀 (동기 /api/analysis, 여러 후보지 비교)
+     * 큐까지 꽉 차면 호출한 요청 스레드에서 그냥 실행(CallerRuns) -> 느려질 뿐 요청이 실패하진 않음
+     */
+    @Bean(name = "analysisExecutor")
+    public ThreadPoolTaskExecutor analysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysisCoreSize);
+        executor.setMaxPoolSize(analysisMaxSize);
+        executor.setQueueCapacity(analysisQueueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 스트리밍(/api/analysis/stream)과 비동기 잡의 분석 단계를 돌리는 스레드풀 (크기는 analysisExecutor와 같음)
+     * 요청/워커 스레드를 붙잡지 않는 게 목적이라 호출한 스레드에서 실행하지 않고 거절(AbortPolicy)
+     * -> 분석 시작 전에 꽉 차 있으면 503 + Retry-After, 진행 중에 거절된 단계는 fallback
+     */
+    @Bean(name = "analysisAsyncExecutor")
+    public ThreadPoolTaskExecutor analysisAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysisCoreSize);
+        executor.setMaxPoolSize(analysisMaxSize);
+        executor.setQueueCapacity(analysisQueueCapacity);
+        executor.setThreadNamePrefix("analysis-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 비동기 분석 잡(/api/analysis/jobs)을 하나씩 실행하는 워커 풀
+     * 동시에 도는 잡 수를 고정하고 나머지는 큐에서 대기 -> 몰리는 요청을 평탄화
+     * 큐까지 꽉 차면 거절(AbortPolicy) -> 잡 생성 API가 503으로 응답
+     */
+    @Bean(name = "analysisJobExecutor")
+    public ThreadPoolTaskExecutor analysisJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobWorkers);
+        executor.setMaxPoolSize(jobWorkers);
+        executor.setQueueCapacity(jobQueueCapacity);
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * single-flight 대표 AI 호출을 돌리는 스레드풀
+     * 스레드가 입장 제어(AiCallLimiter) 대기까지 같이 하므로 최대 크기는 종류별 동시 호출 합 + 대기열 크기 이상으로
+     * 큐 없이 최대 크기까지만 늘고, 넘치면 거절(AbortPolicy) -> 호출하는 쪽은 503 + Retry-After
+     */
+    @Bean(name = "aiCallExecutor")
+    public ThreadPoolTaskExecutor aiCallExecutor() {
+        return aiExecutor("ai-call-");
+    }
+
+    /**
+     * AI hedging(첫 호출 + 늦을 때 추가 호출)을 돌리는 스레드풀
+     * 넘치면 거절 -> AiHedger가 hedge 없이 호출한 스레드에서 바로 실행
+     */
+    @Bean(name = "aiHedgeExecutor")
+    public ThreadPoolTaskExecutor aiHedgeExecutor() {
+        return aiExecutor("ai-hedge-");
+    }
+
+    private ThreadPoolTaskExecutor aiExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.min(aiCoreSize, aiMaxSize));
+        executor.setMaxPoolSize(aiMaxSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,13 +1,22 @@
 package likelion.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.client.OpenAiApi;
 import com.theokanning.openai.service.OpenAiService;
+import likelion.service.ai.PromptCacheUsage;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
 
 import java.time.Duration;
 
 @Configuration
+@EnableConfigurationProperties(AiModelProperties.class)
 public class OpenAiConfig {
 
     @Value("${openai.api-key}")
@@ -15,7 +24,17 @@ public class OpenAiConfig {
 
     @Bean
     public OpenAiService openAiService() {
+        // 응답 usage를 캐시 토큰(prompt_tokens_details.cached_tokens)까지 읽도록 기본 ObjectMapper에 등록
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        mapper.addMixIn(Usage.class, UsageMixin.class);
+
         // AI 응답이 길어질 경우를 대비해 타임아웃을 60초로 넉넉하게 설정
-        return new OpenAiService(openAiApiKey, Duration.ofSeconds(60));
+        OkHttpClient client = OpenAiService.defaultClient(openAiApiKey, Duration.ofSeconds(60));
+        Retrofit retrofit = OpenAiService.defaultRetrofit(client, mapper);
+        return new OpenAiService(retrofit.create(OpenAiApi.class));
+    }
+
+    @JsonDeserialize(as = PromptCacheUsage.class)
+    private abstract static class UsageMixin {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package likelion.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import likelion.service.ai.AiCallLimiter;
+import likelion.service.ai.AiCircuitBreaker;
+import likelion.service.ai.AiHedger;
+import likelion.service.ai.AiPromptType;
+import likelion.service.ai.PromptCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "AI", description = "AI 호출 상태 확인")
+public class AiStatusController {
+
+    private final AiCircuitBreaker aiCircuitBreaker;
+    private final AiCallLimiter aiCallLimiter;
+    private final PromptCacheStats promptCacheStats;
+    private final AiHedger aiHedger;
+
+    @GetMapping("/api/ai/breakers")
+    @Operation(summary = "호출 종류별 차단기 상태와 최근 응답시간 분위수")
+    public Map<AiPromptType, AiCircuitBreaker.Snapshot> breakers() {
+        return aiCircuitBreaker.snapshot();
+    }
+
+    @GetMapping("/api/ai/limiter")
+    @Operation(summary = "AI 호출 대기열 길이, 종류별 진행 중 호출 수, 거절 수")
+    public Map<String, Object> limiter() {
+        Map<String, Object> inFlight = new LinkedHashMap<>();
+        for (AiPromptType type : AiPromptType.values()) {
+            inFlight.put(type.name(), aiCallLimiter.inFlight(type));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("queued", aiCallLimiter.queued());
+        result.put("rejected", aiCallLimiter.rejectedCount());
+        result.put("inFlight", inFlight);
+        return result;
+    }
+
+    @GetMapping("/api/ai/prompt-cache")
+    @Operation(summary = "호출 종류별 누적 프롬프트 토큰과 OpenAI 프롬프트 캐시로 처리된 토큰")
+    public Map<AiPromptType, PromptCacheStats.Snapshot> promptCache() {
+        return promptCacheStats.snapshot();
+    }
+
+    @GetMapping("/api/ai/hedge")
+    @Operation(summary = "AI 호출 수, hedge로 추가 발송한 수, hedge가 먼저 응답한 수, 종류별 hedge 기준 지연(ms)")
+    public Map<String, Object> hedge() {
+        Map<String, Object> delays = new LinkedHashMap<>();
+        for (AiPromptType type : AiPromptType.values()) {
+            delays.put(type.name(), aiHedger.hedgeDelayMs(type));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("calls", aiHedger.callCount());
+        result.put("hedged", aiHedger.hedgedCount());
+        result.put("hedgeWins", aiHedger.hedgeWinCount());
+        result.put("delayMs", delays);
+        return result;
+    }
+}
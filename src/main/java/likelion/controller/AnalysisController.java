@@ -1,18 +1,33 @@
 package likelion.controller;
 
 import jakarta.validation.Valid;
+import likelion.dto.AnalysisBatchRequest;
+import likelion.dto.AnalysisBatchResponse;
 import likelion.dto.AnalysisRequest;
 import likelion.dto.AnalysisResponse;
+import likelion.service.AnalysisListener;
+import likelion.service.AnalysisMode;
 import likelion.service.AnalysisService;
+import likelion.service.ai.AiCallLimiter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 //Swagger/OpenAPI용 import
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.media.*;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -23,6 +38,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class AnalysisController {
 
     private final AnalysisService analysisService;
+    private final AiCallLimiter aiCallLimiter;
+
+    // 스트리밍 연결 최대 유지 시간(ms). 분석 단계 타임아웃 합보다 넉넉하게
+    @Value("${analysis.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
 
     @PostMapping("/api/analysis")
     @Operation(summary = "창업 분석 요청")
@@ -31,7 +51,8 @@ public class AnalysisController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = AnalysisResponse.class))),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
-            @ApiResponse(responseCode = "500", description = "서버 오류")
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "AI 요청 대기열 포화 (Retry-After 후 재시도)")
     })
     public AnalysisResponse getAnalysis(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -60,11 +81,156 @@ public class AnalysisController {
                             }
                     )
             )
-            @Valid @RequestBody AnalysisRequest request
+            @Valid @RequestBody AnalysisRequest request,
+            @Parameter(description = "분석 모드: full(기본, AI 포함) / fast(AI 없이 로컬 데이터만, 즉시 응답)")
+            @RequestParam(required = false) String mode
     ) {
         if (request == null) {
             throw new ResponseStatusException(BAD_REQUEST, "요청이 비어있음");
         }
-        return analysisService.analyze(request);
+        AnalysisMode analysisMode = AnalysisMode.from(mode);
+        rejectIfAiSaturated(analysisMode);
+        return analysisService.analyze(request, analysisMode);
+    }
+
+    /**
+     * 여러 후보지 비교 분석
+     * 같은 카테고리 리뷰 분석/같은 메뉴 평균가는 한 번만 조회해서 공유하고, 상세분석(AI)은 생략합니다.
+     */
+    @PostMapping("/api/analysis/batch")
+    @Operation(summary = "후보지 여러 곳 비교 분석 (종합 점수 순위)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AnalysisBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청")
+    })
+    public AnalysisBatchResponse getBatchAnalysis(@Valid @RequestBody AnalysisBatchRequest request) {
+        if (request == null || request.requests() == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "요청이 비어있음");
+        }
+        aiCallLimiter.rejectIfSaturated();
+        return analysisService.analyzeBatch(request.requests());
+    }
+
+    /**
+     * 창업 분석 스트리밍(SSE)
+     * 결과가 준비되는 순서대로 이벤트를 보냅니다.
+     * - score: 점수 항목 하나 (접근성/예산은 바로, 메뉴는 AI 평균가 이후)
+     * - review: 동종업계 리뷰 분석
+     * - detail-delta: 상세분석 AI 응답 조각(원문 JSON 토큰)
+     * - detail-section: 상세분석 섹션 하나 (AI 응답에서 섹션이 완성되는 대로, 못 보낸 섹션은 완료 시점에)
+     * - done: 전체 결과(기존 /api/analysis 응답과 동일) 후 종료
+     */
+    @PostMapping(value = "/api/analysis/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "창업 분석 요청 (SSE 스트리밍)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공 (text/event-stream)"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "503", description = "AI 요청 대기열 또는 분석 스레드풀 포화 (Retry-After 후 재시도)")
+    })
+    public SseEmitter streamAnalysis(@Valid @RequestBody AnalysisRequest request,
+                                     @RequestParam(required = false) String mode) {
+        if (request == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "요청이 비어있음");
+        }
+        AnalysisMode analysisMode = AnalysisMode.from(mode);
+        rejectIfAiSaturated(analysisMode);
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        SseAnalysisListener listener = new SseAnalysisListener(emitter);
+        emitter.onCompletion(listener::close);
+        emitter.onTimeout(listener::close);
+        emitter.onError(e -> listener.close());
+
+        // 로컬 점수 계산까지만 여기서 하고, 나머지는 비동기 분석 풀에서 진행 (요청 스레드는 바로 반환, 풀이 꽉 찼으면 503)
+        analysisService.analyzeAsync(request, listener, analysisMode)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        listener.send("error", Map.of("message", "분석 중 오류가 발생했습니다."));
+                        emitter.complete();
+                        return;
+                    }
+                    listener.send("done", response);
+                    emitter.complete();
+                });
+        return emitter;
+    }
+
+    // AI 호출 대기열이 가득 차 있으면 분석을 시작하지 않고 바로 503 + Retry-After (빠른 모드는 AI를 안 쓰므로 통과)
+    private void rejectIfAiSaturated(AnalysisMode mode) {
+        if (mode != AnalysisMode.FAST) aiCallLimiter.rejectIfSaturated();
+    }
+
+    // 분석 콜백을 SSE 이벤트로 바꿔 보내는 리스너 (여러 워커 스레드에서 호출되므로 전송은 직렬화)
+    private static class SseAnalysisListener implements AnalysisListener {
+
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+        private final List<AnalysisResponse.DetailSection> streamedSections = new ArrayList<>();
+        private final List<Runnable> closeActions = new ArrayList<>();
+
+        SseAnalysisListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onScore(AnalysisResponse.ScoreInfo score) {
+            send("score", score);
+        }
+
+        @Override
+        public void onReviewAnalysis(AnalysisResponse.ReviewAnalysis reviewAnalysis) {
+            send("review", reviewAnalysis);
+        }
+
+        @Override
+        public void onDetailDelta(String delta) {
+            send("detail-delta", delta);
+        }
+
+        @Override
+        public synchronized void onDetailSection(AnalysisResponse.DetailSection section) {
+            streamedSections.add(section);
+            send("detail-section", section);
+        }
+
+        @Override
+        public synchronized void onDetailAnalysis(AnalysisResponse.DetailAnalysis detailAnalysis) {
+            List<AnalysisResponse.DetailSection> sections = detailAnalysis.sections();
+            // 스트리밍 중에 이미 보낸 섹션과 앞부분이 같으면 나머지만 (fallback으로 바뀌었으면 전부 다시)
+            boolean continues = sections.size() >= streamedSections.size()
+                    && sections.subList(0, streamedSections.size()).equals(streamedSections);
+            for (AnalysisResponse.DetailSection section : continues ? sections.subList(streamedSections.size(), sections.size()) : sections) {
+                send("detail-section", section);
+            }
+        }
+
+        @Override
+        public boolean wantsDetailDeltas() {
+            return true;
+        }
+
+        synchronized void send(String name, Object data) {
+            if (closed) return;
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 끊었거나 이미 종료된 연결: 이후 이벤트는 버리고 AI 스트리밍은 취소 (분석 자체는 계속 진행)
+                close();
+            }
+        }
+
+        @Override
+        public synchronized void whenClosed(Runnable action) {
+            if (closed) action.run();
+            else closeActions.add(action);
+        }
+
+        synchronized void close() {
+            closed = true;
+            closeActions.forEach(Runnable::run);
+            closeActions.clear();
+        }
     }
-}
\ No newline at end of file
+}
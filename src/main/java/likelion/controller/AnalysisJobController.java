@@ -0,0 +1,60 @@
+package likelion.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import likelion.dto.AnalysisJobResponse;
+import likelion.dto.AnalysisRequest;
+import likelion.service.job.AnalysisJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Analysis", description = "창업 분석")
+public class AnalysisJobController {
+
+    private final AnalysisJobService analysisJobService;
+
+    @PostMapping("/api/analysis/jobs")
+    @Operation(summary = "창업 분석 잡 생성 (결과는 jobId로 조회)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "접수됨"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "503", description = "대기열 가득 참")
+    })
+    public ResponseEntity<AnalysisJobResponse> createJob(@Valid @RequestBody AnalysisRequest request) {
+        if (request == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "요청이 비어있음");
+        }
+        AnalysisJobResponse job = AnalysisJobResponse.from(analysisJobService.submit(request));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/analysis/jobs/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/api/analysis/jobs/{jobId}")
+    @Operation(summary = "창업 분석 잡 상태/결과 조회")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공 (진행 중이면 부분 결과)"),
+            @ApiResponse(responseCode = "404", description = "없는 잡이거나 보관 기간 만료")
+    })
+    public AnalysisJobResponse getJob(@PathVariable String jobId) {
+        return analysisJobService.find(jobId)
+                .map(AnalysisJobResponse::from)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "분석 잡을 찾을 수 없습니다."));
+    }
+}
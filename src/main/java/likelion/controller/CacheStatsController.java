@@ -0,0 +1,47 @@
+package likelion.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import likelion.service.ReviewAnalysisService;
+import likelion.service.cache.AnalysisResultCache;
+import likelion.service.cache.MenuPriceCache;
+import likelion.service.location.LocationHeatmapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "캐시 상태 확인")
+public class CacheStatsController {
+
+    private final MenuPriceCache menuPriceCache;
+    private final ReviewAnalysisService reviewAnalysisService;
+    private final AnalysisResultCache analysisResultCache;
+    private final LocationHeatmapService locationHeatmapService;
+
+    @GetMapping("/api/cache/stats")
+    @Operation(summary = "캐시별 적중/미스 통계")
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("menuPrice", toMap(menuPriceCache.stats(), menuPriceCache.size()));
+        result.put("reviewAnalysis", toMap(reviewAnalysisService.stats(), reviewAnalysisService.size()));
+        result.put("analysisResult", toMap(analysisResultCache.stats(), analysisResultCache.size()));
+        result.put("locationHeatmap", toMap(locationHeatmapService.stats(), locationHeatmapService.size()));
+        return result;
+    }
+
+    private Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", size);
+        m.put("hitCount", stats.hitCount());
+        m.put("missCount", stats.missCount());
+        m.put("hitRate", stats.hitRate());
+        m.put("evictionCount", stats.evictionCount());
+        return m;
+    }
+}
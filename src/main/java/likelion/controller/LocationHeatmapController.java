@@ -0,0 +1,30 @@
+package likelion.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import likelion.dto.LocationHeatmapResponse;
+import likelion.service.location.LocationHeatmapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Analysis", description = "창업 분석")
+public class LocationHeatmapController {
+
+    private final LocationHeatmapService locationHeatmapService;
+
+    @GetMapping("/api/analysis/heatmap")
+    @Operation(summary = "정문 주변 접근성 점수 히트맵")
+    public LocationHeatmapResponse heatmap(
+            @Parameter(description = "업종 카테고리 (예: 카페/디저트)") @RequestParam String category,
+            @Parameter(description = "층수 (기본 1층)") @RequestParam(required = false) Integer floor,
+            @Parameter(description = "정문 기준 반경(m), 격자 한 변의 절반") @RequestParam(required = false) Integer halfSizeM,
+            @Parameter(description = "칸 크기(m)") @RequestParam(required = false) Integer cellM
+    ) {
+        return locationHeatmapService.heatmap(category, floor, halfSizeM, cellM);
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import likelion.dto.PartnershipRequestDto;
 import likelion.dto.PartnershipResponseDto;
 import likelion.service.PartnershipService;
+import likelion.service.ai.AiCallLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,9 +20,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class PartnershipController {
 
     private final PartnershipService partnershipService;
+    private final AiCallLimiter aiCallLimiter;
 
     @PostMapping
     public ResponseEntity<PartnershipResponseDto> partnership(@Valid @RequestBody PartnershipRequestDto req){
+        // AI 호출 대기열이 가득 차 있으면 바로 503 + Retry-After
+        aiCallLimiter.rejectIfSaturated();
         PartnershipResponseDto resp = partnershipService.recommend(req);
         return ResponseEntity.ok(resp);
     }
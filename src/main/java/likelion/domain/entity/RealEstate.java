@@ -24,4 +24,8 @@ public class RealEstate {
     private Double areaPyeng;    // 평수
     private Integer floor;       // 층
     private String address;      // 주소 (예: "안산시 상록구 사동")
+
+    // 주소를 시딩 때 카카오 API로 변환한 좌표 (실패하면 null, 임대료 모델 위치 보정에 사용)
+    private Double latitude;
+    private Double longitude;
 }
\ No newline at end of file
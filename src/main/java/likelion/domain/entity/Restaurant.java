@@ -2,6 +2,8 @@ package likelion.domain.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,20 @@ public class Restaurant {
 
     @Column(name="category") String category;
 
+    // category(카카오 원문)를 분류한 결과. 시딩 때 채우고, 기존 데이터는 서버 시작 시 백필
+    @Enumerated(EnumType.STRING)
+    @Column(name = "store_category", length = 20)
+    StoreCategory storeCategory; // 대표 대분류 (원문에서 가장 앞에 나온 대분류)
+
+    @Column(name = "category_mask")
+    Integer categoryMask; // 걸리는 분류 전체 비트마스크 (CategoryClassifier 기준)
+
+    @Column(name = "is_cafe")
+    Boolean cafe; // 제휴 추천용 카페 여부
+
+    @Column(name = "is_food")
+    Boolean food; // 제휴 추천용 음식점 여부
+
     @Column(name="rating")
     BigDecimal rating;
 
@@ -137,4 +153,36 @@ public class Restaurant {
     public void setKakaoUrl(String kakaoUrl) {
         this.kakaoUrl = kakaoUrl;
     }
+
+    public StoreCategory getStoreCategory() {
+        return storeCategory;
+    }
+
+    public void setStoreCategory(StoreCategory storeCategory) {
+        this.storeCategory = storeCategory;
+    }
+
+    public Integer getCategoryMask() {
+        return categoryMask;
+    }
+
+    public void setCategoryMask(Integer categoryMask) {
+        this.categoryMask = categoryMask;
+    }
+
+    public Boolean getCafe() {
+        return cafe;
+    }
+
+    public void setCafe(Boolean cafe) {
+        this.cafe = cafe;
+    }
+
+    public Boolean getFood() {
+        return food;
+    }
+
+    public void setFood(Boolean food) {
+        this.food = food;
+    }
 }
@@ -0,0 +1,17 @@
+package likelion.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 여러 후보지 한 번에 비교 분석 요청
+ * 후보지마다 기존 분석 요청과 같은 형식
+ */
+public record AnalysisBatchRequest(
+        @NotEmpty(message = "후보지를 1개 이상 입력해주세요.")
+        @Size(max = 10, message = "후보지는 최대 10개까지 비교할 수 있습니다.")
+        List<@Valid AnalysisRequest> requests
+) {}
@@ -0,0 +1,18 @@
+package likelion.dto;
+
+import java.util.List;
+
+// 후보지 비교 결과 (종합 점수 높은 순)
+public record AnalysisBatchResponse(
+        List<SiteResult> results
+) {
+    public record SiteResult(
+            int rank,              // 1부터
+            int requestIndex,      // 요청 목록에서의 순서 (0부터)
+            String addr,
+            String category,
+            int totalScore,        // 세 항목 점수 평균
+            List<AnalysisResponse.ScoreInfo> scores,
+            AnalysisResponse.ReviewAnalysis reviewAnalysis // 같은 카테고리면 같은 값
+    ) {}
+}
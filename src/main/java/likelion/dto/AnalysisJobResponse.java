@@ -0,0 +1,27 @@
+package likelion.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import likelion.service.job.AnalysisJob;
+
+import java.time.LocalDateTime;
+
+// 비동기 분석 잡 상태 (result: 진행 중이면 지금까지 나온 부분 결과, 완료되면 전체 결과)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AnalysisJobResponse(
+        String jobId,
+        AnalysisJob.Status status,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        LocalDateTime createdAt,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        LocalDateTime startedAt,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        LocalDateTime finishedAt,
+        AnalysisResponse result,
+        String error
+) {
+    public static AnalysisJobResponse from(AnalysisJob.Snapshot job) {
+        return new AnalysisJobResponse(job.id(), job.status(), job.createdAt(), job.startedAt(),
+                job.finishedAt(), job.response(), job.error());
+    }
+}
@@ -0,0 +1,22 @@
+package likelion.dto;
+
+/**
+ * 접근성 점수 히트맵
+ * scores[row][col]: row 0이 남쪽(위도 작은 쪽), col 0이 서쪽. 각 칸 점수는 칸 중심 좌표 기준
+ * 칸 중심 좌표 = (originLat + row * cellLatDeg, originLon + col * cellLonDeg)
+ */
+public record LocationHeatmapResponse(
+        String category,
+        int floor,
+        long dataVersion,   // 식당 데이터(인덱스 스냅샷) 버전. 바뀌면 다시 계산됨
+        double originLat,
+        double originLon,
+        double cellLatDeg,
+        double cellLonDeg,
+        int cellSizeM,
+        int rows,
+        int cols,
+        int minScore,
+        int maxScore,
+        int[][] scores
+) {}
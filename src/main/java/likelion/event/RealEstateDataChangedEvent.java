@@ -0,0 +1,8 @@
+package likelion.event;
+
+/**
+ * 매물 데이터(real_estate 테이블)가 시딩 등으로 바뀌었을 때 발행하는 이벤트
+ * 임대료 모델(RentModel)이 이걸 받아서 분포를 다시 만듭니다.
+ */
+public record RealEstateDataChangedEvent(String source) {
+}
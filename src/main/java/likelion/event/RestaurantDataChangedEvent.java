@@ -0,0 +1,8 @@
+package likelion.event;
+
+/**
+ * 식당 데이터(restaurant 테이블)가 시딩/백필 등으로 바뀌었을 때 발행하는 이벤트
+ * 공간 인덱스처럼 식당 목록을 메모리에 들고 있는 컴포넌트들이 이걸 받아서 다시 만듭니다.
+ */
+public record RestaurantDataChangedEvent(String source) {
+}
@@ -0,0 +1,8 @@
+package likelion.event;
+
+/**
+ * 리뷰 데이터(review 테이블)가 적재 등으로 바뀌었을 때 발행하는 이벤트
+ * 카테고리별 리뷰 분석 캐시가 이걸 받아서 백그라운드로 다시 만듭니다.
+ */
+public record ReviewDataChangedEvent(String source, int insertedCount) {
+}
@@ -0,0 +1,29 @@
+package likelion.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * AI 호출 대기열이 가득 찼을 때 503 + Retry-After(초)로 바로 거절
+ */
+public class AiOverloadedException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public AiOverloadedException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "AI 요청이 많아 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,56 @@
+package likelion.jsondata;
+
+import likelion.domain.entity.RealEstate;
+import likelion.event.RealEstateDataChangedEvent;
+import likelion.jsondata.mapper.RealEstateMapper;
+import likelion.repository.RealEstateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 매물 좌표 컬럼(latitude, longitude) 백필
+ * - 좌표 컬럼 추가 전에 시딩된 매물은 좌표가 비어 있어서 임대료 모델 위치 보정에 안 쓰임
+ * - 서버 시작 시 좌표가 없는 매물만 주소로 다시 변환해서 채운 행만 저장 (주소별로 한 번만 호출)
+ * - 실패해도 서버는 그대로 뜨고, 좌표 없는 매물은 층별 분포에만 쓰입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RealEstateLocationBackfill {
+
+    private final RealEstateRepository repository;
+    private final RealEstateMapper realEstateMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${analysis.rent-model.location-backfill:true}")
+    private boolean enabled;
+
+    // 임대료 모델이 시작 시 만들어지기 전에 (채운 좌표로 모델을 만들도록)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        if (!enabled) return;
+        try {
+            List<RealEstate> missing = repository.findAllByLatitudeIsNullOrLongitudeIsNull();
+            if (missing.isEmpty()) return;
+
+            List<RealEstate> changed = missing.stream()
+                    .filter(realEstateMapper::fillLocation)
+                    .toList();
+            System.out.println("[location-backfill] located " + changed.size() + "/" + missing.size() + " listings");
+            if (changed.isEmpty()) return;
+
+            repository.saveAll(changed);
+            eventPublisher.publishEvent(new RealEstateDataChangedEvent("location-backfill"));
+        } catch (Exception e) {
+            System.err.println("[location-backfill] failed: " + e.getMessage());
+        }
+    }
+}
@@ -3,17 +3,22 @@ package likelion.jsondata;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import likelion.domain.entity.RealEstate;
+import likelion.event.RealEstateDataChangedEvent;
 import likelion.jsondata.mapper.RealEstateMapper;
 import likelion.jsondata.record.RealEstateJson;
 import likelion.repository.RealEstateRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -22,6 +27,7 @@ public class RealEstateSeedRunner implements CommandLineRunner {
     private final ObjectMapper objectMapper;
     private final RealEstateMapper realEstateMapper;
     private final RealEstateRepository realEstateRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void run(String... args) throws Exception {
@@ -40,11 +46,28 @@ public class RealEstateSeedRunner implements CommandLineRunner {
 
         System.out.println("[realestate] " + jsonList.size() + "건의 부동산 데이터를 DB에 저장합니다...");
 
+        // 같은 파일을 다시 넣어도 중복 행이 쌓이지 않도록 이미 있는 매물(주소/층/면적/가격 동일)은 건너뜀
+        Set<ListingKey> existing = realEstateRepository.findAll().stream()
+                .map(ListingKey::of)
+                .collect(Collectors.toCollection(HashSet::new));
+        int skipped = 0;
         for (RealEstateJson json : jsonList) {
+            if (!existing.add(new ListingKey(json.address(), json.floor(), json.areaPyeng(), json.priceManwon()))) {
+                skipped++;
+                continue;
+            }
             RealEstate entity = realEstateMapper.map(json);
             realEstateRepository.save(entity);
         }
 
-        System.out.println("[realestate] 부동산 데이터 저장 완료!");
+        System.out.println("[realestate] 부동산 데이터 저장 완료! (중복 " + skipped + "건 제외)");
+        // 임대료 모델 다시 만들기
+        eventPublisher.publishEvent(new RealEstateDataChangedEvent("seed"));
+    }
+
+    private record ListingKey(String address, Integer floor, Double areaPyeng, Integer priceManwon) {
+        static ListingKey of(RealEstate r) {
+            return new ListingKey(r.getAddress(), r.getFloor(), r.getAreaPyeng(), r.getPriceManwon());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package likelion.jsondata;
+
+import likelion.domain.entity.Restaurant;
+import likelion.event.RestaurantDataChangedEvent;
+import likelion.repository.RestaurantRepository;
+import likelion.service.category.CategoryClassifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 식당 분류 컬럼(store_category, category_mask, is_cafe, is_food) 백필
+ * - 컬럼 추가 전에 시딩된 데이터나 키워드 목록이 바뀐 뒤의 데이터를 서버 시작 시 다시 분류해서 바뀐 행만 저장
+ * - 실패해도 서버는 그대로 뜨고, 분류가 비어있는 식당은 조회 시 원문을 바로 분류합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantCategoryBackfill {
+
+    private final RestaurantRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${analysis.category-backfill.enabled:true}")
+    private boolean enabled;
+
+    // 캐시 워밍업 등 다른 시작 작업보다 먼저 (바뀐 분류로 인덱스를 만들도록)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        if (!enabled) return;
+        try {
+            List<Restaurant> changed = repository.findAll().stream()
+                    .filter(CategoryClassifier::applyTo)
+                    .toList();
+            if (changed.isEmpty()) return;
+
+            repository.saveAll(changed);
+            System.out.println("[category-backfill] updated " + changed.size() + " restaurants");
+            eventPublisher.publishEvent(new RestaurantDataChangedEvent("category-backfill"));
+        } catch (Exception e) {
+            System.err.println("[category-backfill] failed: " + e.getMessage());
+        }
+    }
+}
@@ -2,11 +2,13 @@ package likelion.jsondata;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import likelion.domain.entity.Restaurant;
+import likelion.event.RestaurantDataChangedEvent;
 import likelion.jsondata.mapper.RestaurantMapper;
 import likelion.jsondata.record.RestaurantJson;
 import likelion.repository.RestaurantRepository;
 import lombok.*;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Files;
@@ -19,6 +21,7 @@ public class SeedRunner implements CommandLineRunner {
     private final ObjectMapper om;
     private final RestaurantMapper mapper;
     private final RestaurantRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void run(String... args) throws Exception{
@@ -30,5 +33,7 @@ public class SeedRunner implements CommandLineRunner {
             Restaurant r = mapper.map(j);
             repository.save(r);
         }
+        // 식당 데이터가 바뀌었으니 메모리 인덱스 등 다시 만들기
+        eventPublisher.publishEvent(new RestaurantDataChangedEvent("seed"));
     }
 }
@@ -2,17 +2,52 @@ package likelion.jsondata.mapper;
 
 import likelion.domain.entity.RealEstate;
 import likelion.jsondata.record.RealEstateJson;
+import likelion.service.kakaoApi.KakaoApiService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 public class RealEstateMapper {
 
+    @Autowired
+    private KakaoApiService kakaoApiService;
+
+    // 같은 동 주소가 많아서 주소별로 한 번만 변환 (실패는 빈 배열로 기억)
+    private final Map<String, double[]> locationByAddress = new ConcurrentHashMap<>();
+
     public RealEstate map(RealEstateJson json) {
         RealEstate entity = new RealEstate();
         entity.setPriceManwon(json.priceManwon());
         entity.setAreaPyeng(json.areaPyeng());
         entity.setFloor(json.floor());
         entity.setAddress(json.address());
+        fillLocation(entity);
         return entity;
     }
+
+    // 주소로 좌표를 채움 (변환에 실패하면 그대로 두고 false)
+    public boolean fillLocation(RealEstate entity) {
+        double[] location = locationOf(entity.getAddress());
+        if (location.length != 2) return false;
+        entity.setLatitude(location[0]);
+        entity.setLongitude(location[1]);
+        return true;
+    }
+
+    private double[] locationOf(String address) {
+        if (address == null || address.isBlank()) return new double[0];
+        return locationByAddress.computeIfAbsent(address.trim(), a -> {
+            try {
+                // 카카오 API 결과 "위도,경도" (못 찾으면 안내 문구라서 파싱 실패 -> 좌표 없음)
+                String[] parts = kakaoApiService.getLocationByAddress(a).split(",");
+                return new double[]{Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim())};
+            } catch (Exception e) {
+                System.err.println("[realestate] 좌표 변환 실패: " + a + " (" + e.getMessage() + ")");
+                return new double[0];
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package likelion.jsondata.mapper;
 
 import likelion.domain.entity.Restaurant;
 import likelion.jsondata.record.RestaurantJson;
+import likelion.service.category.CategoryClassifier;
 import likelion.service.kakaoApi.KakaoApiService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -23,6 +24,7 @@ public class RestaurantMapper {
         Restaurant r = new Restaurant();
         r.setRestaurantName(nvl(j.가게이름()));
         r.setCategory(j.카테고리());
+        CategoryClassifier.applyTo(r); // 대분류/카페·음식점 여부 컬럼
         r.setBusinessTime(j.영업시간());
         r.setRatingCount(parseInt(j.평점건수()));
         r.setRating(parseDecimal(j.평점()));
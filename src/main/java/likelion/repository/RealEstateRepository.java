@@ -3,5 +3,10 @@ package likelion.repository;
 import likelion.domain.entity.RealEstate;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface RealEstateRepository extends JpaRepository<RealEstate, Long> {
-}
\ No newline at end of file
+
+    // 좌표 컬럼 추가 전에 시딩됐거나 변환에 실패한 매물
+    List<RealEstate> findAllByLatitudeIsNullOrLongitudeIsNull();
+}
@@ -10,10 +10,12 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    // restaurant까지 fetch join (분석 스레드풀에서 호출되면 OSIV 세션이 없어서 지연로딩이 안 됨)
     @Query("""
         select v
         from Review v
-        where v.restaurant.kakaoPlaceId in :placeIds
+        join fetch v.restaurant r
+        where r.kakaoPlaceId in :placeIds
         order by v.id desc
     """)
     List<Review> findAllByRestaurantKakaoPlaceIdInOrderByIdDesc(@Param("placeIds") Collection<Long> placeIds);
@@ -1,15 +1,41 @@
 package likelion.service;
 
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.disposables.Disposable;
+import jakarta.annotation.PostConstruct;
+import likelion.config.AiModelProperties;
+import likelion.exception.AiOverloadedException;
+import likelion.service.ai.AiCallLimiter;
+import likelion.service.ai.AiCircuitBreaker;
+import likelion.service.ai.AiHedger;
+import likelion.service.ai.AiMetrics;
+import likelion.service.ai.AiMetrics.CallOutcome;
+import likelion.service.ai.AiPromptType;
+import likelion.service.ai.AiResponseStore;
+import likelion.service.ai.PromptCacheStats;
+import likelion.service.ai.SingleFlight;
 import lombok.RequiredArgsConstructor;
-import lombok.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
@@ -18,25 +44,289 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 public class AiChatService {
 
     private final OpenAiService openAiService;
+    private final AiResponseStore responseStore;
+    private final AiCircuitBreaker circuitBreaker;
+    private final AiCallLimiter callLimiter;
+    private final AiModelProperties modelProperties;
+    private final PromptCacheStats promptCacheStats;
+    private final AiHedger hedger;
+    private final AiMetrics aiMetrics;
+    @Qualifier("aiCallExecutor")
+    private final ThreadPoolTaskExecutor aiCallExecutor;
 
-    public String getAnalysisResponseFromAI(String prompt) {
+    // 같은 모델+프롬프트로 동시에 들어온 호출은 OpenAI 호출 1번으로 합침
+    // 실제 호출은 전용 스레드풀(aiCallExecutor)에서 돌고, 호출한 쪽은 각자 타임아웃까지만 기다림
+    private SingleFlight<String> singleFlight;
+
+    @PostConstruct
+    void initSingleFlight() {
+        singleFlight = new SingleFlight<>(aiCallExecutor.getThreadPoolExecutor());
+    }
+
+    // 호출한 쪽이 결과를 기다리는 최대 시간(ms). OpenAI 클라이언트 타임아웃(60초)보다 조금 길게
+    @Value("${analysis.ai.wait-timeout-ms:70000}")
+    private long waitTimeoutMs;
+
+    public String getAnalysisResponseFromAI(AiPromptType type, String prompt) {
+        return getAnalysisResponseFromAI(type, prompt, true);
+    }
+
+    /**
+     * useCache = false면 디스크 응답 캐시를 읽지도 쓰지도 않고 바로 호출합니다.
+     * (요청마다 내용이 다른 프롬프트처럼 다시 쓰일 일이 없는 경우)
+     * 해당 종류의 차단기가 열려 있으면 OpenAI를 부르지 않고 바로 503 -> 호출하는 쪽 fallback으로
+     * 실제 OpenAI 호출은 AiCallLimiter 입장 후에만 (대기열이 가득 차면 AiOverloadedException)
+     */
+    public String getAnalysisResponseFromAI(AiPromptType type, String prompt, boolean useCache) {
+        return getAnalysisResponseFromAI(type, prompt, useCache, response -> true);
+    }
+
+    /**
+     * storeIf: 디스크 응답 캐시에 남겨도 되는 응답인지 (파싱이 안 되거나 말이 안 되는 값이 TTL 동안 남지 않도록)
+     * 캐시에 있던 값도 storeIf를 통과해야 사용하고, 아니면 다시 호출합니다.
+     */
+    public String getAnalysisResponseFromAI(AiPromptType type, String prompt, Predicate<String> storeIf) {
+        return getAnalysisResponseFromAI(type, prompt, true, storeIf);
+    }
+
+    private String getAnalysisResponseFromAI(AiPromptType type, String prompt, boolean useCache, Predicate<String> storeIf) {
         if (prompt == null || prompt.isBlank()) {
             throw new ResponseStatusException(BAD_REQUEST, "AI 프롬프트가 비어 있습니다.");
         }
 
+        long calledAt = System.nanoTime();
+        AiModelProperties.ModelSettings settings = modelProperties.settingsFor(type);
+        String key = SingleFlight.keyOf(settings.cacheKey(), prompt);
+        if (useCache) {
+            String cached = responseStore.get(key);
+            if (cached != null && storeIf.test(cached)) {
+                aiMetrics.recordCall(type, CallOutcome.CACHE_HIT, System.nanoTime() - calledAt);
+                return cached;
+            }
+        }
+        long ticket = acquire(type);
+
+        // 차단기 기록은 대기자마다가 아니라 대표 호출 안에서 OpenAI 호출 1번당 1번 (completeWithinLimit)
+        // 대표 호출을 시작한 요청의 번호로 기록 (합류한 요청의 번호는 기록되지 않음)
+        try {
+            String response = singleFlight.execute(key, () -> {
+                // 늦으면 예산 안에서 한 번 더 보내고 먼저 온 응답 사용 (hedge도 같은 번호)
+                String result = hedger.execute(type, () -> completeWithinLimit(type, ticket, settings, prompt));
+                if (useCache && storeIf.test(result)) responseStore.put(key, result);
+                return result;
+            }, waitTimeoutMs);
+            aiMetrics.recordCall(type, CallOutcome.SUCCESS, System.nanoTime() - calledAt);
+            return response;
+
+        } catch (TimeoutException e) {
+            aiMetrics.recordCall(type, CallOutcome.TIMEOUT, System.nanoTime() - calledAt);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "AI 응답 대기 시간이 초과되었습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aiMetrics.recordCall(type, CallOutcome.CANCELLED, System.nanoTime() - calledAt);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 서비스 호출이 중단되었습니다.", e);
+        } catch (ExecutionException | CancellationException e) {
+            Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+            if (cause instanceof AiOverloadedException overloaded) {
+                aiMetrics.recordCall(type, CallOutcome.OVERLOADED, System.nanoTime() - calledAt);
+                throw overloaded;
+            }
+            // 호출 스레드풀이 꽉 찬 경우도 입장 거절과 같게 503 + Retry-After
+            if (cause instanceof RejectedExecutionException) {
+                aiMetrics.recordCall(type, CallOutcome.OVERLOADED, System.nanoTime() - calledAt);
+                throw callLimiter.overloaded();
+            }
+            aiMetrics.recordCall(type, CallOutcome.ERROR, System.nanoTime() - calledAt);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 서비스 호출 중 오류가 발생했습니다.", cause);
+        }
+
+    }
+
+    /**
+     * single-flight 대표 호출(hedge 포함): 입장 제어를 통과한 뒤 OpenAI 호출
+     * 차단기에는 OpenAI 호출 시간만 기록 (입장 대기/합류 대기 제외, hedge 분위수도 이 값 기준)
+     * 입장 거절과 취소(대기자가 모두 빠짐, hedge에서 진 호출)는 OpenAI 장애가 아니므로 기록하지 않음
+     * 응답이 안 오는 경우는 OpenAI 클라이언트 타임아웃(60초) 예외로 실패 기록됩니다.
+     */
+    private String completeWithinLimit(AiPromptType type, long ticket, AiModelProperties.ModelSettings settings, String prompt) {
+        try (AiCallLimiter.Permit permit = callLimiter.acquire(type)) {
+            long startedAt = System.nanoTime();
+            try {
+                String result = complete(type, settings, prompt);
+                circuitBreaker.onSuccess(type, ticket, elapsedMs(startedAt));
+                return result;
+            } catch (RuntimeException e) {
+                if (isCancelled(e)) throw new CancellationException("AI 호출 취소됨");
+                circuitBreaker.onFailure(type, ticket, elapsedMs(startedAt));
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            // 기다리던 호출자가 모두 빠져서 취소된 경우
+            Thread.currentThread().interrupt();
+            throw new CancellationException("AI 호출 대기 중 취소됨");
+        }
+    }
+
+    // 인터럽트로 끊긴 호출인지 (읽기 타임아웃 SocketTimeoutException은 실제 실패)
+    private static boolean isCancelled(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) return true;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CancellationException || t instanceof InterruptedException) return true;
+            if (t instanceof InterruptedIOException && !(t instanceof SocketTimeoutException)) return true;
+        }
+        return false;
+    }
+
+    private String complete(AiPromptType type, AiModelProperties.ModelSettings settings, String prompt) {
+        ChatCompletionResult result = openAiService.createChatCompletion(chatRequest(settings, prompt, false));
+        promptCacheStats.record(type, result.getUsage());
+        aiMetrics.recordTokens(type, result.getUsage());
+        return result.getChoices().get(0).getMessage().getContent();
+    }
+
+    // 종류별 모델/최대 토큰/temperature 적용 (비어 있는 값은 요청에서 빠짐)
+    private static ChatCompletionRequest chatRequest(AiModelProperties.ModelSettings settings, String prompt, boolean stream) {
+        ChatMessage userMessage = new ChatMessage("user", prompt);
+        return ChatCompletionRequest.builder()
+                .model(settings.model())
+                .messages(List.of(userMessage))
+                .maxTokens(settings.maxTokens())
+                .temperature(settings.temperature())
+                .stream(stream ? Boolean.TRUE : null)
+                .build();
+    }
+
+    /**
+     * 스트리밍 호출: 토큰(delta)이 올 때마다 onDelta로 넘기고, 다 받으면 전체 응답을 반환합니다.
+     * 호출한 스레드에서 응답이 끝날 때까지 블로킹됩니다. (대기 시간 초과/인터럽트면 스트림 취소)
+     */
+    public String streamAnalysisResponseFromAI(AiPromptType type, String prompt, Consumer<String> onDelta) {
+        AiStream stream = openStream(type, prompt, onDelta);
+        try {
+            return stream.await(waitTimeoutMs);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "AI 응답 대기 시간이 초과되었습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 서비스 호출이 중단되었습니다.", e);
+        } catch (ExecutionException | CancellationException e) {
+            Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 서비스 호출 중 오류가 발생했습니다.", cause);
+        } finally {
+            if (!stream.isDone()) stream.cancel();
+        }
+    }
+
+    /**
+     * 스트리밍 호출을 시작하고 바로 핸들을 반환합니다. (블로킹 없음)
+     * 토큰은 OpenAI 응답을 읽는 스레드에서 순서대로 onDelta로 넘어오고,
+     * 클라이언트가 끊기는 등 더 받을 필요가 없으면 cancel()로 생성을 중단합니다.
+     */
+    public AiStream openStream(AiPromptType type, String prompt, Consumer<String> onDelta) {
+        if (prompt == null || prompt.isBlank()) {
+            throw new ResponseStatusException(BAD_REQUEST, "AI 프롬프트가 비어 있습니다.");
+        }
+        long calledAt = System.nanoTime();
+        long ticket = acquire(type);
+        AiCallLimiter.Permit permit;
         try {
-            ChatMessage userMessage = new ChatMessage("user", prompt);
-            ChatCompletionRequest chatCompletionRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4o")
-                    .messages(List.of(userMessage))
-                    .build();
+            permit = callLimiter.acquire(type);
+        } catch (AiOverloadedException e) {
+            aiMetrics.recordCall(type, CallOutcome.OVERLOADED, System.nanoTime() - calledAt);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aiMetrics.recordCall(type, CallOutcome.CANCELLED, System.nanoTime() - calledAt);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 서비스 호출이 중단되었습니다.", e);
+        }
 
-            return openAiService.createChatCompletion(chatCompletionRequest)
-                    .getChoices().get(0).getMessage().getContent();
+        AiStream stream = new AiStream();
+        // 완료/실패/취소 어느 쪽이든 끝나면 입장권 반납
+        stream.result.whenComplete((v, e) -> {
+            permit.close();
+            CallOutcome outcome = (e == null) ? CallOutcome.SUCCESS
+                    : (e instanceof CancellationException) ? CallOutcome.CANCELLED : CallOutcome.ERROR;
+            aiMetrics.recordCall(type, outcome, System.nanoTime() - calledAt);
+        });
+        long startedAt = System.nanoTime();
+        try {
+            StringBuilder full = new StringBuilder();
+            Disposable subscription = openAiService.streamChatCompletion(chatRequest(modelProperties.settingsFor(type), prompt, true))
+                    .subscribe(chunk -> {
+                        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) return;
+                        ChatMessage delta = chunk.getChoices().get(0).getMessage();
+                        String content = (delta == null) ? null : delta.getContent();
+                        if (content == null || content.isEmpty()) return;
+                        full.append(content);
+                        onDelta.accept(content);
+                    }, error -> {
+                        circuitBreaker.onFailure(type, ticket, elapsedMs(startedAt));
+                        stream.result.completeExceptionally(error);
+                    }, () -> {
+                        circuitBreaker.onSuccess(type, ticket, elapsedMs(startedAt));
+                        stream.result.complete(full.toString());
+                    });
+            stream.bind(subscription);
+            return stream;
 
         } catch (Exception e) {
+            stream.result.completeExceptionally(e); // 입장권 반납 + 메트릭
+            circuitBreaker.onFailure(type, ticket, elapsedMs(startedAt));
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 서비스 호출 중 오류가 발생했습니다.", e);
         }
+    }
+
+    // 차단기 통과 시 호출 번호 (결과 기록에 같이 넘김)
+    private long acquire(AiPromptType type) {
+        long ticket = circuitBreaker.tryAcquire(type);
+        if (ticket == AiCircuitBreaker.REJECTED) {
+            aiMetrics.recordCall(type, CallOutcome.BREAKER_OPEN, 0);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI 호출이 일시적으로 차단되었습니다. (" + type + ")");
+        }
+        return ticket;
+    }
+
+    private static long elapsedMs(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    /**
+     * 진행 중인 스트리밍 호출 핸들
+     * cancel()하면 응답 읽기를 멈추고(OpenAI 쪽 생성도 연결이 끊기면서 중단), 기다리던 쪽은 CancellationException
+     */
+    public static final class AiStream {
+
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private volatile Disposable subscription;
+        private volatile boolean cancelled;
+
+        private AiStream() {
+        }
+
+        // 전체 응답을 기다림
+        public String await(long timeoutMs) throws TimeoutException, ExecutionException, InterruptedException {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        }
 
+        public void cancel() {
+            cancelled = true;
+            Disposable current = subscription;
+            if (current != null) current.dispose();
+            result.cancel(false);
+        }
+
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        // 구독 전에 취소됐으면 바로 해제
+        private void bind(Disposable subscription) {
+            this.subscription = subscription;
+            if (cancelled) subscription.dispose();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package likelion.service;
+
+import likelion.dto.AnalysisResponse;
+
+/**
+ * 분석 진행 중에 각 결과가 준비되는 즉시 받기 위한 콜백 (SSE 스트리밍 등)
+ * - 분석 스레드풀의 워커 스레드에서 호출될 수 있으므로 구현체는 스레드 안전해야 합니다.
+ * - 콜백에서 예외를 던지면 그 단계 결과만 버려지므로, 전송 실패 등은 구현체에서 직접 처리해 주세요.
+ */
+public interface AnalysisListener {
+
+    // 아무것도 안 하는 리스너 (일반 동기 분석용)
+    AnalysisListener NONE = new AnalysisListener() {};
+
+    // 점수 항목 하나 완료 (접근성/예산 적합성/메뉴 적합성)
+    default void onScore(AnalysisResponse.ScoreInfo score) {}
+
+    // 동종업계 리뷰 분석 완료
+    default void onReviewAnalysis(AnalysisResponse.ReviewAnalysis reviewAnalysis) {}
+
+    // 상세분석 AI 응답 토큰이 도착할 때마다 (원문 JSON 조각)
+    default void onDetailDelta(String delta) {}
+
+    // 상세분석 섹션 하나가 스트리밍 응답에서 완성될 때마다 (wantsDetailDeltas일 때만)
+    default void onDetailSection(AnalysisResponse.DetailSection section) {}
+
+    // 상세분석 완료 (파싱 실패/타임아웃이면 fallback 섹션)
+    default void onDetailAnalysis(AnalysisResponse.DetailAnalysis detailAnalysis) {}
+
+    // 상세 토큰을 받을지 여부 (false면 기존처럼 한 번에 받아옴)
+    default boolean wantsDetailDeltas() {
+        return false;
+    }
+
+    // 받는 쪽이 끊기면 실행할 작업 등록 (진행 중인 AI 스트리밍 취소 등). 이미 끊겼으면 바로 실행
+    default void whenClosed(Runnable action) {}
+}
@@ -0,0 +1,26 @@
+package likelion.service;
+
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * 분석 모드
+ * - FULL: AI(메뉴 평균가, 리뷰 피드백, 상세분석)까지 포함한 기존 분석
+ * - FAST: AI 호출 없이 로컬 데이터(백업 평균가 테이블, 리뷰 통계, 기본 상세분석 문구)만으로 바로 응답
+ */
+public enum AnalysisMode {
+    FULL, FAST;
+
+    // 요청 파라미터(?mode=fast) 파싱. 비어 있으면 FULL
+    public static AnalysisMode from(String value) {
+        if (value == null || value.isBlank()) return FULL;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "mode는 full 또는 fast만 가능합니다.");
+        }
+    }
+}
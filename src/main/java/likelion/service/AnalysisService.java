@@ -1,230 +1,353 @@
 package likelion.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import likelion.dto.AnalysisBatchResponse;
 import likelion.dto.AnalysisRequest;
 import likelion.dto.AnalysisResponse;
-import likelion.domain.entity.Restaurant;
 import likelion.domain.entity.Review;
-import likelion.repository.RestaurantRepository;
-import likelion.repository.ReviewRepository;
-import likelion.service.distance.DistanceCalc;
+import likelion.service.ai.AiCallLimiter;
+import likelion.service.ai.AiMetrics;
+import likelion.service.ai.AiPromptType;
+import likelion.service.ai.JsonArrayAssembler;
+import likelion.service.ai.PromptTemplate;
+import likelion.service.cache.AnalysisResultCache;
+import likelion.service.cache.MenuPriceCache;
+import likelion.service.location.LocationScorer;
+import likelion.service.metrics.StageTimer;
+import likelion.service.rent.RentModel;
+import likelion.service.slo.AnalysisSloBreaker;
+import likelion.service.spatial.RestaurantSpatialIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PostConstruct;
 
-import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.math.BigDecimal;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
 @Service
 @RequiredArgsConstructor
 public class AnalysisService {
 
-    private final RestaurantRepository restaurantRepository;
-    private final ReviewRepository reviewRepository;
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
     private final AiChatService aiChatService;
     private final ObjectMapper objectMapper;
-
-    // 위치 점수 계산 결과
-    private record LocationScoreFactors(int score, double distanceToMainGate,
-            int floor, long competitorCount, List<String> competitorNames, // "가게명(거리m)" 형태
-            String reason, List<AnalysisResponse.AdjusmentItem> penalties, List<AnalysisResponse.AdjusmentItem> bonuses
-    ) {}
-
+    @Qualifier("analysisExecutor")
+    private final Executor analysisExecutor;
+    @Qualifier("analysisAsyncExecutor")
+    private final ThreadPoolTaskExecutor analysisAsyncExecutor;
+    private final AiCallLimiter aiCallLimiter;
+    private final MenuPriceCache menuPriceCache;
+    private final ReviewAnalysisService reviewAnalysisService;
+    private final AnalysisResultCache analysisResultCache;
+    private final AnalysisSloBreaker analysisSloBreaker;
+    private final RentModel rentModel;
+    private final LocationScorer locationScorer;
+    private final StageTimer stageTimer;
+    private final AiMetrics aiMetrics;
+
+    // 단계별 시간 메트릭 flow 태그
+    private static final String FLOW = "analysis";
+
+    @Value("${analysis.menu-price-cache.seed-fallback:false}")
+    private boolean menuPriceCacheSeedFallback;
+
+    // 단계별 타임아웃(ms)
+    @Value("${analysis.timeout.menu-price-ms:15000}")
+    private long menuPriceTimeoutMs;
+
+    @Value("${analysis.timeout.review-ms:40000}")
+    private long reviewTimeoutMs;
+
+    @Value("${analysis.timeout.detail-ms:50000}")
+    private long detailTimeoutMs;
 
     // ========================= 분석 메서드들 실행하고 반환하는 곳 ============================
     public AnalysisResponse analyze(AnalysisRequest request) {
-        // addr: "위도, 경도"
-        String[] locationParts = request.addr().split(",");
-        double latitude = Double.parseDouble(locationParts[0].trim());
-        double longitude = Double.parseDouble(locationParts[1].trim());
-
-        // 전체 식당 로딩
-        List<Restaurant> all = restaurantRepository.findAll();
-
-        // 좌표 없는 데이터 제거 & 반경 내 필터
-        double radiusM = 50; // 일단 반경 50m
-        List<Restaurant> withCoords = all.stream()
-                .filter(r -> r.getLatitude() != null && r.getLongitude() != null)
-                .filter(r -> !(Objects.equals(r.getLatitude(), 0.0) && Objects.equals(r.getLongitude(), 0.0)))
-                .toList();
-
-        List<Restaurant> withinRadius = withCoords.stream()
-                .filter(r -> DistanceCalc.calculateDistance(latitude, longitude, r.getLatitude(), r.getLongitude()) <= radiusM)
-                .collect(Collectors.toList());
-
-        // 업종(문자열) 기반 동종업계 1차 필터 (아래에 카테고리-json의 키워드 매핑 코드 있습니다), (동종업계는 위치/접근성에 사용)
-        String targetCategory = Optional.ofNullable(request.category()).orElse("").trim();
-        List<String> categoryKeywords = expandCategoryKeywords(targetCategory);
-        List<Restaurant> sameCategory = withCoords.stream()
-                .filter(r -> {
-                    String c = Optional.ofNullable(r.getCategory()).orElse("").toLowerCase();
-                    return categoryKeywords.stream().anyMatch(c::contains);
-                })
-                .collect(Collectors.toList());
+        return analyze(request, AnalysisMode.FULL);
+    }
 
-        // 교집합: 반경 안 + 동종업계(룰 기반)
-        Set<String> radiusKeys = withinRadius.stream().map(this::keyOf).collect(Collectors.toSet());
-        List<Restaurant> competitorsInRadius = sameCategory.stream()
-                .filter(r -> radiusKeys.contains(keyOf(r)))
-                .collect(Collectors.toList());
+    // 동기 분석: 분석 풀이 꽉 차면 요청 스레드에서 그냥 실행 (CallerRuns)
+    public AnalysisResponse analyze(AnalysisRequest request, AnalysisMode mode) {
+        return runAnalysis(request, AnalysisListener.NONE, mode, analysisExecutor).join();
+    }
 
+    // 분석하면서 각 결과가 준비되는 대로 listener에 알림 (전체 결과는 다 끝난 뒤 반환, 비동기 잡에서 사용)
+    public AnalysisResponse analyze(AnalysisRequest request, AnalysisListener listener) {
+        return analyzeAsync(request, listener).join();
+    }
 
-        //  위치 점수 계산 (최종 = 반경 안 + 동종업계 교집합 기준)
-        LocationScoreFactors locationFactors =
-                calculateLocationScore(request, latitude, longitude, competitorsInRadius);
+    public CompletableFuture<AnalysisResponse> analyzeAsync(AnalysisRequest request, AnalysisListener listener) {
+        return analyzeAsync(request, listener, AnalysisMode.FULL);
+    }
 
-        // 점수 배열 구성
-        List<AnalysisResponse.ScoreInfo> scores = new ArrayList<>();
-        scores.add(new AnalysisResponse.ScoreInfo("접근성", locationFactors.score(), null, locationFactors.reason(),locationFactors.penalties(),locationFactors.bonuses()));
-        scores.add(calculateBudgetSuitabilityScore(request));
-        scores.add(calculateMenuSuitabilityScore(request));
+    /**
+     * 요청 스레드를 붙잡지 않는 분석.
+     * 로컬 점수(접근성/예산)까지만 호출 스레드에서 계산하고, AI 단계들은 비동기 분석 풀(analysisAsyncExecutor)에서 돌린 뒤
+     * 모두 끝나면 완료되는 future를 반환합니다. (SSE 스트리밍, 비동기 잡에서 사용)
+     * FAST 모드이거나 SLO 차단기가 열려 있으면 AI 없이 로컬 데이터만으로 바로 완료된 future를 반환합니다.
+     * @throws likelion.exception.AiOverloadedException 비동기 분석 풀이 꽉 차 있는 경우 (503 + Retry-After)
+     */
+    public CompletableFuture<AnalysisResponse> analyzeAsync(AnalysisRequest request, AnalysisListener listener, AnalysisMode mode) {
+        return runAnalysis(request, listener, mode, analysisAsyncExecutor);
+    }
 
-        // 동종업계 리뷰 분석 생성(반경 무관, 같은 카테고리 전체)
-        AnalysisResponse.ReviewAnalysis reviewAnalysis = buildReviewAnalysisSameCategory(targetCategory);
+    // executor: AI 단계들을 돌릴 풀 (동기 분석은 analysisExecutor, 스트리밍/잡은 analysisAsyncExecutor)
+    private CompletableFuture<AnalysisResponse> runAnalysis(AnalysisRequest request, AnalysisListener listener,
+                                                            AnalysisMode mode, Executor executor) {
+        // 같은(정규화 기준) 조건의 분석 결과가 캐시에 있으면 AI 호출 없이 바로 응답
+        AnalysisResponse cached = analysisResultCache.get(request);
+        if (cached != null) {
+            replayToListener(cached, listener);
+            return CompletableFuture.completedFuture(cached);
+        }
+        long sloTicket = (mode == AnalysisMode.FAST) ? AnalysisSloBreaker.FAST_PATH : analysisSloBreaker.tryAcquireFull();
+        if (sloTicket == AnalysisSloBreaker.FAST_PATH) {
+            AnalysisResponse fast = stageTimer.record(FLOW, "fast", () -> analyzeFast(request));
+            replayToListener(fast, listener);
+            return CompletableFuture.completedFuture(fast);
+        }
+        // 스트리밍/잡인데 비동기 분석 풀이 꽉 찼으면 503 (probe 번호였다면 열린 시간이 지난 뒤 다른 요청으로 다시 probe)
+        rejectIfSaturated(executor);
+        long cacheGeneration = analysisResultCache.currentGeneration();
+        long startedAt = System.nanoTime();
 
-        // 상세분석 생성: 사용자 인풋 + 점수 reason만 활용해서 일단 최소기능만 구현
-        AnalysisResponse.DetailAnalysis detailAnalysis = buildDetailAnalysis(request, scores);
+        // 로컬 계산만 하는 점수(접근성, 예산)는 바로 구성
+        String targetCategory = Optional.ofNullable(request.category()).orElse("").trim();
+        AnalysisResponse.ScoreInfo locationScore = stageTimer.record(FLOW, "location",
+                () -> locationScorer.score(request, restaurantSpatialIndex.snapshot()));
+        AnalysisResponse.ScoreInfo budgetScore = stageTimer.record(FLOW, "budget",
+                () -> calculateBudgetSuitabilityScore(request));
+        notifyListener(() -> listener.onScore(locationScore));
+        notifyListener(() -> listener.onScore(budgetScore));
+
+        // ---- AI 단계들: 의존 관계대로 병렬 실행 ----
+        // 1) 메뉴 평균가(AI) -> 메뉴 적합성 점수
+        String menu = request.representativeMenuName();
+        CompletableFuture<Integer> menuAvgFuture = needsMenuAvgPrice(request)
+                ? stage("menu-price", () -> fetchMenuAvgPriceSafely(menu), menuPriceTimeoutMs, null, executor)
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<AnalysisResponse.ScoreInfo> menuScoreFuture =
+                menuAvgFuture.thenApply(avg -> calculateMenuSuitabilityScore(request, avg));
+
+        // 2) 동종업계 리뷰 분석(반경 무관, 같은 카테고리 전체) - 카테고리별 캐시, 점수와 무관하므로 1)과 동시에
+        //    (타임아웃 fallback은 이 요청에만 적용되고 캐시에 들어가진 않음)
+        CompletableFuture<AnalysisResponse.ReviewAnalysis> reviewFuture = stageTimer.record(FLOW, "review", reviewAnalysisOf(targetCategory, executor))
+                .thenApply(review -> {
+                    notifyListener(() -> listener.onReviewAnalysis(review));
+                    return review;
+                });
+
+        // 3) 상세분석: 세 점수의 reason이 다 나와야 하므로 메뉴 점수 뒤에 실행
+        CompletableFuture<List<AnalysisResponse.ScoreInfo>> scoresFuture = menuScoreFuture
+                .thenApply(menuScore -> {
+                    notifyListener(() -> listener.onScore(menuScore));
+                    return List.of(locationScore, budgetScore, menuScore);
+                });
+        // 스트리밍 요청이면 상세분석 AI 토큰/섹션도 도착하는 대로 넘김
+        CompletableFuture<AnalysisResponse.DetailAnalysis> detailFuture = scoresFuture
+                .thenCompose(scores -> stage("detail", () -> buildDetailAnalysis(request, scores, listener), detailTimeoutMs, fallbackDetailAnalysis(scores), executor))
+                .thenApply(detail -> {
+                    notifyListener(() -> listener.onDetailAnalysis(detail));
+                    return detail;
+                });
 
         // scores: 3가지 항목 점수 관련, reviewAnalysis: 리뷰 관련, detailAnalysis: 상세 분석 관련
-        return new AnalysisResponse(scores, reviewAnalysis, detailAnalysis);
+        return CompletableFuture.allOf(scoresFuture, reviewFuture, detailFuture)
+                .thenApply(v -> {
+                    AnalysisResponse response = new AnalysisResponse(scoresFuture.join(), reviewFuture.join(), detailFuture.join());
+                    // fallback이 섞인 결과는 캐시하지 않음 (다음 요청에서 AI로 다시 시도)
+                    boolean menuAvgMissing = needsMenuAvgPrice(request) && menuAvgFuture.join() == null;
+                    boolean degraded = menuAvgMissing || isDegraded(response);
+                    if (!degraded) {
+                        analysisResultCache.put(request, response, cacheGeneration);
+                    }
+                    analysisSloBreaker.record(sloTicket, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), degraded);
+                    stageTimer.record(FLOW, "total", System.nanoTime() - startedAt);
+                    return response;
+                });
     }
 
-    // ============================= "위치/접근성" 계산 로직 ===========================
-    private LocationScoreFactors calculateLocationScore(AnalysisRequest request, double latitude, double longitude, List<Restaurant> competitorsInRadius) {
-        int base = 100;
-        int score = base;
-        final int ROOFTOP_PENALTY = 15;
-
-        // 정문 좌표
-        final double ERICA_MAIN_GATE_LAT = 37.300097500612374;
-        final double ERICA_MAIN_GATE_LON = 126.83779165311796;
-
-        double distance = DistanceCalc.calculateDistance(latitude, longitude, ERICA_MAIN_GATE_LAT, ERICA_MAIN_GATE_LON);
-
-        // 거리 가감점: ≤80m +3, 80~130m 0, >130m 10m당 -3
-        int distanceBonus = 0;
-        int distancePenalty = 0;
-        if (distance <= 80) {
-            distanceBonus = 3;
-        } else if (distance > 130) {
-            distancePenalty = (int) Math.ceil((distance - 130) / 10.0) * 3;
-            if (distancePenalty > 50) {
-                distancePenalty = 50;
+    /**
+     * AI 호출 없는 빠른 분석
+     * - 접근성/예산: 기존과 같은 로컬 계산
+     * - 메뉴 적합성: 캐시에 있는 AI 평균가, 없으면 백업 평균가 테이블
+     * - 리뷰: 캐시된 AI 분석이 있으면 그대로, 없으면 리뷰 통계 기반 (ReviewAnalysisService.localReviewAnalysis)
+     * - 상세분석: 점수 사유로 채운 기본 문구(fallbackSections)
+     * fallback 성격의 결과라 분석 결과 캐시에는 넣지 않습니다.
+     */
+    private AnalysisResponse analyzeFast(AnalysisRequest request) {
+        String targetCategory = Optional.ofNullable(request.category()).orElse("").trim();
+        AnalysisResponse.ScoreInfo locationScore = locationScorer.score(request, restaurantSpatialIndex.snapshot());
+        AnalysisResponse.ScoreInfo budgetScore = calculateBudgetSuitabilityScore(request);
+        Integer cachedAvg = needsMenuAvgPrice(request) ? menuPriceCache.get(request.representativeMenuName()) : null;
+        AnalysisResponse.ScoreInfo menuScore = calculateMenuSuitabilityScore(request, cachedAvg);
+
+        List<AnalysisResponse.ScoreInfo> scores = List.of(locationScore, budgetScore, menuScore);
+        return new AnalysisResponse(scores, reviewAnalysisService.localReviewAnalysis(targetCategory),
+                fallbackDetailAnalysis(scores));
+    }
+
+    /**
+     * 여러 후보지 한 번에 비교 (상세분석 제외)
+     * - 식당 데이터는 인덱스 스냅샷 하나로 모든 후보지를 계산
+     * - 같은 카테고리 리뷰 분석, 같은 메뉴 평균가(AI)는 후보지끼리 한 번만 조회해서 공유
+     * - 접근성/예산 점수는 후보지별로 병렬 계산, 세 점수 평균(종합 점수)이 높은 순으로 정렬
+     */
+    public AnalysisBatchResponse analyzeBatch(List<AnalysisRequest> requests) {
+        // 후보지 하나의 잘못된 좌표 때문에 전체가 500으로 끝나지 않도록 계산 전에 한 번에 검증 (400)
+        for (int i = 0; i < requests.size(); i++) {
+            AnalysisRequest request = requests.get(i);
+            if (request == null || !isValidAddr(request.addr())) {
+                throw new ResponseStatusException(BAD_REQUEST,
+                        String.format("%d번째 후보지의 addr은 \"위도, 경도\" 형식이어야 합니다.", i + 1));
             }
         }
+        RestaurantSpatialIndex.Snapshot snapshot = restaurantSpatialIndex.snapshot();
+        Map<String, CompletableFuture<Integer>> menuAvgByMenu = new HashMap<>();
+        Map<String, CompletableFuture<AnalysisResponse.ReviewAnalysis>> reviewByCategory = new HashMap<>();
+
+        record Site(int index, AnalysisRequest request, List<AnalysisResponse.ScoreInfo> scores,
+                    AnalysisResponse.ReviewAnalysis reviewAnalysis) {}
+        List<CompletableFuture<Site>> siteFutures = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            AnalysisRequest request = requests.get(i);
+            String menu = request.representativeMenuName();
+
+            CompletableFuture<Integer> menuAvgFuture = needsMenuAvgPrice(request)
+                    ? menuAvgByMenu.computeIfAbsent(MenuPriceCache.normalize(menu),
+                            k -> stage("menu-price", () -> fetchMenuAvgPriceSafely(menu), menuPriceTimeoutMs, null, analysisExecutor))
+                    : CompletableFuture.completedFuture(null);
+            CompletableFuture<AnalysisResponse.ReviewAnalysis> reviewFuture = reviewByCategory.computeIfAbsent(
+                    Optional.ofNullable(request.category()).orElse("").trim(), category -> reviewAnalysisOf(category, analysisExecutor));
+            CompletableFuture<List<AnalysisResponse.ScoreInfo>> localScores = CompletableFuture.supplyAsync(
+                    () -> List.of(locationScorer.score(request, snapshot), calculateBudgetSuitabilityScore(request)),
+                    analysisExecutor);
+
+            siteFutures.add(localScores
+                    .thenCombine(menuAvgFuture, (local, avg) ->
+                            List.of(local.get(0), local.get(1), calculateMenuSuitabilityScore(request, avg)))
+                    .thenCombine(reviewFuture, (scores, review) -> new Site(index, request, scores, review)));
+        }
 
+        List<Site> sites = siteFutures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        sites.sort(Comparator.comparingInt((Site site) -> totalScore(site.scores())).reversed()
+                .thenComparingInt(Site::index));
 
-        // 층수: 1층 +5, 2층부터 -7/층, 지하는 층당 -10
-        int floor = request.height() != null ? request.height() : 1;
-        int floorBonus = (floor == 1 ? 5 : 0);
-        int floorPenalty;
-        if (floor == 5) floorPenalty = ROOFTOP_PENALTY;
-        else if (floor < 0) floorPenalty = Math.abs(floor) * 10;
-        else if (floor >= 2) floorPenalty = (floor - 1) * 7;
-        else floorPenalty = 0;
-
-        // 경쟁사 가감점: 0개 +5, 1개 0, 2개부터 개당 -3
-        long competitorCount = competitorsInRadius.size();
-        int competitorBonus = 0;
-        int competitorPenalty = 0;
-        if (competitorCount == 0) {
-            competitorBonus = 5;
-        } else if (competitorCount >= 2) {
-            competitorPenalty = (int) (competitorCount * 3); // 2개→-6, 3개→-9 ...
+        List<AnalysisBatchResponse.SiteResult> results = new ArrayList<>();
+        for (int rank = 0; rank < sites.size(); rank++) {
+            Site site = sites.get(rank);
+            results.add(new AnalysisBatchResponse.SiteResult(
+                    rank + 1, site.index(), site.request().addr(), site.request().category(),
+                    totalScore(site.scores()), site.scores(), site.reviewAnalysis()));
         }
+        return new AnalysisBatchResponse(results);
+    }
 
-        // 점수 합산
-        score += distanceBonus;
-        score -= distancePenalty;
-        score += floorBonus;
-        score -= floorPenalty;
-        score += competitorBonus;
-        score -= competitorPenalty;
-        score = Math.max(10, Math.min(100, score));
-
-        // 이름+거리로 정렬하여 5개만 표기(결과에 5개 넘어가는 것은 그 외 n개)
-        DecimalFormat df = new DecimalFormat("#0");
-        List<String> competitorNamesWithDist = competitorsInRadius.stream()
-                .map(r -> {
-                    double d = DistanceCalc.calculateDistance(latitude, longitude, r.getLatitude(), r.getLongitude());
-                    return new AbstractMap.SimpleEntry<>(r, d);
-                })
-                .sorted(Comparator.comparingDouble(Map.Entry::getValue))
-                .limit(5)
-                .map(e -> String.format("%s(%sm)", safeName(e.getKey()), df.format(e.getValue())))
-                .collect(Collectors.toList());
-
-        String summary = generateLocationReason(distance, floor, competitorCount, competitorNamesWithDist);
-
-        // 감점/가점 항목 구성
-        List<AnalysisResponse.AdjusmentItem> penaltyItems = new ArrayList<>();
-        if (distancePenalty > 0)   penaltyItems.add(new AnalysisResponse.AdjusmentItem("정문과 거리", -distancePenalty));
-        if (floorPenalty > 0)      penaltyItems.add(new AnalysisResponse.AdjusmentItem("층수 불리",   -floorPenalty));
-        if (competitorPenalty > 0) penaltyItems.add(new AnalysisResponse.AdjusmentItem("주변 경쟁사 밀도", -competitorPenalty));
-
-        List<AnalysisResponse.AdjusmentItem> bonusItems = new ArrayList<>();
-        if (distanceBonus > 0)     bonusItems.add(new AnalysisResponse.AdjusmentItem("정문과 근접", +distanceBonus));
-        if (floorBonus > 0)        bonusItems.add(new AnalysisResponse.AdjusmentItem("1층 입지", +floorBonus));
-        if (competitorBonus > 0)   bonusItems.add(new AnalysisResponse.AdjusmentItem("동종 경쟁사 없음", +competitorBonus));
-
-        String reason = summary;
-
-        return new LocationScoreFactors(score, distance, floor, competitorCount, competitorNamesWithDist,
-                reason, penaltyItems, bonusItems);
+    // "위도, 경도" 형식인지 (LocationScorer가 그대로 파싱)
+    private static boolean isValidAddr(String addr) {
+        if (addr == null) return false;
+        String[] parts = addr.split(",");
+        if (parts.length != 2) return false;
+        try {
+            double latitude = Double.parseDouble(parts[0].trim());
+            double longitude = Double.parseDouble(parts[1].trim());
+            return Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+        } catch (NumberFormatException e) {
+            return false;
+        }
     }
 
-    // 부호 붙여주는 헬퍼
-    private static String sign(int v) {
-        return (v >= 0 ? "+" : "") + v;
+    // 종합 점수: 세 항목 점수 평균 (반올림)
+    private int totalScore(List<AnalysisResponse.ScoreInfo> scores) {
+        return (int) Math.round(scores.stream().mapToInt(AnalysisResponse.ScoreInfo::score).average().orElse(0));
     }
 
-    // ======================== 사용자 설명에 보낼 멘트(위치 점수 관련) ========================
-    private String generateLocationReason(double distance, int floor, long competitorCount, List<String> competitorNamesWithDist) {
-        StringBuilder sb = new StringBuilder();
-
-        // 거리 (≤80m 가점, 80~130m 중립, 130m 넘으면 10m당 3점 감점)
-        if (distance <= 80) {
-            sb.append(String.format("정문과 매우 가까워(약 %.0fm) 접근성이 우수합니다. ", distance));
-        } else if (distance <= 130) {
-            sb.append(String.format("정문과 가까운 편(약 %.0fm)으로 접근성이 양호합니다. ", distance));
-        } else if (distance <= 160) {
-            sb.append(String.format("정문과 다소 떨어져 있어(약 %.0fm) 접근성이 떨어질 수 있습니다. ", distance));
-        } else {
-            sb.append(String.format("정문과 거리가 있어(약 %.0fm) 접근성이 제한적일 수 있습니다. ", distance));
+    /**
+     * 카테고리 리뷰 분석 (캐시) + 요청별 타임아웃. 타임아웃 fallback은 이 요청에만 적용되고 캐시에 들어가진 않음
+     * 캐시 조회도 executor에서 (캐시 로더 풀이 꽉 차서 로더가 호출 스레드에서 돌더라도 요청 스레드가 아니도록)
+     */
+    private CompletableFuture<AnalysisResponse.ReviewAnalysis> reviewAnalysisOf(String targetCategory, Executor executor) {
+        AnalysisResponse.ReviewAnalysis reviewFallback = reviewAnalysisService.fallback();
+        return submit(() -> reviewAnalysisService.getReviewAnalysis(targetCategory), executor)
+                .thenCompose(review -> review)
+                .completeOnTimeout(reviewFallback, reviewTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    System.err.println("[WARN] review analysis failed: " + e.getMessage());
+                    return reviewFallback;
+                });
+    }
+
+    // 리뷰 피드백이나 상세분석이 기본값(fallback)으로 채워졌는지
+    private boolean isDegraded(AnalysisResponse response) {
+        return ReviewAnalysisService.DEFAULT_REVIEW_FEEDBACK.equals(response.reviewAnalysis().feedback())
+                || fallbackDetailAnalysis(response.scores()).equals(response.detailAnalysis());
+    }
+
+    // 캐시된 결과도 스트리밍/잡 조회에서 같은 순서로 보이도록 리스너에 전달
+    private void replayToListener(AnalysisResponse response, AnalysisListener listener) {
+        response.scores().forEach(score -> notifyListener(() -> listener.onScore(score)));
+        notifyListener(() -> listener.onReviewAnalysis(response.reviewAnalysis()));
+        notifyListener(() -> listener.onDetailAnalysis(response.detailAnalysis()));
+    }
+
+    // 리스너 예외가 분석 결과에 영향을 주지 않도록 (클라이언트 연결 끊김 등)
+    private void notifyListener(Runnable notification) {
+        try {
+            notification.run();
+        } catch (Exception e) {
+            System.err.println("[WARN] analysis listener failed: " + e.getMessage());
         }
+    }
 
-        // 층수 (1층 가점, 2층부터 감점, 지하는 더 감점)
-        if (floor < 0) {
-            sb.append(String.format("지하 %d층으로 간판 노출과 접근성이 제한적입니다. ", Math.abs(floor)));
-        } else if (floor == 1) {
-            sb.append("1층이라 고객 노출과 유입에 유리합니다. ");
-        } else if (floor == 2) {
-            sb.append("2층이라 1층 대비 고객 유입에 다소 불리할 수 있습니다. ");
-        } else if (floor == 5) {
-            sb.append("루프탑이라 1층 대비 고객 유입에 다소 불리할 수 있습니다. ");
+    /**
+     * 분석 단계 하나를 분석 스레드풀에서 실행.
+     * 타임아웃이 나거나 예외가 나면(비동기 분석 풀이 거절한 경우 포함) fallback 값으로 완료됩니다.
+     * (타임아웃이 나도 이미 나간 AI 호출 자체가 취소되진 않고, 결과만 버립니다)
+     */
+    private <T> CompletableFuture<T> stage(String name, Supplier<T> task, long timeoutMs, T fallback, Executor executor) {
+        return stageTimer.record(FLOW, name, submit(task, executor)
+                .completeOnTimeout(fallback, timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    System.err.println("[WARN] analysis stage failed: " + e.getMessage());
+                    return fallback;
+                }));
+    }
 
-        } else {
-            sb.append(String.format("%d층이라 노출이 적어 고객 유입에 불리할 수 있습니다. ", floor));
+    // 거절되면 호출한 스레드에서 돌리지 않고 실패한 future로 (analysisExecutor는 CallerRuns라 거절하지 않음)
+    private static <T> CompletableFuture<T> submit(Supplier<T> task, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
         }
+    }
 
-        // 경쟁사 (0개 가점, 2개부턴 감점)
-        if (competitorCount == 0) {
-            sb.append("주변에 동종 경쟁이 없어 초기 고객 유입에 유리합니다.");
-        } else if (competitorCount == 1) {
-            sb.append(String.format("주변 경쟁사: %s 1곳이 있습니다.", competitorNamesWithDist.get(0)));
-        } else {
-            String list = String.join(", ", competitorNamesWithDist);
-            long remain = competitorCount - competitorNamesWithDist.size();
-            if (remain > 0) {
-                sb.append(String.format("주변 경쟁사 %d곳: %s 외 %d곳이 있습니다.", competitorCount, list, remain));
-            } else {
-                sb.append(String.format("주변 경쟁사 %d곳: %s가(이) 있습니다.", competitorCount, list));
-            }
+    // 비동기 분석 풀이 스레드도 큐도 꽉 차 있으면 분석을 시작하지 않고 AI 대기열 포화와 같은 503 + Retry-After
+    private void rejectIfSaturated(Executor executor) {
+        if (executor != analysisAsyncExecutor) return; // 동기 분석은 CallerRuns로 느려질 뿐 거절하지 않음
+        ThreadPoolExecutor pool = analysisAsyncExecutor.getThreadPoolExecutor();
+        if (pool.getActiveCount() >= pool.getMaximumPoolSize() && pool.getQueue().remainingCapacity() == 0) {
+            throw aiCallLimiter.overloaded();
         }
+    }
 
-        return sb.toString().trim();
+    // 부호 붙여주는 헬퍼
+    private static String sign(int v) {
+        return (v >= 0 ? "+" : "") + v;
     }
 
     // 메뉴 적합성을 위한 상수 세팅
@@ -260,9 +383,13 @@ public class AnalysisService {
     );
 
     // AI로 '대표메뉴'의 대학가 평균가 가격 받아오는 메서드
-    private Integer fetchMenuAvgPriceFromAI(String representativeMenuName) throws JsonProcessingException {
+    private Integer fetchMenuAvgPriceFromAI(String representativeMenuName) {
         if (representativeMenuName == null || representativeMenuName.isBlank()) return null;
 
+        // 같은 메뉴는 며칠 동안 평균가가 거의 안 바뀌므로 캐시에 있으면 AI 호출 생략
+        Integer cached = menuPriceCache.get(representativeMenuName);
+        if (cached != null) return cached;
+
         String prompt = String.format("""
       # 역할: 가격 추정 로봇
       # 임무: '안산 대학가(한양대 ERICA 주변 기준)'에서 "%s" 1인 기준 평균 판매가(원)를 추정해 정수 숫자만 JSON으로 반환.
@@ -274,51 +401,90 @@ public class AnalysisService {
       { "avgPrice": (정수원) }
       """, representativeMenuName);
 
-        String ai = aiChatService.getAnalysisResponseFromAI(prompt);
-        String clean = ai.replace("```json","").replace("```","").trim();
+        // 파싱이 안 되거나 범위 밖인 응답은 디스크 응답 캐시에도 남기지 않음
+        String ai = aiChatService.getAnalysisResponseFromAI(AiPromptType.PRICE, prompt, raw -> parseAvgPrice(raw) != null);
+        Integer avgPrice = parseAvgPrice(ai);
+        if (avgPrice == null) {
+            aiMetrics.recordResult(AiPromptType.PRICE, AiMetrics.Result.PARSE_FAIL);
+            return null; // 실패 시 백업 룰 사용
+        }
+        menuPriceCache.put(representativeMenuName, avgPrice);
+        aiMetrics.recordResult(AiPromptType.PRICE, AiMetrics.Result.SUCCESS);
+        return avgPrice;
+    }
 
-        // {"avgPrice": 6500} 형태 파싱
+    // {"avgPrice": 6500} 형태 파싱. 파싱 실패 또는 MenuPriceCache 허용 범위 밖이면 null
+    private Integer parseAvgPrice(String raw) {
+        if (raw == null) return null;
+        String clean = raw.replace("```json","").replace("```","").trim();
         record AvgPrice(int avgPrice) {}
         try {
-            AvgPrice parsed = objectMapper.readValue(clean, AvgPrice.class);
-            return parsed.avgPrice();
+            int avgPrice = objectMapper.readValue(clean, AvgPrice.class).avgPrice();
+            if (MenuPriceCache.isPlausible(avgPrice)) return avgPrice;
+            System.err.println("[WARN] Menu avg price AI out of range: " + avgPrice);
         } catch (Exception e) {
             System.err.println("[WARN] Menu avg price AI parse fail: " + e.getMessage());
-            return null; // 실패 시 백업 룰 사용
         }
+        return null;
     }
 
-    // AI 실패 시를 위한 보수적 백업 테이블(AI가 갑자기 튀는 값을 넣어서 값이 이상하게 0, 9999999이렇게 나오는 경우가 있다고 해서 만든 메서드입니다)
+    // AI 실패 시를 위한 보수적 백업 테이블(AI가 갑자기 튀는 값을 넣어서 값이 이상하게 0, 9999999이렇게 나오는 경우가 있다고 해서 만든 테이블입니다)
+    private static final Map<String,Integer> FALLBACK_AVG_PRICE = Map.ofEntries(
+            //내용은 안 중요한 코드라 옆으로 길게 썼습니다
+            Map.entry("아메리카노", 2000),Map.entry("조각케이크", 6500), Map.entry("샌드위치/샐러드", 7000), Map.entry("아이스크림/빙수", 8000), Map.entry("구움과자", 4000), Map.entry("국밥", 9000), Map.entry("덮밥/비빔밥", 9000), Map.entry("면/국수", 8000), Map.entry("찜/탕/찌개", 10000), Map.entry("구이/볶음류", 11000), Map.entry("팟타이", 11000), Map.entry("나시고렝", 11000), Map.entry("쌀국수", 11000), Map.entry("똠얌꿍", 13000), Map.entry("반미", 7000),
+            Map.entry("파스타", 13000), Map.entry("스테이크", 20000), Map.entry("리조또", 13000), Map.entry("샐러드/브런치", 12000), Map.entry("짜장면", 7000), Map.entry("짬뽕", 9000), Map.entry("탕수육", 16000), Map.entry("마라탕/샹궈", 13000), Map.entry("초밥", 13000), Map.entry("회", 18000), Map.entry("돈카츠", 11000), Map.entry("라멘/우동/소바", 9000), Map.entry("덮밥/도시락", 9000), Map.entry("기타",10000)
+    );
+
     private Integer fallbackAvgPrice(String representativeMenuName) {
         if (representativeMenuName == null) return null;
         String key = representativeMenuName.replaceAll("\\s+","").toLowerCase();
-        Map<String,Integer> table = Map.ofEntries(
-                //내용은 안 중요한 코드라 옆으로 길게 썼습니다
-                Map.entry("아메리카노", 2000),Map.entry("조각케이크", 6500), Map.entry("샌드위치/샐러드", 7000), Map.entry("아이스크림/빙수", 8000), Map.entry("구움과자", 4000), Map.entry("국밥", 9000), Map.entry("덮밥/비빔밥", 9000), Map.entry("면/국수", 8000), Map.entry("찜/탕/찌개", 10000), Map.entry("구이/볶음류", 11000), Map.entry("팟타이", 11000), Map.entry("나시고렝", 11000), Map.entry("쌀국수", 11000), Map.entry("똠얌꿍", 13000), Map.entry("반미", 7000),
-                Map.entry("파스타", 13000), Map.entry("스테이크", 20000), Map.entry("리조또", 13000), Map.entry("샐러드/브런치", 12000), Map.entry("짜장면", 7000), Map.entry("짬뽕", 9000), Map.entry("탕수육", 16000), Map.entry("마라탕/샹궈", 13000), Map.entry("초밥", 13000), Map.entry("회", 18000), Map.entry("돈카츠", 11000), Map.entry("라멘/우동/소바", 9000), Map.entry("덮밥/도시락", 9000), Map.entry("기타",10000)
-        );
         // AI 호출 실패 시 가장 가까운 키 매칭
-        for (String k : table.keySet()) {
-            if (key.contains(k.replace("/","").toLowerCase())) return table.get(k);
+        for (String k : FALLBACK_AVG_PRICE.keySet()) {
+            if (key.contains(k.replace("/","").toLowerCase())) return FALLBACK_AVG_PRICE.get(k);
         }
         return null;
     }
 
+    // 설정으로 켜면 백업 테이블 메뉴들은 처음부터 캐시에 넣어둬서 AI 호출을 생략
+    @PostConstruct
+    void seedMenuPriceCache() {
+        if (menuPriceCacheSeedFallback) {
+            menuPriceCache.seed(FALLBACK_AVG_PRICE);
+        }
+    }
+
+    // 메뉴 적합성 점수에 평균가가 필요한 입력인지 (대표메뉴/가격이 없으면 AI 호출할 필요 없음)
+    private boolean needsMenuAvgPrice(AnalysisRequest request) {
+        String menu = request.representativeMenuName();
+        Integer userPrice = request.representativeMenuPrice();
+        return !(menu == null || menu.isBlank() || userPrice == null || userPrice <= 0);
+    }
+
+    // AI 평균가 추정, 실패하면 null (백업 룰은 점수 계산 쪽에서 적용)
+    private Integer fetchMenuAvgPriceSafely(String representativeMenuName) {
+        try {
+            return fetchMenuAvgPriceFromAI(representativeMenuName);
+        } catch (Exception e) {
+            aiMetrics.recordResult(AiPromptType.PRICE, AiMetrics.Result.FALLBACK);
+            return null;
+        }
+    }
+
     // ================================= "메뉴 적합성 점수 로직" ======================================
-    private AnalysisResponse.ScoreInfo calculateMenuSuitabilityScore(AnalysisRequest request) {
+    // aiAvgPrice: AI가 추정한 평균가(실패/타임아웃이면 null -> 백업 테이블 사용)
+    private AnalysisResponse.ScoreInfo calculateMenuSuitabilityScore(AnalysisRequest request, Integer aiAvgPrice) {
         String menu = request.representativeMenuName();
         Integer userPrice = request.representativeMenuPrice();
 
         // 기본 실패 시
-        if (menu == null || menu.isBlank() || userPrice == null || userPrice <= 0) {
+        if (!needsMenuAvgPrice(request)) {
             return new AnalysisResponse.ScoreInfo(
                     "메뉴 적합성", 70, null, "— 점수 산식 —\n기본점수: 70\n사유: 대표메뉴/가격 정보 부족 → 보수적 점수 부여",
                     List.of(), List.of()); // 뒤에 두개는 보너스랑 페널티
         }
 
         // 평균가 추정 ai 실패 시
-        Integer avg = null;
-        try { avg = fetchMenuAvgPriceFromAI(menu); } catch (Exception ignore) {}
+        Integer avg = aiAvgPrice;
         if (avg == null) avg = fallbackAvgPrice(menu);
         if (avg == null) {
             return new AnalysisResponse.ScoreInfo("메뉴 적합성", 70, null,
@@ -424,14 +590,9 @@ public class AnalysisService {
             "ROOF", new FloorPrice(516_000, 27_000)
     );
 
-    // 우리 층 수 String으로 받아오는지 프론트에 물어보기
+    // 우리 층 수 String으로 받아오는지 프론트에 물어보기 (옥상/루프탑은 5로)
     private String floorKeyFrom(Integer height) {
-        if (height < 0) return "B";
-        if (height == 1) return "1F";
-        if (height == 2) return "2F";
-        if (height == 3) return "3F";
-        if (height == 5) return "ROOF"; // 옥상/루프탑 고르면 99로 넘겨달라고 해야징
-        return "4F+";
+        return RentModel.floorKey(height);
     }
 
     // 만원 → 원 변환 (예: 150만원 => 1_500_000원)
@@ -469,7 +630,13 @@ public class AnalysisService {
 
         // 층 키 및 1평 단가
         String floorKey = floorKeyFrom(request.height());
-        FloorPrice fp = PY_PRICE_BY_FLOOR.getOrDefault(floorKey, PY_PRICE_BY_FLOOR.get("1F")); // 만약 층 안 들어오면 1층으로.. 근데 어차피 무조건 들어올듯
+        FloorPrice basePrice = PY_PRICE_BY_FLOOR.getOrDefault(floorKey, PY_PRICE_BY_FLOOR.get("1F")); // 만약 층 안 들어오면 1층으로.. 근데 어차피 무조건 들어올듯
+
+        // 주변 매물 시세로 층별 단가 위치 보정 (메모리 모델, 주변 매물이 부족하면 보정 없음)
+        RentModel.RentEstimate rent = rentEstimateOf(request.addr(), floorKey);
+        FloorPrice fp = new FloorPrice(
+                (int) Math.round(basePrice.depositPerPy() * rent.factor()),
+                (int) Math.round(basePrice.monthlyPerPy() * rent.factor()));
 
         // 예상 총 월세/보증금 (원) : (단가 원/평) × (평수)
         long expRentMin  = (long) fp.monthlyPerPy() * sizeMin;
@@ -532,6 +699,10 @@ public class AnalysisService {
                 sizeMin, sizeMax, wonToManStr(expRentMid), wonToManStr(expDepoMid),
                 rentMaxMan, depoMaxMan, (ratioLine.isBlank() ? "" : " "), ratioLine
         );
+        if (rent.factor() != 1.0) {
+            summary += String.format(" 주변 매물 %d건 기준 평당 시세가 같은 층 중앙값의 약 %s 수준이라 예상 단가에 반영했습니다.",
+                    rent.sampleCount(), pct0(rent.factor() * 100));
+        }
 
         // 가중치 적용된 점수가 들어감
         List<AnalysisResponse.AdjusmentItem> penalties = new ArrayList<>();
@@ -557,6 +728,16 @@ public class AnalysisService {
         );
     }
 
+    // 요청 좌표("위도, 경도") 기준 임대료 위치 보정. 좌표를 못 읽으면 보정 없음
+    private RentModel.RentEstimate rentEstimateOf(String addr, String floorKey) {
+        try {
+            String[] parts = addr.split(",");
+            return rentModel.estimate(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()), floorKey);
+        } catch (Exception e) {
+            return RentModel.RentEstimate.NEUTRAL;
+        }
+    }
+
     /**
      * 사용자 최대치(userMax)를 예상 구간과 비교해 점수 증감을 반환
      *  - userMax >= expMax : +10
@@ -584,194 +765,51 @@ public class AnalysisService {
         return "부족(" + pct0(gap * 100) + " 부족)";
     }
 
-    private static double ratingAsDouble(Review r) {
-        BigDecimal bd = r.getRating();
-        return (bd == null) ? 0.0 : bd.doubleValue();
-    }
-
-    // 리뷰 분석
-    private AnalysisResponse.ReviewAnalysis buildReviewAnalysisSameCategory(String targetCategory) {
-        // 동종업계 가게 전부 수집
-        List<String> keywords = expandCategoryKeywords(Optional.ofNullable(targetCategory).orElse("").trim());
-        List<Restaurant> sameCategoryAll = restaurantRepository.findAll().stream()
-                .filter(r -> {
-                    String c = Optional.ofNullable(r.getCategory()).orElse("").toLowerCase();
-                    return keywords.stream().anyMatch(c::contains);
-                })
-                .toList();
-
-        if (sameCategoryAll.isEmpty()) {
-            return new AnalysisResponse.ReviewAnalysis(
-                    null,
-                    List.of(),
-                    "해당 카테고리의 가게가 없어 리뷰 기반 피드백을 제공하기 어렵습니다."
-            );
-        }
-
-        // 동종업계 집합 만들고, placeId로 1차 리뷰 조회
-        Set<String> nameSet = sameCategoryAll.stream()
-                .map(Restaurant::getRestaurantName)
-                .filter(Objects::nonNull)
-                .map(this::normalizeName)
-                .collect(Collectors.toSet());
-
-        List<Long> ids = sameCategoryAll.stream()
-                .map(Restaurant::getKakaoPlaceId)
-                .filter(Objects::nonNull)
-                .toList();
-
-        List<Review> reviews = ids.isEmpty()
-                ? List.of()
-                : reviewRepository.findAllByRestaurantKakaoPlaceIdInOrderByIdDesc(ids);
-
-        // placeId가 비어있는 데이터가 있다면, 이름 일치로 한 번 더 거르기(안전빵)
-        List<Review> sameNameReviews = reviews.stream()
-                .filter(r -> {
-                    String nm = Optional.ofNullable(r.getRestaurant())
-                            .map(Restaurant::getRestaurantName).orElse(null);
-                    return nm != null && nameSet.contains(normalizeName(nm));
-                })
-                .toList();
-
-        List<Review> base = sameNameReviews.isEmpty() ? reviews : sameNameReviews;
-        if (base.isEmpty()) {
-            return new AnalysisResponse.ReviewAnalysis(
-                    null,
-                    List.of(),
-                    "해당 카테고리의 리뷰 데이터가 없어 리뷰 기반 피드백을 제공하기 어렵습니다."
-            );
-        }
-
-        // 카테고리 전체 평균 평점
-        double avg = base.stream().map(Review::getRating).filter(Objects::nonNull).mapToDouble(java.math.BigDecimal::doubleValue).average().orElse(Double.NaN);
-        Double averageRating = Double.isNaN(avg) ? null : Math.round(avg * 10.0) / 10.0;
-
-        // GPT한테 도움 되는 리뷰 4개, 피드백만 json으로 받아오기(피드백 내용 만들때는 모든 리뷰 다 씀)
-        // 모든 리뷰를 넘기되, 한 줄로 정제하고 220자 넘는건 컷
-        String lines = base.stream()
-                .map(r -> {
-                    String store = Optional.ofNullable(r.getRestaurant())
-                            .map(Restaurant::getRestaurantName).orElse("(이름없음)");
-                    double score = ratingOf(r); // BigDecimal -> double
-                    String content = safeLine(Optional.ofNullable(r.getContent()).orElse(""));
-                    if (content.length() > 220) content = content.substring(0, 220) + "…";
-                    return String.format("- [%s | %.1f] %s", store, score, content);
-                })
-                .collect(Collectors.joining("\n"));
-
-        String prompt = """
-                # Role: Review analysis coach
-                # Task:
-                - You are analyzing reviews for the "%s" category in a **university-area** business context.
-                - From ALL reviews below, pick about **4** samples that would most help a prospective owner.
-                - Then provide **concise, practical feedback** (in Korean) for running a successful business in this category and area.
-                
-                # Output rules (MUST):
-                - **Write ALL output in Korean.**
-                - Return **pure JSON only** (no code block, no extra text).
-                - For each item in "reviewSamples":
-                  - Keep "storeName" as-is (가게명).
-                  - "reviewScore" must be a number (0.0~5.0).
-                  - "highlights" must be **an array with exactly ONE sentence** (1줄 요약, 평어체로).
-                    - **Remove emojis/repeat chars like ㅋㅋ/ㅎㅎ/ㅠㅠ, URLs, hashtags, @mentions.**
-                    - Normalize spacing/punctuation.
-                    - Keep it within **80 characters** and end with a period.
-                - In "feedback":
-                  - **어떤 가게 이름도 언급하지마**.
-                  - 대학 상권을 기준으로 정보를 제공해줘** (예: 학생 피크타임 운영, 가성비/포션, 회전율, 소음/분위기, 연령대·모임 수요 등).
-                  - 내가 준 모든 리뷰 내용을 고려하여 관련된 조언을 해주고(특히 reviewSamples에 나온 내용 관련해선 꼭 언급해줘).
-                  - 한국인들의 친근감이 들 수 있게 친절한 상담사처럼 "~요"체로 말해줘.
-                  - 내용이 너무 적으면 너가 서칭해서라도 관련 업계 팁을 최소 4줄 정도 채워줘.
-                  - ****반드시 방학(비성수기) / 학기중(성수기) / 시험기간(성수기)의 유동인구 차이를 언급하고, 각 시기별 운영 전략과 팁을 위의 내용들에 추가해줘.(위의 내용들도 언급하고 이것은 추가 언급****
-                
-                # JSON schema:
-                {
-                  "reviewSamples": [
-                    {"storeName": "가게명", "reviewScore": 4.5, "highlights": ["한 줄 요약."]}
-                  ],
-                  "feedback": "종합 피드백"
-                }
-                
-                # Reviews
-                %s
-                """.formatted(targetCategory, lines);
-
-        List<AnalysisResponse.ReviewSample> samples;
-        String feedback;
-        try {
-            String raw = aiChatService.getAnalysisResponseFromAI(prompt)
-                    .replace("```", "").trim();
-
-            // GPT 응답 파싱용 임시 레코드
-            record Out(List<Map<String, Object>> reviewSamples, String feedback) {}
-            Out out = objectMapper.readValue(raw, Out.class);
-
-            // 안전 매핑: storeName, reviewScore, highlights
-            samples = Optional.ofNullable(out.reviewSamples())
-                    .orElse(List.of())
-                    .stream()
-                    .limit(4)
-                    .map(m -> {
-                        String store = String.valueOf(m.getOrDefault("storeName", "(이름없음)"));
-                        double score2;
-                        try { score2 = Double.parseDouble(String.valueOf(m.getOrDefault("reviewScore", 0.0))); }
-                        catch (Exception e) { score2 = 0.0; }
-                        @SuppressWarnings("unchecked")
-                        List<String> hl = (List<String>) m.getOrDefault("highlights", List.of());
-                        if (hl == null) hl = List.of();
-                        return new AnalysisResponse.ReviewSample(store, score2, hl);
-                    })
-                    .toList();
-
-            feedback = Optional.ofNullable(out.feedback()).orElse("리뷰를 바탕으로 운영 팁을 요약했습니다.");
-        }
-        catch (Exception e) {
-            // 파싱 실패 시: 단순 샘플 4개 + 기본 피드백
-            samples = base.stream().limit(4)
-                    .map(r -> new AnalysisResponse.ReviewSample(
-                            Optional.ofNullable(r.getRestaurant()).map(Restaurant::getRestaurantName).orElse("(이름없음)"),
-                            ratingOf(r),
-                            List.of(snippet(r.getContent(), 80))
-                    ))
-                    .toList();
-            feedback = "리뷰 내용을 참고해 메뉴 품질 일관성, 피크타임 대기 관리, 직원 응대 매뉴얼(인사/설명/불만 응대), 위생·청결체크리스트를 체계화하세요. 상권 피드백이 반복되는 항목은 우선순위로 개선하세요.";
-        }
-        return new AnalysisResponse.ReviewAnalysis(
-                averageRating,
-                samples,
-                feedback
-        );
-    }
-
-    // 리뷰 로직 헬퍼
-    private double ratingOf(Review r) {
-        java.math.BigDecimal b = r.getRating();
-        return (b == null) ? 0.0 : b.doubleValue();
-    }
-    private String normalizeName(String s) {
-        return Optional.ofNullable(s).orElse("").replaceAll("\\s+", "").toLowerCase();
-    }
-    // 리뷰 내용 짧게 자르는 유틸
-    private String snippet(String s, int max) {
-        if (s == null) return "";
-        String oneLine = s.replaceAll("\\s+", " ").trim();
-        return oneLine.length() <= max ? oneLine : oneLine.substring(0, max) + "…";
-    }
-    // 프롬프트/로그 안전용: 개행/탭 제거,트림
-    private String safeLine(String s) {
-        if (s == null) return "";
-        return s.replace("\n", " ").replace("\r", " ").replace("\t", " ").trim();
-    }
-
     // 감점/가점 항목 포맷 만들기 헬퍼
     private AnalysisResponse.AdjusmentItem adj(String label, int points) {
         return new AnalysisResponse.AdjusmentItem(label, points);
     }
 
     // ==================================== 상세분석 관련 로직 =========================================
+    // 상세 분석 고정 지시문. 요청마다 바뀌는 입력/점수 사유는 맨 뒤 블록으로 (OpenAI 프롬프트 캐시)
+    private static final PromptTemplate DETAIL_PROMPT = PromptTemplate.compile(AiPromptType.DETAIL, """
+            # Role: Senior retail consultant for **university-area** businesses
+            # Task:
+            - Based ONLY on the user's inputs ([User Inputs]) and the three score reasons ([Score Reasons]) below,
+              write a **detailed Korean analysis** for each of:
+                1) 접근성
+                2) 예산 적합성
+                3) 메뉴 적합성
+            - For each section, explain why the score likely came out that way,
+              and give concrete, prioritized tips to raise the score.
+            - Always consider it's a **university-area** (student traffic, peak hours, price sensitivity, group demand, quick turns).
+            - 말투는 너가 창업 상담사라고 생각하고 "~요"의 말투로 답변해줘.
+
+            # Output rules (MUST):
+            - **Write ALL output in Korean.**
+            - Return **pure JSON only** (no code blocks, no extra text).
+            - Structure:
+              {
+                "sections": [
+                  {"name": "접근성", "content": "텍스트"},
+                  {"name": "예산 적합성", "content": "텍스트"},
+                  {"name": "메뉴 적합성", "content": "텍스트"}
+                ]
+              }
+
+              ******** 다음 항목들은 무조건 지켜줘 (중요!) ********
+            - "접근성", "예산 적합성", "메뉴 적합성" 모두 단기, 중기, 장기, 리스크에 대한 모든 내용을 꼭 포함해줘.
+            - 상세 분석이니만큼, 위에서 말했듯이 각 점수가 나온 이유를 자세히 설명해줘
+            - "접근성", "예산 적합성", "메뉴 적합성" 각 항목에 있어서 너가 줄 수 있는 다양한 분석을 최대한 길고 자세하게 써줘.(각각 300자 이상)
+            - 각 항목에서 내가 준 자료 말고도 너가 줄 수 있는 "대학가에서의 특징"을 살려서 상세 분석 내용 추가해줘
+            - 경쟁업체의 이름을 절대 언급하지마
+            """, "User Inputs", "Score Reasons");
+
+    // 리스너가 토큰을 원하면 스트리밍으로 호출해서 토큰과 완성된 섹션을 바로바로 넘겨줌
     private AnalysisResponse.DetailAnalysis buildDetailAnalysis(
             AnalysisRequest req,
-            List<AnalysisResponse.ScoreInfo> scores
+            List<AnalysisResponse.ScoreInfo> scores,
+            AnalysisListener listener
     ) {
         // ai한테 상세 분석에는 사용자가 입력한 인풋이랑 1차 분석에서 나온 점수 이유 넘겨줄거임
         // 사용자 인풋 요약
@@ -814,60 +852,52 @@ public class AnalysisService {
         // if (reasonBudget.isBlank()) reasonBudget = findReason(scores, "예산");
         String reasonMenu   = findReason(scores, "메뉴 적합성");
 
-        // 프롬프트
-        String prompt = """
-        # Role: Senior retail consultant for **university-area** businesses
-        # Task:
-        - Based ONLY on the user's inputs and the three score reasons below,
-          write a **detailed Korean analysis** for each of:
-            1) 접근성
-            2) 예산 적합성
-            3) 메뉴 적합성
-        - For each section, explain why the score likely came out that way,
-          and give concrete, prioritized tips to raise the score.
-        - Always consider it's a **university-area** (student traffic, peak hours, price sensitivity, group demand, quick turns).
-        - 말투는 너가 창업 상담사라고 생각하고 "~요"의 말투로 답변해줘.
-
-        # Output rules (MUST):
-        - **Write ALL output in Korean.**
-        - Return **pure JSON only** (no code blocks, no extra text).
-        - Structure:
-          {
-            "sections": [
-              {"name": "접근성", "content": "텍스트"},
-              {"name": "예산 적합성", "content": "텍스트"},
-              {"name": "메뉴 적합성", "content": "텍스트"}
-            ]
-          }
-          
-          ******** 다음 항목들은 무조건 지켜줘 (중요!) ********
-        - "접근성", "예산 적합성", "메뉴 적합성" 모두 단기, 중기, 장기, 리스크에 대한 모든 내용을 꼭 포함해줘.
-        - 상세 분석이니만큼, 위에서 말했듯이 각 점수가 나온 이유를 자세히 설명해줘
-        - "접근성", "예산 적합성", "메뉴 적합성" 각 항목에 있어서 너가 줄 수 있는 다양한 분석을 최대한 길고 자세하게 써줘.(각각 300자 이상)
-        - 각 항목에서 내가 준 자료 말고도 너가 줄 수 있는 "대학가에서의 특징"을 살려서 상세 분석 내용 추가해줘
-        - 경쟁업체의 이름을 절대 언급하지마
-
-        [User Inputs]
-        %s
-
-        [Score Reasons]
+        // 프롬프트 (고정 지시문 DETAIL_PROMPT 뒤에 입력/점수 사유만 붙임)
+        String scoreReasons = """
         - 접근성: %s
         - 예산 적합성: %s
         - 메뉴 적합성: %s
         """.formatted(
-                inputSummary,
                 oneLine(reasonAccess, 500),
                 oneLine(reasonBudget, 500),
                 oneLine(reasonMenu,   500)
         );
+        String prompt = DETAIL_PROMPT.render(inputSummary, scoreReasons);
 
-        try {
-            String raw = aiChatService.getAnalysisResponseFromAI(prompt)
-                    .replace("```", "").trim();
+        // 파싱용 임시 레코드
+        record SectionOut(String name, String content) {}
+        record DetailOut(List<SectionOut> sections) {}
 
-            // 파싱용 임시 레코드
-            record SectionOut(String name, String content) {}
-            record DetailOut(List<SectionOut> sections) {}
+        try {
+            String raw;
+            if (!listener.wantsDetailDeltas()) {
+                // 입력마다 다른 프롬프트라 디스크 캐시 대신 분석 결과 캐시(AnalysisResultCache)에 맡김
+                raw = aiChatService.getAnalysisResponseFromAI(AiPromptType.DETAIL, prompt, false);
+            } else {
+                // 섹션 객체가 닫히는 대로 하나씩 파싱해서 넘김 (최종 결과는 아래에서 전체를 다시 파싱)
+                JsonArrayAssembler assembler = new JsonArrayAssembler("sections", json -> {
+                    try {
+                        SectionOut s = objectMapper.readValue(json, SectionOut.class);
+                        if (s.name() == null || s.content() == null) return;
+                        AnalysisResponse.DetailSection section = new AnalysisResponse.DetailSection(s.name(), s.content().trim());
+                        notifyListener(() -> listener.onDetailSection(section));
+                    } catch (JsonProcessingException e) {
+                        // 깨진 섹션은 건너뜀
+                    }
+                });
+                AiChatService.AiStream stream = aiChatService.openStream(AiPromptType.DETAIL, prompt, delta -> {
+                    notifyListener(() -> listener.onDetailDelta(delta));
+                    assembler.accept(delta);
+                });
+                // 클라이언트가 끊기면 남은 생성은 취소
+                listener.whenClosed(stream::cancel);
+                try {
+                    raw = stream.await(detailTimeoutMs);
+                } finally {
+                    if (!stream.isDone()) stream.cancel(); // 단계 타임아웃이 지나면 더 받을 필요 없음
+                }
+            }
+            raw = raw.replace("```", "").trim();
 
             DetailOut out = objectMapper.readValue(raw, DetailOut.class);
 
@@ -879,11 +909,16 @@ public class AnalysisService {
                     .toList();
 
             if (sections.isEmpty()) {
+                aiMetrics.recordResult(AiPromptType.DETAIL, AiMetrics.Result.FALLBACK);
                 sections = fallbackSections(reasonAccess, reasonBudget, reasonMenu);
+            } else {
+                aiMetrics.recordResult(AiPromptType.DETAIL, AiMetrics.Result.SUCCESS);
             }
             return new AnalysisResponse.DetailAnalysis(sections);
 
         } catch (Exception e) {
+            aiMetrics.recordResult(AiPromptType.DETAIL, (e instanceof JsonProcessingException)
+                    ? AiMetrics.Result.PARSE_FAIL : AiMetrics.Result.FALLBACK);
             return new AnalysisResponse.DetailAnalysis(
                     fallbackSections(reasonAccess, reasonBudget, reasonMenu)
             );
@@ -900,6 +935,12 @@ public class AnalysisService {
                 .orElse("");
     }
 
+    // 상세분석 단계가 타임아웃/실패했을 때 응답
+    private AnalysisResponse.DetailAnalysis fallbackDetailAnalysis(List<AnalysisResponse.ScoreInfo> scores) {
+        return new AnalysisResponse.DetailAnalysis(fallbackSections(
+                findReason(scores, "접근성"), findReason(scores, "예산 적합성"), findReason(scores, "메뉴 적합성")));
+    }
+
     // 파싱 실패/빈값 대비 상세분석 디폴트값
     private List<AnalysisResponse.DetailSection> fallbackSections(String r1, String r2, String r3) {
         return List.of(
@@ -977,99 +1018,8 @@ public class AnalysisService {
                 scores.get(2).score(), escapeForJson(scores.get(2).reason())
         );}
 
-    /**
-     * 클라이언트 대분류를 카카오 세부 카테고리까지 포괄하도록 확장.
-     * 분류: "카페/디저트", "치킨", "피자", "패스트푸드", "한식", "아시안", "양식", "중식", "일식" (피그마 내용 따랐습니다)
-     */
-    private List<String> expandCategoryKeywords(String category) {
-        String c = Optional.ofNullable(category).orElse("").toLowerCase();
-
-        // 각 대분류에 대응하는 세부 키워드 목록
-        Map<String, List<String>> bucket = new LinkedHashMap<>();
-
-        // 카페/디저트
-        bucket.put("카페/디저트", Arrays.asList(
-                "카페","커피전문점","디저트카페","제과,베이커리","제과","베이커리",
-                "갤러리카페","테마카페","무인카페","생과일전문점","전통찻집",
-                "아이스크림","빙수","디저트","도넛","브런치카페","커피"));
-
-        // 피자/치킨
-        bucket.put("피자/치킨", Arrays.asList(
-                "피자","치킨","닭강정","양념치킨"));
-
-        // 패스트푸드 (간편식 포함)
-        bucket.put("패스트푸드", Arrays.asList(
-                "햄버거","패스트푸드","핫도그","샌드위치","도시락","주먹밥",
-                "분식","김밥","떡볶이"));
-
-        // 한식 (국/찌개/고기/탕류 등 폭넓게 커버)
-        bucket.put("한식", Arrays.asList(
-                "한식","국밥","국수","칼국수","냉면",
-                "찌개,전골","찌개","전골","순대","감자탕","해장국",
-                "육류,고기","삼겹살","곱창,막창","곱창","막창","족발,보쌈","족발","보쌈",
-                "오리","삼계탕","매운탕,해물탕","매운탕","해물탕","해물,생선","해물","생선",
-                "죽","덮밥"));
-
-        // 아시안 (태국/베트남/인도 등 동남아/남아시아 계열)
-        bucket.put("아시안", Arrays.asList(
-                "아시안","아시아","태국","베트남","쌀국수","포","인도","카레",
-                "말레이","싱가포르","샤브샤브"));
-
-        // 양식 (이탈리안/스테이크/브라질, 멕시칸 포함 — JSON에 존재)
-        bucket.put("양식", Arrays.asList(
-                "양식","이탈리안","파스타","스테이크,립","스테이크","립",
-                "경양식","브런치","멕시칸,브라질","멕시칸","브라질"));
-
-        // 중식
-        bucket.put("중식", Arrays.asList(
-                "중식","중국","중국요리","마라","짬뽕","짜장면","훠궈"));
-
-        // 일식
-        bucket.put("일식", Arrays.asList(
-                "일식","돈까스,우동","돈까스","우동","라멘","라면","스시","초밥","퓨전일식","연어"));
-
-        // 주점/술집 (신규)
-        bucket.put("주점/술집", Arrays.asList(
-                "주점","실내포장마차","호프,요리주점","오뎅바","술집"));
-
-
-        // 입력 대분류에 따라 매칭 키워드 생성
-        Set<String> set = new LinkedHashSet<>();
-        if (!c.isBlank()) {
-            // 정확 일치 우선 (대분류 이름이 그대로 들어온 경우)
-            bucket.forEach((k, v) -> {
-                if (k.equalsIgnoreCase(c)) set.addAll(v);
-            });
-
-            // 혹시 사용자가 "카페" 같은 단어로만 보내는 경우도 커버(근데 아마 드랍다운으로 강제할거라 괜찮을듯. 이거 아래 if문까지도.
-            bucket.forEach((k, v) -> {
-                if (k.toLowerCase().contains(c) || c.contains(k.toLowerCase())) set.addAll(v);
-            });
-
-            // 그래도 비어있다면, 입력 자체를 키워드로 사용 (fallback)
-            if (set.isEmpty()) set.add(c);
-        }
-
-        // 항상 소문자 비교할 것이므로 소문자화
-        return set.stream().map(String::toLowerCase).distinct().toList();
-    }
-
-    // 교집합 키 (가능하면 placeId가 안정적)
-    private String keyOf(Restaurant r) {
-        if (r.getKakaoPlaceId() != null) return "id:" + r.getKakaoPlaceId();
-        return "name:" + normalize(r.getRestaurantName());
-    }
-
-    private String normalize(String s) {
-        return Optional.ofNullable(s).orElse("")
-                .replaceAll("\\s+", "")
-                .toLowerCase();
-    }
-
     private String escapeForJson(String s) {
         return Optional.ofNullable(s).orElse("")
                 .replace("\\", "\\\\").replace("\"", "\\\"");
     }
-
-    private String safeName(Restaurant r) { return Optional.ofNullable(r.getRestaurantName()).orElse("(이름없음)"); }
 }
\ No newline at end of file
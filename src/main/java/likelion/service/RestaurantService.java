@@ -1,19 +1,17 @@
 package likelion.service;
 
 import likelion.domain.entity.Restaurant;
-import likelion.repository.RestaurantRepository;
-import likelion.service.distance.DistanceCalc; // ★★★ 직접 계산을 위해 필요합니다 ★★★
+import likelion.service.spatial.RestaurantSpatialIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RestaurantService {
 
-    private final RestaurantRepository restaurantRepository;
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
 
 
     public List<Restaurant> getFilteredRestaurant(double latitude, double longitude) {
@@ -22,18 +20,7 @@ public class RestaurantService {
     }
 
     public List<Restaurant> getRestaurantsWithinRadius(double latitude, double longitude, int radius) {
-        // DB에서 모든 음식점을 가져오기
-        List<Restaurant> allRestaurants = restaurantRepository.findAll();
-
-        // Java Stream을 사용하여 반경 내에 있는 음식점만 필터링
-        return allRestaurants.stream()
-                .filter(restaurant -> {
-                    double distance = DistanceCalc.calculateDistance(
-                            latitude, longitude,
-                            restaurant.getLatitude(), restaurant.getLongitude()
-                    );
-                    return distance <= radius;
-                })
-                .collect(Collectors.toList());
+        // 공간 인덱스에서 반경 주변 셀만 조회 (매번 전체 테이블을 읽지 않음)
+        return restaurantSpatialIndex.withinRadius(latitude, longitude, radius);
     }
 }
\ No newline at end of file
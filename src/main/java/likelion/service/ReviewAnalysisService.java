@@ -0,0 +1,386 @@
+package likelion.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import likelion.domain.entity.Restaurant;
+import likelion.domain.entity.Review;
+import likelion.domain.entity.StoreCategory;
+import likelion.dto.AnalysisResponse;
+import likelion.event.RestaurantDataChangedEvent;
+import likelion.event.ReviewDataChangedEvent;
+import likelion.repository.ReviewRepository;
+import likelion.service.ai.AiMetrics;
+import likelion.service.ai.AiPromptType;
+import likelion.service.ai.PromptTemplate;
+import likelion.service.cache.AnalysisResultCache;
+import likelion.service.category.CategoryKeywords;
+import likelion.service.review.ReviewSelector;
+import likelion.service.spatial.RestaurantSpatialIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * 동종업계(같은 카테고리) 리뷰 분석
+ * - 결과는 요청 카테고리에만 의존하므로 카테고리별로 한 번 만들어 캐시에 둡니다.
+ * - 리뷰/식당 데이터가 바뀌면 백그라운드에서 다시 만들고, 그동안은 이전 값(stale)을 그대로 응답합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewAnalysisService {
+
+    // 고정 지시문이 앞, 카테고리/리뷰는 맨 뒤 (OpenAI 프롬프트 캐시)
+    private static final PromptTemplate REVIEW_PROMPT = PromptTemplate.compile(AiPromptType.REVIEW_FEEDBACK, """
+            # Role: Review analysis coach
+            # Task:
+            - You are analyzing reviews for the category given in [Category] below, in a **university-area** business context.
+            - From ALL reviews in [Reviews] below, pick about **4** samples that would most help a prospective owner.
+            - Then provide **concise, practical feedback** (in Korean) for running a successful business in this category and area.
+            
+            # Output rules (MUST):
+            - **Write ALL output in Korean.**
+            - Return **pure JSON only** (no code block, no extra text).
+            - For each item in "reviewSamples":
+              - Keep "storeName" as-is (가게명).
+              - "reviewScore" must be a number (0.0~5.0).
+              - "highlights" must be **an array with exactly ONE sentence** (1줄 요약, 평어체로).
+                - **Remove emojis/repeat chars like ㅋㅋ/ㅎㅎ/ㅠㅠ, URLs, hashtags, @mentions.**
+                - Normalize spacing/punctuation.
+                - Keep it within **80 characters** and end with a period.
+            - In "feedback":
+              - **어떤 가게 이름도 언급하지마**.
+              - 대학 상권을 기준으로 정보를 제공해줘** (예: 학생 피크타임 운영, 가성비/포션, 회전율, 소음/분위기, 연령대·모임 수요 등).
+              - 내가 준 모든 리뷰 내용을 고려하여 관련된 조언을 해주고(특히 reviewSamples에 나온 내용 관련해선 꼭 언급해줘).
+              - 한국인들의 친근감이 들 수 있게 친절한 상담사처럼 "~요"체로 말해줘.
+              - 내용이 너무 적으면 너가 서칭해서라도 관련 업계 팁을 최소 4줄 정도 채워줘.
+              - ****반드시 방학(비성수기) / 학기중(성수기) / 시험기간(성수기)의 유동인구 차이를 언급하고, 각 시기별 운영 전략과 팁을 위의 내용들에 추가해줘.(위의 내용들도 언급하고 이것은 추가 언급****
+            
+            # JSON schema:
+            {
+              "reviewSamples": [
+                {"storeName": "가게명", "reviewScore": 4.5, "highlights": ["한 줄 요약."]}
+              ],
+              "feedback": "종합 피드백"
+            }
+            """, "Category", "Reviews");
+
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
+    private final ReviewRepository reviewRepository;
+    private final AiChatService aiChatService;
+    private final ObjectMapper objectMapper;
+    private final ReviewSelector reviewSelector;
+    private final AiMetrics aiMetrics;
+    private final AnalysisResultCache analysisResultCache;
+    @Qualifier("analysisExecutor")
+    private final Executor analysisExecutor;
+
+    // 이 시간이 지난 값은 다음 조회 때 이전 값을 주면서 백그라운드 재생성
+    @Value("${analysis.review-cache.refresh-minutes:360}")
+    private long refreshMinutes;
+
+    // AI 실패로 기본 피드백이 들어간 값은 빨리 버리고 다시 만들기
+    @Value("${analysis.review-cache.degraded-ttl-minutes:2}")
+    private long degradedTtlMinutes;
+
+    // 서버 뜰 때 대분류 9개를 미리 만들어 둘지
+    @Value("${analysis.review-cache.warm-up:true}")
+    private boolean warmUp;
+
+    // 캐시 값 (degraded: AI 피드백 실패로 기본값이 들어간 결과)
+    private record CachedReview(AnalysisResponse.ReviewAnalysis analysis, boolean degraded) {}
+
+    private AsyncLoadingCache<String, CachedReview> cache;
+    // 빠른 모드용 로컬 통계 결과 (AI 없음, 데이터 바뀌면 비움)
+    private Cache<String, AnalysisResponse.ReviewAnalysis> localCache;
+
+    @PostConstruct
+    void initCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(64)
+                .refreshAfterWrite(Duration.ofMinutes(refreshMinutes))
+                .expireAfter(new Expiry<String, CachedReview>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedReview value, long currentTime) {
+                        return value.degraded() ? Duration.ofMinutes(degradedTtlMinutes).toNanos() : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedReview value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedReview value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .executor(analysisExecutor)
+                .recordStats()
+                .buildAsync(this::buildReviewAnalysis);
+        localCache = Caffeine.newBuilder()
+                .maximumSize(64)
+                .build();
+    }
+
+    /**
+     * 카테고리 리뷰 분석 조회.
+     * 캐시에 값이 있으면(오래된 값이어도) 바로 완료된 future, 처음이면 만들고 있는 future를 돌려줍니다.
+     * 돌려주는 건 캐시 future에서 파생된 future라서 호출 쪽에서 timeout 등으로 complete 해도 캐시엔 영향이 없습니다.
+     */
+    public CompletableFuture<AnalysisResponse.ReviewAnalysis> getReviewAnalysis(String targetCategory) {
+        return cache.get(keyOf(targetCategory)).thenApply(CachedReview::analysis);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    // 서버 시작 시 대분류별로 미리 생성 (분석 요청이 처음부터 캐시를 타도록)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUp) return;
+        for (StoreCategory category : StoreCategory.values()) {
+            cache.get(keyOf(category.getDisplayName()));
+        }
+    }
+
+    // 리뷰가 새로 들어오면(커밋 후) 이미 있는 카테고리들을 백그라운드에서 다시 생성
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewDataChanged(ReviewDataChangedEvent event) {
+        refreshAll();
+    }
+
+    // 식당 데이터가 바뀌면 카테고리별 가게 구성이 달라지므로 마찬가지로 재생성
+    @EventListener
+    public void onRestaurantDataChanged(RestaurantDataChangedEvent event) {
+        refreshAll();
+    }
+
+    private void refreshAll() {
+        localCache.invalidateAll();
+        // refresh는 새 값이 만들어질 때까지 기존 값을 계속 응답 (stale-while-revalidate)
+        // 그 사이에 끝난 분석은 이전 리뷰 분석이 들어간 결과라서, 재생성이 끝난 뒤 분석 결과 캐시를 한 번 더 비움
+        cache.synchronous().refreshAll(new ArrayList<>(cache.synchronous().asMap().keySet()))
+                .whenComplete((refreshed, error) -> analysisResultCache.invalidateAll());
+    }
+
+    private String keyOf(String targetCategory) {
+        return Optional.ofNullable(targetCategory).orElse("").trim();
+    }
+
+    /**
+     * 빠른 모드용 리뷰 분석 (AI 호출 없음)
+     * AI 분석 결과가 이미 캐시에 완성돼 있으면 그걸 그대로 쓰고,
+     * 없으면 리뷰 통계(평균 평점, 낮은 평점 비율)와 대표 리뷰 원문으로 만든 결과를 돌려줍니다.
+     */
+    public AnalysisResponse.ReviewAnalysis localReviewAnalysis(String targetCategory) {
+        String key = keyOf(targetCategory);
+        CompletableFuture<CachedReview> aiResult = cache.getIfPresent(key);
+        if (aiResult != null && aiResult.isDone() && !aiResult.isCompletedExceptionally()) {
+            return aiResult.join().analysis();
+        }
+        return localCache.get(key, this::buildLocalReviewAnalysis);
+    }
+
+    private AnalysisResponse.ReviewAnalysis buildLocalReviewAnalysis(String targetCategory) {
+        CategoryReviews collected = collectReviews(targetCategory);
+        if (collected.emptyResult() != null) {
+            return collected.emptyResult();
+        }
+        List<Review> base = collected.reviews();
+
+        // 대표 리뷰는 프롬프트용 선택 로직을 그대로 써서 여러 가게/평점대가 섞이게
+        List<AnalysisResponse.ReviewSample> samples = reviewSelector.select(base).reviews().stream()
+                .limit(4)
+                .map(r -> new AnalysisResponse.ReviewSample(
+                        Optional.ofNullable(r.getRestaurant()).map(Restaurant::getRestaurantName).orElse("(이름없음)"),
+                        ratingOf(r),
+                        List.of(snippet(r.getContent(), 80))
+                ))
+                .toList();
+
+        Double averageRating = averageRatingOf(base);
+        long rated = base.stream().filter(r -> r.getRating() != null).count();
+        long low = base.stream().filter(r -> r.getRating() != null && ratingOf(r) <= 2.0).count();
+        String stats = averageRating == null
+                ? String.format("유사업종 리뷰 %,d개를 기준으로 정리했어요. ", base.size())
+                : String.format("유사업종 리뷰 %,d개 기준 평균 평점은 %.1f점이고, 2점 이하 리뷰 비율은 %.0f%%예요. ",
+                base.size(), averageRating, rated == 0 ? 0.0 : low * 100.0 / rated);
+
+        return new AnalysisResponse.ReviewAnalysis(averageRating, samples, stats + DEFAULT_REVIEW_FEEDBACK);
+    }
+
+    // 카테고리 리뷰 수집 결과. 가게나 리뷰가 없으면 emptyResult에 바로 응답할 값이 들어감
+    private record CategoryReviews(List<Review> reviews, AnalysisResponse.ReviewAnalysis emptyResult) {}
+
+    private CategoryReviews collectReviews(String targetCategory) {
+        // 동종업계 가게 전부 수집
+        // 대분류에 걸리면 대분류별 목록에서 바로, 아니면(자유 입력) 전체에서 문자열 비교
+        String category = Optional.ofNullable(targetCategory).orElse("").trim();
+        int categoryMask = CategoryKeywords.resolve(category);
+        RestaurantSpatialIndex.Snapshot snapshot = restaurantSpatialIndex.snapshot();
+        List<Restaurant> sameCategoryAll = categoryMask != 0
+                ? snapshot.byCategories(categoryMask)
+                : snapshot.all().stream().filter(CategoryKeywords.restaurantMatcher(category)).toList();
+
+        if (sameCategoryAll.isEmpty()) {
+            return new CategoryReviews(List.of(), new AnalysisResponse.ReviewAnalysis(
+                    null,
+                    List.of(),
+                    "해당 카테고리의 가게가 없어 리뷰 기반 피드백을 제공하기 어렵습니다."
+            ));
+        }
+
+        // 동종업계 집합 만들고, placeId로 1차 리뷰 조회
+        Set<String> nameSet = sameCategoryAll.stream()
+                .map(Restaurant::getRestaurantName)
+                .filter(Objects::nonNull)
+                .map(this::normalizeName)
+                .collect(Collectors.toSet());
+
+        List<Long> ids = sameCategoryAll.stream()
+                .map(Restaurant::getKakaoPlaceId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        List<Review> reviews = ids.isEmpty()
+                ? List.of()
+                : reviewRepository.findAllByRestaurantKakaoPlaceIdInOrderByIdDesc(ids);
+
+        // placeId가 비어있는 데이터가 있다면, 이름 일치로 한 번 더 거르기(안전빵)
+        List<Review> sameNameReviews = reviews.stream()
+                .filter(r -> {
+                    String nm = Optional.ofNullable(r.getRestaurant())
+                            .map(Restaurant::getRestaurantName).orElse(null);
+                    return nm != null && nameSet.contains(normalizeName(nm));
+                })
+                .toList();
+
+        List<Review> base = sameNameReviews.isEmpty() ? reviews : sameNameReviews;
+        if (base.isEmpty()) {
+            return new CategoryReviews(List.of(), new AnalysisResponse.ReviewAnalysis(
+                    null,
+                    List.of(),
+                    "해당 카테고리의 리뷰 데이터가 없어 리뷰 기반 피드백을 제공하기 어렵습니다."
+            ));
+        }
+        return new CategoryReviews(base, null);
+    }
+
+    // 리뷰 분석 (캐시 로더에서 호출)
+    private CachedReview buildReviewAnalysis(String targetCategory) {
+        CategoryReviews collected = collectReviews(targetCategory);
+        if (collected.emptyResult() != null) {
+            return new CachedReview(collected.emptyResult(), false);
+        }
+        List<Review> base = collected.reviews();
+
+        // 카테고리 전체 평균 평점
+        Double averageRating = averageRatingOf(base);
+
+        // GPT한테 도움 되는 리뷰 4개, 피드백만 json으로 받아오기
+        // 리뷰는 한 줄로 정제하고 220자 넘는건 컷, 토큰 예산 안에서 여러 가게/평점대가 섞이도록 골라서 넘김
+        ReviewSelector.Selection selection = reviewSelector.select(base);
+        String lines = selection.lines();
+
+        String prompt = REVIEW_PROMPT.render(targetCategory, lines);
+
+        List<AnalysisResponse.ReviewSample> samples;
+        String feedback;
+        boolean degraded = false;
+        try {
+            String raw = aiChatService.getAnalysisResponseFromAI(AiPromptType.REVIEW_FEEDBACK, prompt)
+                    .replace("```", "").trim();
+
+            // GPT 응답 파싱용 임시 레코드
+            record Out(List<Map<String, Object>> reviewSamples, String feedback) {}
+            Out out = objectMapper.readValue(raw, Out.class);
+
+            // 안전 매핑: storeName, reviewScore, highlights
+            samples = Optional.ofNullable(out.reviewSamples())
+                    .orElse(List.of())
+                    .stream()
+                    .limit(4)
+                    .map(m -> {
+                        String store = String.valueOf(m.getOrDefault("storeName", "(이름없음)"));
+                        double score2;
+                        try { score2 = Double.parseDouble(String.valueOf(m.getOrDefault("reviewScore", 0.0))); }
+                        catch (Exception e) { score2 = 0.0; }
+                        @SuppressWarnings("unchecked")
+                        List<String> hl = (List<String>) m.getOrDefault("highlights", List.of());
+                        if (hl == null) hl = List.of();
+                        return new AnalysisResponse.ReviewSample(store, score2, hl);
+                    })
+                    .toList();
+
+            feedback = Optional.ofNullable(out.feedback()).orElse("리뷰를 바탕으로 운영 팁을 요약했습니다.");
+            aiMetrics.recordResult(AiPromptType.REVIEW_FEEDBACK, AiMetrics.Result.SUCCESS);
+        }
+        catch (Exception e) {
+            degraded = true;
+            aiMetrics.recordResult(AiPromptType.REVIEW_FEEDBACK, (e instanceof JsonProcessingException)
+                    ? AiMetrics.Result.PARSE_FAIL : AiMetrics.Result.FALLBACK);
+            // 파싱 실패 시: 단순 샘플 4개 + 기본 피드백
+            samples = base.stream().limit(4)
+                    .map(r -> new AnalysisResponse.ReviewSample(
+                            Optional.ofNullable(r.getRestaurant()).map(Restaurant::getRestaurantName).orElse("(이름없음)"),
+                            ratingOf(r),
+                            List.of(snippet(r.getContent(), 80))
+                    ))
+                    .toList();
+            feedback = DEFAULT_REVIEW_FEEDBACK;
+        }
+        return new CachedReview(new AnalysisResponse.ReviewAnalysis(
+                averageRating,
+                samples,
+                feedback
+        ), degraded);
+    }
+
+    // AI 피드백을 못 받았을 때 쓰는 기본 피드백
+    public static final String DEFAULT_REVIEW_FEEDBACK = "리뷰 내용을 참고해 메뉴 품질 일관성, 피크타임 대기 관리, 직원 응대 매뉴얼(인사/설명/불만 응대), 위생·청결체크리스트를 체계화하세요. 상권 피드백이 반복되는 항목은 우선순위로 개선하세요.";
+
+    // 리뷰 분석 단계가 타임아웃/실패했을 때 응답
+    public AnalysisResponse.ReviewAnalysis fallback() {
+        return new AnalysisResponse.ReviewAnalysis(null, List.of(), DEFAULT_REVIEW_FEEDBACK);
+    }
+
+    // 리뷰 로직 헬퍼
+    private Double averageRatingOf(List<Review> reviews) {
+        double avg = reviews.stream().map(Review::getRating).filter(Objects::nonNull).mapToDouble(java.math.BigDecimal::doubleValue).average().orElse(Double.NaN);
+        return Double.isNaN(avg) ? null : Math.round(avg * 10.0) / 10.0;
+    }
+    private double ratingOf(Review r) {
+        java.math.BigDecimal b = r.getRating();
+        return (b == null) ? 0.0 : b.doubleValue();
+    }
+    private String normalizeName(String s) {
+        return Optional.ofNullable(s).orElse("").replaceAll("\\s+", "").toLowerCase();
+    }
+    // 리뷰 내용 짧게 자르는 유틸
+    private String snippet(String s, int max) {
+        if (s == null) return "";
+        String oneLine = s.replaceAll("\\s+", " ").trim();
+        return oneLine.length() <= max ? oneLine : oneLine.substring(0, max) + "…";
+    }
+}
@@ -1,10 +1,12 @@
 package likelion.service;
 
 import likelion.domain.entity.Review;
+import likelion.event.ReviewDataChangedEvent;
 import likelion.jsondata.mapper.ReviewMapper;
 import likelion.jsondata.record.ReviewJson;
 import likelion.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,9 +18,11 @@ public class ReviewService {
 
     private final ReviewMapper reviewMapper;
     private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void ingest(List<ReviewJson> rows) {
+        int inserted = 0;
         for (ReviewJson j : rows) {
             Review entity = reviewMapper.map(j);
             Long placeId = entity.getRestaurant().getKakaoPlaceId();
@@ -30,7 +34,13 @@ public class ReviewService {
 
             if (!exists) {
                 reviewRepository.save(entity);
+                inserted++;
             }
         }
+
+        // 새로 들어간 리뷰가 있을 때만 (리뷰 분석 캐시는 커밋 후에 갱신됨)
+        if (inserted > 0) {
+            eventPublisher.publishEvent(new ReviewDataChangedEvent("ingest", inserted));
+        }
     }
 }
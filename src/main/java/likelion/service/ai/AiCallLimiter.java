@@ -0,0 +1,246 @@
+package likelion.service.ai;
+
+import likelion.exception.AiOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * OpenAI 호출 입장 제어
+ * - 토큰 버킷: 분당 requests-per-minute건, 순간적으로는 burst건까지
+ * - 호출 종류별 동시 호출 상한 (max-concurrent.*)
+ * - 바로 못 들어가면 우선순위 대기열(AiPromptType.priority, 같으면 먼저 온 순)에서 대기.
+ *   상한에 걸린 종류는 건너뛰고 다른 종류를 먼저 들여보냄
+ * - 대기열이 가득 찼거나 max-wait-ms 안에 못 들어가면 AiOverloadedException(503 + Retry-After)
+ */
+@Component
+public class AiCallLimiter {
+
+    private final boolean enabled;
+    private final double permitsPerNano;
+    private final double burst;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final Map<AiPromptType, Integer> maxConcurrent = new EnumMap<>(AiPromptType.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Waiter> queue = new TreeSet<>(
+            Comparator.comparingInt((Waiter w) -> w.type.priority()).thenComparingLong(w -> w.seq));
+    private final Map<AiPromptType, Integer> inFlight = new EnumMap<>(AiPromptType.class);
+    private double tokens;
+    private long refilledAt;
+    private long seq;
+    private long rejected;
+
+    public AiCallLimiter(@Value("${analysis.ai.limiter.enabled:true}") boolean enabled,
+                         @Value("${analysis.ai.limiter.requests-per-minute:300}") double requestsPerMinute,
+                         @Value("${analysis.ai.limiter.burst:20}") int burst,
+                         @Value("${analysis.ai.limiter.queue-capacity:50}") int queueCapacity,
+                         @Value("${analysis.ai.limiter.max-wait-ms:20000}") long maxWaitMs,
+                         @Value("${analysis.ai.limiter.max-concurrent.price:8}") int maxPrice,
+                         @Value("${analysis.ai.limiter.max-concurrent.menu-guess:8}") int maxMenuGuess,
+                         @Value("${analysis.ai.limiter.max-concurrent.review-feedback:4}") int maxReviewFeedback,
+                         @Value("${analysis.ai.limiter.max-concurrent.detail:12}") int maxDetail,
+                         @Value("${analysis.ai.limiter.max-concurrent.partnership-event:6}") int maxPartnershipEvent) {
+        this.enabled = enabled;
+        this.permitsPerNano = Math.max(1, requestsPerMinute) / TimeUnit.MINUTES.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        maxConcurrent.put(AiPromptType.PRICE, Math.max(1, maxPrice));
+        maxConcurrent.put(AiPromptType.MENU_GUESS, Math.max(1, maxMenuGuess));
+        maxConcurrent.put(AiPromptType.REVIEW_FEEDBACK, Math.max(1, maxReviewFeedback));
+        maxConcurrent.put(AiPromptType.DETAIL, Math.max(1, maxDetail));
+        maxConcurrent.put(AiPromptType.PARTNERSHIP_EVENT, Math.max(1, maxPartnershipEvent));
+        for (AiPromptType type : AiPromptType.values()) inFlight.put(type, 0);
+        this.tokens = this.burst;
+        this.refilledAt = nanoTime();
+    }
+
+    /**
+     * 호출 한 건 입장. 반환된 Permit은 호출이 끝나면 꼭 close() 해주세요.
+     * @throws AiOverloadedException 대기열이 가득 찼거나 대기 시간 안에 못 들어간 경우
+     */
+    public Permit acquire(AiPromptType type) throws InterruptedException {
+        if (!enabled) return new Permit(null);
+        lock.lock();
+        try {
+            if (queue.size() >= queueCapacity && !canStartNow(type)) {
+                throw reject();
+            }
+            Waiter waiter = new Waiter(type, seq++, lock.newCondition());
+            queue.add(waiter);
+            dispatch();
+
+            long deadline = nanoTime() + maxWaitNanos;
+            while (!waiter.granted) {
+                long remaining = deadline - nanoTime();
+                if (remaining <= 0) {
+                    queue.remove(waiter);
+                    throw reject();
+                }
+                try {
+                    // 토큰이 모자라면 다음 토큰이 찰 때 깨어나서 다시 배분, 동시 상한이면 release()가 깨움
+                    waiter.signal.awaitNanos(Math.min(remaining, nanosUntilNextToken()));
+                } catch (InterruptedException e) {
+                    if (waiter.granted) finish(type);
+                    else queue.remove(waiter);
+                    throw e;
+                }
+                if (!waiter.granted) dispatch();
+            }
+            return new Permit(type);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 대기열이 가득 찼으면 바로 503 (컨트롤러에서 AI가 필요한 요청을 받기 전에 확인) */
+    public void rejectIfSaturated() {
+        if (!enabled) return;
+        lock.lock();
+        try {
+            if (queue.size() >= queueCapacity) throw reject();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight(AiPromptType type) {
+        lock.lock();
+        try {
+            return inFlight.get(type);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejectedCount() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 테스트에서 시간 흐름을 바꿀 수 있도록 분리
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    // 입장 전에 다른 자원(호출 스레드풀 등)이 꽉 차서 거절할 때도 같은 503 + Retry-After로
+    public AiOverloadedException overloaded() {
+        lock.lock();
+        try {
+            return reject();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock을 잡은 상태에서만 호출
+    private AiOverloadedException reject() {
+        rejected++;
+        return new AiOverloadedException(retryAfterSeconds());
+    }
+
+    // 지금 대기열 + 1건이 토큰 속도로 빠지는 데 걸리는 시간(초), 1~60초
+    private long retryAfterSeconds() {
+        double seconds = (queue.size() + 1) / (permitsPerNano * TimeUnit.SECONDS.toNanos(1));
+        return Math.max(1, Math.min(60, (long) Math.ceil(seconds)));
+    }
+
+    private boolean canStartNow(AiPromptType type) {
+        refill();
+        return tokens >= 1 && inFlight.get(type) < maxConcurrent.get(type);
+    }
+
+    // 우선순위 순서대로, 토큰이 있고 자기 종류 상한에 안 걸린 대기자부터 입장
+    private void dispatch() {
+        refill();
+        Iterator<Waiter> it = queue.iterator();
+        while (it.hasNext() && tokens >= 1) {
+            Waiter waiter = it.next();
+            if (inFlight.get(waiter.type) >= maxConcurrent.get(waiter.type)) continue;
+            it.remove();
+            tokens -= 1;
+            inFlight.merge(waiter.type, 1, Integer::sum);
+            waiter.granted = true;
+            waiter.signal.signal();
+        }
+    }
+
+    private void refill() {
+        long now = nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+
+    private long nanosUntilNextToken() {
+        if (tokens >= 1) return Long.MAX_VALUE;
+        return (long) Math.ceil((1 - tokens) / permitsPerNano);
+    }
+
+    private void finish(AiPromptType type) {
+        inFlight.merge(type, -1, Integer::sum);
+        dispatch();
+    }
+
+    private void release(AiPromptType type) {
+        lock.lock();
+        try {
+            finish(type);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter {
+        final AiPromptType type;
+        final long seq;
+        final Condition signal;
+        boolean granted;
+
+        Waiter(AiPromptType type, long seq, Condition signal) {
+            this.type = type;
+            this.seq = seq;
+            this.signal = signal;
+        }
+    }
+
+    /** 입장권. close()는 여러 번 불러도 한 번만 반납 */
+    public final class Permit implements AutoCloseable {
+
+        private final AiPromptType type;
+        private boolean released;
+
+        private Permit(AiPromptType type) {
+            this.type = type;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (released || type == null) return;
+            released = true;
+            release(type);
+        }
+    }
+}
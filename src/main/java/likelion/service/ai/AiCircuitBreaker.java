@@ -0,0 +1,202 @@
+package likelion.service.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AI 호출 종류(AiPromptType)별 차단기
+ * - 최근 window건 중 실패(예외/타임아웃) 또는 slow-call-ms 초과 비율이 failure-ratio 이상이거나,
+ *   연속 실패가 consecutive-failures번이면 열림(open)
+ * - 열려 있는 동안 tryAcquire()가 REJECTED -> 호출하는 쪽은 OpenAI를 기다리지 않고 바로 기존 fallback 사용
+ * - open-seconds가 지나면 한 건만 보내보고(half-open), 성공하면 닫고 실패하면 다시 열림
+ * 호출마다 번호를 발급하고 결과도 번호와 같이 받아서, 열리기 전에 출발한 호출(hedge, 합류한 호출 포함)의
+ * 늦은 결과가 probe 대신 닫거나 새 집계로 섞이지 않게 합니다.
+ * 응답시간 분위수(p50/p90/p99)는 상태와 상관없이 최근 window건 기준으로 계속 집계합니다.
+ */
+@Component
+public class AiCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public record Snapshot(State state, int samples, double failureRate, long p50Ms, long p90Ms, long p99Ms) {
+    }
+
+    // tryAcquire() 결과: 차단됨, 바로 fallback
+    public static final long REJECTED = -1;
+
+    private final boolean enabled;
+    private final int windowSize;
+    private final int minSamples;
+    private final double failureRatio;
+    private final int consecutiveFailures;
+    private final long slowCallMs;
+    private final long openMs;
+
+    private final Map<AiPromptType, Circuit> circuits = new EnumMap<>(AiPromptType.class);
+
+    public AiCircuitBreaker(@Value("${analysis.ai.breaker.enabled:true}") boolean enabled,
+                            @Value("${analysis.ai.breaker.window:20}") int windowSize,
+                            @Value("${analysis.ai.breaker.min-samples:5}") int minSamples,
+                            @Value("${analysis.ai.breaker.failure-ratio:0.5}") double failureRatio,
+                            @Value("${analysis.ai.breaker.consecutive-failures:3}") int consecutiveFailures,
+                            @Value("${analysis.ai.breaker.slow-call-ms:30000}") long slowCallMs,
+                            @Value("${analysis.ai.breaker.open-seconds:30}") long openSeconds) {
+        this.enabled = enabled;
+        this.windowSize = Math.max(1, windowSize);
+        this.minSamples = Math.max(1, Math.min(minSamples, this.windowSize));
+        this.failureRatio = failureRatio;
+        this.consecutiveFailures = Math.max(1, consecutiveFailures);
+        this.slowCallMs = slowCallMs;
+        this.openMs = openSeconds * 1000;
+        for (AiPromptType type : AiPromptType.values()) {
+            circuits.put(type, new Circuit());
+        }
+    }
+
+    /**
+     * 이번 호출을 OpenAI로 보내도 되면 호출 번호(0 이상), 차단됐으면 REJECTED(바로 fallback).
+     * 결과는 이 번호와 같이 onSuccess/onFailure로 기록해주세요.
+     */
+    public long tryAcquire(AiPromptType type) {
+        if (!enabled) return 0;
+        return circuits.get(type).tryAcquire();
+    }
+
+    public void onSuccess(AiPromptType type, long ticket, long elapsedMs) {
+        circuits.get(type).record(ticket, elapsedMs, elapsedMs > slowCallMs, false);
+    }
+
+    public void onFailure(AiPromptType type, long ticket, long elapsedMs) {
+        circuits.get(type).record(ticket, elapsedMs, true, true);
+    }
+
+    public State state(AiPromptType type) {
+        return circuits.get(type).state();
+    }
+
+    /** 최근 응답시간 분위수(ms), 기록이 없으면 -1 */
+    public long percentileMs(AiPromptType type, double quantile) {
+        return circuits.get(type).percentile(quantile);
+    }
+
+    public Map<AiPromptType, Snapshot> snapshot() {
+        Map<AiPromptType, Snapshot> result = new LinkedHashMap<>();
+        circuits.forEach((type, circuit) -> result.put(type, circuit.snapshot()));
+        return result;
+    }
+
+    // 테스트에서 시간 흐름을 바꿀 수 있도록 분리
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private final class Circuit {
+
+        // 최근 결과 (true = 실패 또는 느린 호출). 열릴 때마다 초기화
+        private final boolean[] outcomes = new boolean[windowSize];
+        private int next;
+        private int count;
+        private int badCount;
+        private int failureStreak;
+
+        // 최근 응답시간. 상태와 상관없이 유지
+        private final long[] latencies = new long[windowSize];
+        private int latencyNext;
+        private int latencyCount;
+
+        private State state = State.CLOSED;
+        private long openedAt;
+        private long nextTicket;         // 다음에 발급할 호출 번호
+        private long closedSince;        // 마지막으로 닫힌 뒤 처음 발급한 번호 (이전 번호 결과는 무시)
+        private long probeTicket = REJECTED;
+        private long probeStartedAt;
+
+        synchronized long tryAcquire() {
+            if (state == State.CLOSED) return nextTicket++;
+            if (state == State.OPEN) {
+                if (now() - openedAt < openMs) return REJECTED;
+                state = State.HALF_OPEN;
+                probeTicket = REJECTED;
+            }
+            // probe 결과가 안 돌아오면(호출한 쪽이 중단된 경우, 진행 중인 호출에 합류한 경우 등) 열린 시간만큼 지난 뒤 다시 probe
+            if (probeTicket != REJECTED && now() - probeStartedAt < openMs) return REJECTED;
+            probeTicket = nextTicket++;
+            probeStartedAt = now();
+            return probeTicket;
+        }
+
+        synchronized void record(long ticket, long elapsedMs, boolean bad, boolean failed) {
+            if (!enabled || ticket == REJECTED) return;
+            latencies[latencyNext] = elapsedMs;
+            latencyNext = (latencyNext + 1) % latencies.length;
+            if (latencyCount < latencies.length) latencyCount++;
+
+            if (state == State.HALF_OPEN) {
+                if (ticket != probeTicket) return; // probe가 아닌 호출(열리기 전에 출발한 호출 등)의 결과
+                probeTicket = REJECTED;
+                if (bad) {
+                    open();
+                } else {
+                    state = State.CLOSED;
+                    closedSince = nextTicket;
+                    reset();
+                }
+                return;
+            }
+            if (state == State.OPEN) return; // 열리기 전에 출발한 호출의 늦은 결과
+            if (ticket < closedSince) return; // 닫히기 전에 출발한 호출
+
+            if (count == outcomes.length) {
+                if (outcomes[next]) badCount--;
+            } else {
+                count++;
+            }
+            outcomes[next] = bad;
+            if (bad) badCount++;
+            next = (next + 1) % outcomes.length;
+            failureStreak = failed ? failureStreak + 1 : 0;
+
+            if (failureStreak >= consecutiveFailures
+                    || (count >= minSamples && badCount >= failureRatio * count)) {
+                open();
+            }
+        }
+
+        synchronized State state() {
+            // 열린 시간이 지났으면 다음 호출은 probe로 통과하므로 half-open으로 보여줌
+            if (state == State.OPEN && now() - openedAt >= openMs) return State.HALF_OPEN;
+            return state;
+        }
+
+        synchronized long percentile(double quantile) {
+            if (latencyCount == 0) return -1;
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+        synchronized Snapshot snapshot() {
+            double failureRate = (count == 0) ? 0 : (double) badCount / count;
+            return new Snapshot(state(), latencyCount, failureRate, percentile(0.5), percentile(0.9), percentile(0.99));
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = now();
+            reset();
+        }
+
+        private void reset() {
+            next = 0;
+            count = 0;
+            badCount = 0;
+            failureStreak = 0;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package likelion.service.ai;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * AI 호출 hedging (꼬리 지연 줄이기)
+ * - 첫 호출이 그 종류의 최근 응답시간 분위수(기본 p90, AiCircuitBreaker 집계) 안에 안 끝나면 같은 호출을 한 번 더 보냄
+ * - 먼저 성공한 응답을 쓰고 나머지는 인터럽트로 취소 (OpenAI 클라이언트가 HTTP 호출까지 끊음)
+ * - 전체 예산: 호출 1건마다 budget-ratio만큼 적립, hedge 1건에 1 차감 -> 추가 호출은 장기적으로 budget-ratio 이하
+ * - 응답시간 기록이 없는 종류는 기준이 없으므로 hedge 없이 그대로 호출
+ * - 스레드풀(aiHedgeExecutor)이 꽉 차면 hedge 없이 호출한 스레드에서 바로 실행
+ */
+@Component
+public class AiHedger {
+
+    private final AiCircuitBreaker circuitBreaker;
+    private final boolean enabled;
+    private final double quantile;
+    private final long minDelayMs;
+    private final double budgetRatio;
+    private final double budgetBurst;
+    private final ExecutorService executor;
+
+    private double credit;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    public AiHedger(AiCircuitBreaker circuitBreaker,
+                    @Qualifier("aiHedgeExecutor") ThreadPoolTaskExecutor executor,
+                    @Value("${analysis.ai.hedge.enabled:true}") boolean enabled,
+                    @Value("${analysis.ai.hedge.quantile:0.9}") double quantile,
+                    @Value("${analysis.ai.hedge.min-delay-ms:1000}") long minDelayMs,
+                    @Value("${analysis.ai.hedge.budget-ratio:0.05}") double budgetRatio,
+                    @Value("${analysis.ai.hedge.budget-burst:2}") int budgetBurst) {
+        this.circuitBreaker = circuitBreaker;
+        this.enabled = enabled;
+        this.quantile = quantile;
+        this.minDelayMs = Math.max(0, minDelayMs);
+        this.budgetRatio = Math.max(0, budgetRatio);
+        this.budgetBurst = Math.max(1, budgetBurst);
+        this.executor = executor.getThreadPoolExecutor();
+    }
+
+    /**
+     * attempt를 실행하고, 늦으면 한 번 더 실행해서 먼저 성공한 결과 반환.
+     * 둘 다 실패하면 나중 실패를 그대로 던짐. 호출한 스레드가 인터럽트되면 두 호출 모두 취소.
+     */
+    public <T> T execute(AiPromptType type, Supplier<T> attempt) {
+        calls.incrementAndGet();
+        deposit();
+        long delayMs = hedgeDelayMs(type);
+        if (!enabled || delayMs < 0) return attempt.get();
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger();
+        Future<?> primary = submit(attempt, winner, pending, false);
+        if (primary == null) return attempt.get();
+        Future<?> hedge = null;
+        try {
+            try {
+                winner.get(delayMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException slow) {
+                if (!winner.isDone() && withdraw()) {
+                    hedge = submit(attempt, winner, pending, true);
+                    if (hedge != null) hedged.incrementAndGet();
+                    else refund();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // 아래 await에서 취소로 처리
+            } catch (ExecutionException e) {
+                // 아래 await에서 원래 예외로 다시 던짐
+            }
+            return await(winner);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) hedge.cancel(true);
+        }
+    }
+
+    /** hedge 기준 지연(ms). 기록이 없으면 -1 */
+    public long hedgeDelayMs(AiPromptType type) {
+        long observed = circuitBreaker.percentileMs(type, quantile);
+        return (observed < 0) ? -1 : Math.max(minDelayMs, observed);
+    }
+
+    public long callCount() {
+        return calls.get();
+    }
+
+    public long hedgedCount() {
+        return hedged.get();
+    }
+
+    // hedge가 첫 호출보다 먼저 성공한 횟수
+    public long hedgeWinCount() {
+        return hedgeWins.get();
+    }
+
+    // 스레드풀이 꽉 차서 거절되면 null
+    private <T> Future<?> submit(Supplier<T> attempt, CompletableFuture<T> winner, AtomicInteger pending, boolean isHedge) {
+        pending.incrementAndGet();
+        try {
+            return executor.submit(() -> {
+                try {
+                    T value = attempt.get();
+                    if (winner.complete(value) && isHedge) hedgeWins.incrementAndGet();
+                } catch (Throwable e) {
+                    // 다른 호출이 아직 돌고 있으면 그 결과를 기다림
+                    if (pending.decrementAndGet() == 0) winner.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            return null;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> winner) {
+        try {
+            return winner.get();
+        } catch (InterruptedException e) {
+            // single-flight에서 기다리던 호출자가 모두 빠진 경우
+            Thread.currentThread().interrupt();
+            throw new CancellationException("AI 호출 대기 중 취소됨");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private synchronized void deposit() {
+        credit = Math.min(budgetBurst, credit + budgetRatio);
+    }
+
+    private synchronized boolean withdraw() {
+        if (credit < 1) return false;
+        credit -= 1;
+        return true;
+    }
+
+    // hedge를 못 보냈으면 차감한 예산 되돌림
+    private synchronized void refund() {
+        credit = Math.min(budgetBurst, credit + 1);
+    }
+}
@@ -0,0 +1,69 @@
+package likelion.service.ai;
+
+import com.theokanning.openai.Usage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 호출 메트릭 (/actuator/prometheus)
+ * - ai.call (timer): AiChatService 호출 한 건, type + outcome(success/cache-hit/timeout/error/cancelled/breaker-open/overloaded)
+ * - ai.result (counter): 호출한 쪽에서 응답을 쓴 결과, type + outcome(success/parse-fail/fallback)
+ * - ai.tokens (counter): 응답 usage 토큰 수, type + kind(prompt/completion/cached). 스트리밍 호출은 usage가 없어서 빠짐
+ */
+@Component
+@RequiredArgsConstructor
+public class AiMetrics {
+
+    public enum CallOutcome { SUCCESS, CACHE_HIT, TIMEOUT, ERROR, CANCELLED, BREAKER_OPEN, OVERLOADED }
+
+    public enum Result { SUCCESS, PARSE_FAIL, FALLBACK }
+
+    private final MeterRegistry registry;
+
+    public void recordCall(AiPromptType type, CallOutcome outcome, long elapsedNanos) {
+        Timer.builder("ai.call")
+                .description("AiChatService 호출 시간")
+                .tag("type", tag(type))
+                .tag("outcome", tag(outcome))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResult(AiPromptType type, Result result) {
+        Counter.builder("ai.result")
+                .description("AI 응답 사용 결과")
+                .tag("type", tag(type))
+                .tag("outcome", tag(result))
+                .register(registry)
+                .increment();
+    }
+
+    public void recordTokens(AiPromptType type, Usage usage) {
+        if (usage == null) return;
+        tokens(type, "prompt", usage.getPromptTokens());
+        tokens(type, "completion", usage.getCompletionTokens());
+        if (usage instanceof PromptCacheUsage detailed) tokens(type, "cached", detailed.cachedTokens());
+    }
+
+    private void tokens(AiPromptType type, String kind, long amount) {
+        Counter.builder("ai.tokens")
+                .description("OpenAI 응답 usage 토큰 수")
+                .baseUnit("tokens")
+                .tag("type", tag(type))
+                .tag("kind", kind)
+                .register(registry)
+                .increment(amount);
+    }
+
+    // PARSE_FAIL -> parse-fail
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,23 @@
+package likelion.service.ai;
+
+/**
+ * AI 호출 종류. 종류마다 차단기(AiCircuitBreaker)와 동시 호출 상한(AiCallLimiter)을 따로 둡니다.
+ * priority: 호출 대기열에서 낮을수록 먼저 (사용자가 화면에서 기다리는 호출이 백그라운드 생성보다 먼저)
+ */
+public enum AiPromptType {
+    PRICE(1),             // 대표메뉴 평균가 추정 { "avgPrice": n }
+    MENU_GUESS(2),        // 제휴 추천용 가게 대표메뉴 추측
+    REVIEW_FEEDBACK(3),   // 카테고리별 동종업계 리뷰 피드백 (대부분 캐시 워밍업/백그라운드 갱신)
+    DETAIL(0),            // 분석 상세 설명 섹션
+    PARTNERSHIP_EVENT(2); // 제휴 이벤트 제안
+
+    private final int priority;
+
+    AiPromptType(int priority) {
+        this.priority = priority;
+    }
+
+    public int priority() {
+        return priority;
+    }
+}
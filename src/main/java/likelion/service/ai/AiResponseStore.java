@@ -0,0 +1,240 @@
+package likelion.service.ai;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * AI 응답 디스크 캐시 (모델+프롬프트 sha256 키 -> 응답)
+ * - 인스턴스(blue/green)마다 자기 로그 파일(ai-responses-{serverName}.log)에만 append
+ * - 시작할 때 디렉터리의 모든 로그를 읽고, 메모리에 없는 키는 다른 인스턴스 로그에 새로 붙은 줄을 이어 읽어서 확인
+ * - 줄 형식: 만료시각(ms) \t 키 \t base64(응답). 중간에 끊긴 줄은 건너뜀
+ * - 메모리 보관 개수(max-entries)를 넘으면 오래 안 쓴 것부터 제거, 자기 로그가 max-file-mb를 넘으면 살아있는 항목만 다시 씀(compaction)
+ * 캐시라서 디스크 오류는 로그만 남기고 캐시 없이 동작합니다.
+ */
+@Component
+public class AiResponseStore {
+
+    private static final String PREFIX = "ai-responses-";
+    private static final String SUFFIX = ".log";
+
+    private final boolean enabled;
+    private final Path dir;
+    private final Path ownFile;
+    private final long ttlMs;
+    private final long maxFileBytes;
+    private final long refreshMs;
+
+    // 접근 순서 LRU. 모든 접근은 this로 동기화
+    private final LinkedHashMap<String, Entry> entries;
+    // 다른 인스턴스 로그를 어디까지 읽었는지 (compaction으로 파일이 바뀌면 처음부터 다시)
+    private final Map<Path, ReadPosition> positions = new HashMap<>();
+
+    private boolean available;
+    private FileChannel appender;
+    private long ownBytes;
+    private long lastRefreshAt;
+
+    public AiResponseStore(@Value("${analysis.ai.disk-cache.enabled:true}") boolean enabled,
+                           @Value("${analysis.ai.disk-cache.dir:./ai-cache/}") String dir,
+                           @Value("${serverName:local_server}") String instanceName,
+                           @Value("${analysis.ai.disk-cache.ttl-hours:168}") long ttlHours,
+                           @Value("${analysis.ai.disk-cache.max-entries:5000}") int maxEntries,
+                           @Value("${analysis.ai.disk-cache.max-file-mb:50}") long maxFileMb,
+                           @Value("${analysis.ai.disk-cache.refresh-seconds:10}") long refreshSeconds) {
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.ownFile = this.dir.resolve(PREFIX + instanceName.replaceAll("[^A-Za-z0-9_-]", "_") + SUFFIX);
+        this.ttlMs = ttlHours * 3_600_000L;
+        this.maxFileBytes = maxFileMb * 1024 * 1024;
+        this.refreshMs = refreshSeconds * 1000;
+        int cap = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cap;
+            }
+        };
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) return;
+        try {
+            Files.createDirectories(dir);
+            if (Files.exists(ownFile)) readNewLines(ownFile, new ReadPosition());
+            refreshOthers();
+            // 지난 실행에서 쌓인 만료/중복 줄과 끊긴 마지막 줄 정리
+            compact();
+            available = true;
+            System.out.println("[AiResponseStore] loaded " + entries.size() + " entries from " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[AiResponseStore] disabled (" + dir + "): " + e.getMessage());
+            closeAppender();
+        }
+    }
+
+    /** 살아있는 응답이 있으면 반환, 없으면 null */
+    public synchronized String get(String key) {
+        if (!available) return null;
+        Entry entry = entries.get(key);
+        if (entry == null && now() - lastRefreshAt >= refreshMs) {
+            // 다른 인스턴스가 그 사이 저장했을 수 있음
+            try {
+                refreshOthers();
+            } catch (IOException e) {
+                System.err.println("[AiResponseStore] refresh failed: " + e.getMessage());
+            }
+            entry = entries.get(key);
+        }
+        if (entry == null) return null;
+        if (entry.expiresAt() <= now()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(String key, String value) {
+        if (!available || value == null || value.isBlank()) return;
+        Entry entry = new Entry(value, now() + ttlMs);
+        entries.put(key, entry);
+        try {
+            ownBytes += appender.write(ByteBuffer.wrap(line(key, entry)));
+            if (ownBytes > maxFileBytes) compact();
+        } catch (IOException e) {
+            System.err.println("[AiResponseStore] disabled after write failure: " + e.getMessage());
+            available = false;
+            closeAppender();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long fileBytes() {
+        return ownBytes;
+    }
+
+    /** 만료 안 된 메모리 항목만 임시 파일에 쓰고 자기 로그와 교체 */
+    public synchronized void compact() throws IOException {
+        closeAppender();
+        long now = now();
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+
+        Path tmp = dir.resolve(ownFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                out.write(ByteBuffer.wrap(line(e.getKey(), e.getValue())));
+            }
+        }
+        Files.move(tmp, ownFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openAppender();
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private void openAppender() throws IOException {
+        appender = FileChannel.open(ownFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        ownBytes = appender.size();
+    }
+
+    private void closeAppender() {
+        if (appender == null) return;
+        try {
+            appender.close();
+        } catch (IOException ignored) {
+        }
+        appender = null;
+    }
+
+    private void refreshOthers() throws IOException {
+        lastRefreshAt = now();
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path log : logs) {
+                if (log.equals(ownFile)) continue;
+                readNewLines(log, positions.computeIfAbsent(log, p -> new ReadPosition()));
+            }
+        }
+    }
+
+    // 마지막으로 읽은 위치 이후의 완성된 줄만 반영 (쓰는 중인 마지막 줄은 다음에)
+    private void readNewLines(Path log, ReadPosition pos) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(log, BasicFileAttributes.class);
+        Object fileKey = attrs.fileKey();
+        if (attrs.size() < pos.offset || (fileKey != null && !Objects.equals(fileKey, pos.fileKey))) {
+            pos.offset = 0;
+        }
+        pos.fileKey = fileKey;
+        if (attrs.size() == pos.offset) return;
+
+        byte[] bytes;
+        try (FileChannel in = FileChannel.open(log, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8, in.size() - pos.offset));
+            while (buf.hasRemaining() && in.read(buf, pos.offset + buf.position()) > 0) {
+                // 끝까지 읽기
+            }
+            bytes = new byte[buf.position()];
+            buf.flip().get(bytes);
+        }
+
+        long now = now();
+        int start = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') continue;
+            apply(new String(bytes, start, i - start, StandardCharsets.UTF_8), now);
+            start = i + 1;
+        }
+        pos.offset += start;
+    }
+
+    private void apply(String line, long now) {
+        String[] parts = line.split("\t", 3);
+        if (parts.length != 3) return;
+        try {
+            long expiresAt = Long.parseLong(parts[0]);
+            if (expiresAt <= now) return;
+            Entry current = entries.get(parts[1]);
+            if (current != null && current.expiresAt() >= expiresAt) return; // 더 최근 값 유지
+            String value = new String(Base64.getDecoder().decode(parts[2]), StandardCharsets.UTF_8);
+            entries.put(parts[1], new Entry(value, expiresAt));
+        } catch (IllegalArgumentException ignored) {
+            // 깨진 줄 (쓰다가 종료된 경우 등)
+        }
+    }
+
+    private static byte[] line(String key, Entry entry) {
+        String encoded = Base64.getEncoder().encodeToString(entry.value().getBytes(StandardCharsets.UTF_8));
+        return (entry.expiresAt() + "\t" + key + "\t" + encoded + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+
+    private static final class ReadPosition {
+        long offset;
+        Object fileKey;
+    }
+}
@@ -0,0 +1,107 @@
+package likelion.service.ai;
+
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍으로 조각조각 들어오는 JSON에서, 최상위 객체의 배열 필드(예: "sections") 원소를
+ * 하나씩 완성되는 대로 원문 JSON 문자열로 넘겨주는 조립기
+ * - 문자열/이스케이프 안의 괄호는 무시하고, 원소(객체/배열)의 괄호가 닫히는 순간 onElement 호출
+ * - 코드블록 표시(```json) 같은 JSON 밖의 글자는 무시
+ * 스레드 안전하지 않으므로 한 스트림의 조각은 순서대로 한 스레드에서 넣어 주세요.
+ */
+public class JsonArrayAssembler {
+
+    private final String field;
+    private final Consumer<String> onElement;
+
+    private int depth;             // 현재 괄호 깊이 (최상위 객체 안 = 1)
+    private boolean inString;
+    private boolean escaped;
+    private final StringBuilder key = new StringBuilder(); // 최상위 객체에서 마지막으로 읽은 문자열
+    private boolean keyIsField;    // 방금 읽은 키가 field인지 (':' 다음 '['를 기다림)
+    private boolean afterColon;
+    private boolean inArray;       // field 배열 안 (깊이 2)
+    private boolean finished;      // 배열이 닫힘
+    private StringBuilder element; // 조립 중인 원소
+    private int emitted;
+
+    public JsonArrayAssembler(String field, Consumer<String> onElement) {
+        this.field = field;
+        this.onElement = onElement;
+    }
+
+    public void accept(CharSequence delta) {
+        if (delta == null) return;
+        for (int i = 0; i < delta.length() && !finished; i++) {
+            next(delta.charAt(i));
+        }
+    }
+
+    // 지금까지 넘긴 원소 개수
+    public int emittedCount() {
+        return emitted;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private void next(char ch) {
+        if (element != null) element.append(ch);
+
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (ch == '\\') {
+                escaped = true;
+            } else if (ch == '"') {
+                inString = false;
+                if (depth == 1) keyIsField = key.toString().equals(field);
+                return;
+            }
+            if (depth == 1) key.append(ch);
+            return;
+        }
+
+        switch (ch) {
+            case '"' -> {
+                inString = true;
+                if (depth == 1) {
+                    key.setLength(0);
+                    afterColon = false;
+                }
+            }
+            case ':' -> {
+                if (depth == 1) afterColon = true;
+            }
+            case '{', '[' -> {
+                if (depth == 1 && ch == '[' && keyIsField && afterColon) {
+                    inArray = true;
+                } else if (inArray && depth == 2) {
+                    element = new StringBuilder().append(ch);
+                }
+                depth++;
+            }
+            case '}', ']' -> {
+                depth--;
+                if (inArray && depth == 2 && element != null) {
+                    String json = element.toString();
+                    element = null;
+                    emitted++;
+                    onElement.accept(json);
+                } else if (inArray && depth == 1) {
+                    inArray = false;
+                    finished = true;
+                }
+            }
+            case ',' -> {
+                if (depth == 1) {
+                    keyIsField = false;
+                    afterColon = false;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package likelion.service.ai;
+
+import com.theokanning.openai.Usage;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 호출 종류별 프롬프트 토큰 / 캐시된 토큰 누적 (OpenAI 자동 프롬프트 캐시가 실제로 맞고 있는지 확인용)
+ * 스트리밍 호출은 0.18.2 클라이언트가 usage를 받지 않아서 집계에서 빠집니다.
+ */
+@Component
+public class PromptCacheStats {
+
+    public record Snapshot(long calls, long promptTokens, long cachedTokens, double cachedRatio) {
+    }
+
+    private final Map<AiPromptType, long[]> totals = new EnumMap<>(AiPromptType.class);
+
+    public PromptCacheStats() {
+        for (AiPromptType type : AiPromptType.values()) {
+            totals.put(type, new long[3]); // calls, promptTokens, cachedTokens
+        }
+    }
+
+    public void record(AiPromptType type, Usage usage) {
+        if (usage == null) return;
+        long cached = (usage instanceof PromptCacheUsage detailed) ? detailed.cachedTokens() : 0;
+        long[] t = totals.get(type);
+        synchronized (t) {
+            t[0]++;
+            t[1] += usage.getPromptTokens();
+            t[2] += cached;
+        }
+    }
+
+    public Snapshot snapshot(AiPromptType type) {
+        long[] t = totals.get(type);
+        synchronized (t) {
+            double ratio = (t[1] == 0) ? 0 : (double) t[2] / t[1];
+            return new Snapshot(t[0], t[1], t[2], ratio);
+        }
+    }
+
+    public Map<AiPromptType, Snapshot> snapshot() {
+        Map<AiPromptType, Snapshot> result = new LinkedHashMap<>();
+        for (AiPromptType type : AiPromptType.values()) {
+            result.put(type, snapshot(type));
+        }
+        return result;
+    }
+}
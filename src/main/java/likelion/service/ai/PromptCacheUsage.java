@@ -0,0 +1,28 @@
+package likelion.service.ai;
+
+import com.theokanning.openai.Usage;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 응답 usage + prompt_tokens_details.cached_tokens
+ * openai-gpt3-java 0.18.2의 Usage에는 캐시 토큰 필드가 없어서, OpenAiConfig에서 Usage를 이 클래스로 읽도록 등록합니다.
+ * (필드 이름은 클라이언트 ObjectMapper의 snake_case 설정으로 매핑)
+ */
+@Getter
+@Setter
+public class PromptCacheUsage extends Usage {
+
+    private PromptTokensDetails promptTokensDetails;
+
+    // 캐시에서 처리된 프롬프트 토큰 수 (응답에 없으면 0)
+    public long cachedTokens() {
+        return (promptTokensDetails == null) ? 0 : promptTokensDetails.getCachedTokens();
+    }
+
+    @Getter
+    @Setter
+    public static class PromptTokensDetails {
+        private long cachedTokens;
+    }
+}
@@ -0,0 +1,81 @@
+package likelion.service.ai;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 긴 프롬프트용 템플릿 (OpenAI 자동 프롬프트 캐시 대응)
+ * - 고정 지시문(prefix)은 한 번만 정리해 두고, 요청마다 바뀌는 값은 항상 맨 뒤 [라벨] 블록으로만 붙임
+ *   -> 같은 종류의 프롬프트는 앞부분이 바이트 단위로 똑같아서 OpenAI가 캐시된 토큰으로 처리
+ * - 지시문 안에 %s 같은 자리표시자가 있으면 compile 단계에서 바로 예외 (값이 앞쪽에 끼어드는 것 방지)
+ * 서비스에서 static final 상수로 만들어 두면 애플리케이션 시작 시 한 번만 컴파일됩니다.
+ */
+public final class PromptTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("%(\\d+\\$)?[-#+0,(]*\\d*(\\.\\d+)?[sdfSn]");
+
+    private final AiPromptType type;
+    private final String prefix;
+    private final List<String> labels;
+    private final int prefixTokens;
+
+    private PromptTemplate(AiPromptType type, String prefix, List<String> labels) {
+        this.type = type;
+        this.prefix = prefix;
+        this.labels = labels;
+        this.prefixTokens = TokenEstimator.estimate(prefix);
+    }
+
+    /**
+     * @param instructions 고정 지시문 (요청마다 바뀌는 값 금지)
+     * @param labels       뒤에 붙일 가변 블록 이름, render()에 같은 순서로 값을 넘김
+     */
+    public static PromptTemplate compile(AiPromptType type, String instructions, String... labels) {
+        if (instructions == null || instructions.isBlank()) {
+            throw new IllegalArgumentException(type + " 프롬프트 지시문이 비어 있습니다.");
+        }
+        if (PLACEHOLDER.matcher(instructions).find()) {
+            throw new IllegalArgumentException(type + " 프롬프트 지시문에 자리표시자가 있습니다. 가변 값은 labels로 넘겨주세요.");
+        }
+        PromptTemplate template = new PromptTemplate(type, normalize(instructions), List.of(labels));
+        System.out.println("[PromptTemplate] " + type + " prefix ~" + template.prefixTokens + " tokens, "
+                + template.labels.size() + " variable blocks");
+        return template;
+    }
+
+    /** 고정 prefix + [라벨] 블록들. 값 개수는 labels와 같아야 함 */
+    public String render(Object... values) {
+        if (values.length != labels.size()) {
+            throw new IllegalArgumentException(type + " 프롬프트 값 개수가 맞지 않습니다. (" + values.length + "/" + labels.size() + ")");
+        }
+        StringBuilder sb = new StringBuilder(prefix.length() + 256).append(prefix);
+        for (int i = 0; i < values.length; i++) {
+            String value = (values[i] == null) ? "" : values[i].toString().strip();
+            sb.append('\n').append('[').append(labels.get(i)).append("]\n").append(value).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public AiPromptType type() {
+        return type;
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    // 고정 prefix 추정 토큰 수 (OpenAI는 1024토큰 이상 프롬프트부터 캐시)
+    public int prefixTokens() {
+        return prefixTokens;
+    }
+
+    // 들여쓰기 정리, 줄 끝 공백 제거, 줄바꿈 통일 후 마지막 줄바꿈 1개로 끝나게
+    private static String normalize(String instructions) {
+        String text = instructions.replace("\r\n", "\n").stripIndent().strip();
+        StringBuilder sb = new StringBuilder(text.length() + 1);
+        for (String line : text.split("\n", -1)) {
+            sb.append(line.stripTrailing()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package likelion.service.ai;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 호출을 upstream 호출 1번으로 합치는 single-flight
+ * - 처음 온 호출이 executor에 실제 호출을 올리고, 이후 같은 키 호출은 그 결과를 같이 기다림
+ * - 기다리는 쪽은 각자 타임아웃으로 빠져나감 (느린 호출 하나가 다른 대기자를 붙잡지 않음)
+ * - 대기자가 모두 빠져나가면 upstream 호출을 취소(interrupt)
+ * - 끝난 호출은 바로 맵에서 빠짐 (결과 캐시가 아님, 진행 중인 호출만 공유)
+ */
+public class SingleFlight<T> {
+
+    private final ConcurrentHashMap<String, Flight<T>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    private final AtomicLong calls = new AtomicLong();     // upstream 실제 호출 수
+    private final AtomicLong coalesced = new AtomicLong(); // 진행 중인 호출에 합류한 수
+
+    public SingleFlight(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * key로 진행 중인 호출이 있으면 합류하고, 없으면 call을 새로 실행합니다.
+     * @throws TimeoutException     timeoutMs 안에 결과가 안 오면 (이 대기자만 빠짐)
+     * @throws ExecutionException   upstream 호출이 실패하면 (원인은 getCause)
+     * @throws CancellationException 대기자가 모두 빠져서 호출이 취소된 경우
+     */
+    public T execute(String key, Supplier<T> call, long timeoutMs)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        Flight<T> flight = join(key, call);
+        boolean done = false;
+        try {
+            T value = flight.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+            done = true;
+            return value;
+        } catch (ExecutionException e) {
+            done = true;
+            throw e;
+        } finally {
+            // 타임아웃/인터럽트로 먼저 빠지는 경우: 마지막 대기자면 upstream 취소
+            if (!done) leave(key, flight);
+        }
+    }
+
+    // 진행 중인 호출에 합류하거나 새로 시작 (취소 중인 호출에는 합류하지 않음)
+    private Flight<T> join(String key, Supplier<T> call) {
+        while (true) {
+            Flight<T> created = new Flight<>();
+            Flight<T> existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                calls.incrementAndGet();
+                start(key, created, call);
+                return created;
+            }
+            if (existing.tryAcquire()) {
+                coalesced.incrementAndGet();
+                return existing;
+            }
+            // 대기자가 0이 되어 취소 중인 호출 -> 맵에서 치우고 다시 시도
+            inFlight.remove(key, existing);
+        }
+    }
+
+    private void start(String key, Flight<T> flight, Supplier<T> call) {
+        flight.result.whenComplete((v, e) -> inFlight.remove(key, flight));
+        try {
+            flight.task = executor.submit(() -> {
+                try {
+                    flight.result.complete(call.get());
+                } catch (Throwable e) {
+                    flight.result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) { // executor 거절 등
+            flight.result.completeExceptionally(e);
+        }
+    }
+
+    private void leave(String key, Flight<T> flight) {
+        if (flight.release()) {
+            flight.result.cancel(false);
+            Future<?> task = flight.task;
+            if (task != null) task.cancel(true);
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long callCount() {
+        return calls.get();
+    }
+
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    // 모델 + 프롬프트 -> sha256 hex 키
+    public static String keyOf(String model, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256은 모든 JVM에 있음
+        }
+    }
+
+    private static final class Flight<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger(1);
+        volatile Future<?> task;
+
+        // 대기자가 남아 있을 때만 합류 (0이면 이미 취소 중)
+        boolean tryAcquire() {
+            while (true) {
+                int n = waiters.get();
+                if (n <= 0) return false;
+                if (waiters.compareAndSet(n, n + 1)) return true;
+            }
+        }
+
+        // 마지막 대기자였으면 true
+        boolean release() {
+            return waiters.decrementAndGet() == 0;
+        }
+    }
+}
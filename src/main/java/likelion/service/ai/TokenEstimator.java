@@ -0,0 +1,25 @@
+package likelion.service.ai;
+
+/**
+ * 프롬프트 토큰 수 로컬 추정 (토크나이저 없이 문자 종류로 근사)
+ * - 영문/숫자/기호(ASCII): 약 4글자당 1토큰
+ * - 한글 음절 등 그 외 문자: 1글자당 1토큰 (GPT-4o 기준 실제보다 약간 크게 잡히는 쪽)
+ * 예산 안에 넣는 용도라서 실제보다 작게 추정되지 않도록 보수적으로 계산합니다.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) return 0;
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) ascii++;
+            else if (!Character.isLowSurrogate(ch)) other++; // 이모지 등 서로게이트 쌍은 1글자로
+        }
+        return (ascii + 3) / 4 + other;
+    }
+}
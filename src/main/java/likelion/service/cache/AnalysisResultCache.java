@@ -0,0 +1,160 @@
+package likelion.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import likelion.dto.AnalysisRequest;
+import likelion.dto.AnalysisResponse;
+import likelion.event.RealEstateDataChangedEvent;
+import likelion.event.RestaurantDataChangedEvent;
+import likelion.event.ReviewDataChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 분석 결과 전체 캐시
+ * - 거의 같은 조건(같은 건물 좌표, 카테고리, 층, 예산대)으로 반복되는 분석을 AI 호출 없이 바로 응답하기 위함
+ * - 키는 요청을 정규화한 값: 좌표는 작은 격자로 스냅, 예산/보증금/메뉴가격은 구간 단위로 반올림, 문자열은 공백/대소문자 정리
+ * - 식당/리뷰/매물 데이터가 바뀌면 전부 비웁니다.
+ *   리뷰 분석은 백그라운드에서 다시 만들어지므로 ReviewAnalysisService가 재생성을 끝낸 뒤에도 한 번 더 비웁니다.
+ */
+@Component
+public class AnalysisResultCache {
+
+    private static final double METERS_PER_DEG_LAT = Math.toRadians(1) * 6371000;
+
+    private final Cache<Key, AnalysisResponse> cache;
+    private final boolean enabled;
+    private final double gridDeg;
+    private final int budgetStep;
+    private final int depositStep;
+    private final int menuPriceStep;
+
+    // 데이터 변경 세대. 분석 시작 후 데이터가 바뀌었으면 그 결과는 저장하지 않음
+    private final AtomicLong generation = new AtomicLong();
+
+    // 정규화된 요청 (좌표는 격자 번호)
+    record Key(long latCell, long lonCell, String category, String marketingArea,
+               int budgetMin, int budgetMax, int depositMin, int depositMax,
+               String managementMethod, String menuName, int menuPrice,
+               int sizeMin, int sizeMax, int height) {}
+
+    public AnalysisResultCache(@Value("${analysis.result-cache.enabled:true}") boolean enabled,
+                               @Value("${analysis.result-cache.max-size:500}") long maxSize,
+                               @Value("${analysis.result-cache.ttl-minutes:60}") long ttlMinutes,
+                               @Value("${analysis.result-cache.grid-m:10}") double gridM,
+                               @Value("${analysis.result-cache.budget-step:10}") int budgetStep,
+                               @Value("${analysis.result-cache.deposit-step:100}") int depositStep,
+                               @Value("${analysis.result-cache.menu-price-step:100}") int menuPriceStep) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        // 위도/경도 모두 같은 각도 간격으로 자름 (서울 위도에서 경도 방향은 약 0.8배 길이)
+        this.gridDeg = gridM / METERS_PER_DEG_LAT;
+        this.budgetStep = Math.max(1, budgetStep);
+        this.depositStep = Math.max(1, depositStep);
+        this.menuPriceStep = Math.max(1, menuPriceStep);
+    }
+
+    // 분석 시작 시점의 세대 (put 할 때 같이 넘김)
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public AnalysisResponse get(AnalysisRequest request) {
+        if (!enabled) return null;
+        Key key = keyOf(request);
+        return key == null ? null : cache.getIfPresent(key);
+    }
+
+    public void put(AnalysisRequest request, AnalysisResponse response, long startedGeneration) {
+        if (!enabled || response == null) return;
+        Key key = keyOf(request);
+        if (key == null) return;
+        cache.put(key, response);
+        // put 직전에 데이터가 바뀌었으면 방금 넣은 값도 이전 데이터 기준이므로 제거
+        if (generation.get() != startedGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onRestaurantDataChanged(RestaurantDataChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewDataChanged(ReviewDataChangedEvent event) {
+        invalidateAll();
+    }
+
+    // 매물 데이터가 바뀌면 예산 적합성(예상 임대료)이 달라짐
+    @EventListener
+    public void onRealEstateDataChanged(RealEstateDataChangedEvent event) {
+        invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // 요청 -> 정규화 키 (좌표 파싱이 안 되면 null: 캐시 안 씀)
+    Key keyOf(AnalysisRequest request) {
+        double latitude;
+        double longitude;
+        try {
+            String[] parts = request.addr().split(",");
+            latitude = Double.parseDouble(parts[0].trim());
+            longitude = Double.parseDouble(parts[1].trim());
+        } catch (Exception e) {
+            return null;
+        }
+        AnalysisRequest.MinMax budget = request.budget();
+        AnalysisRequest.MinMax deposit = request.deposit();
+        AnalysisRequest.MinMax size = request.size();
+        return new Key(
+                Math.round(latitude / gridDeg),
+                Math.round(longitude / gridDeg),
+                text(request.category()),
+                text(request.marketingArea()),
+                bucket(budget == null ? null : budget.min(), budgetStep),
+                bucket(budget == null ? null : budget.max(), budgetStep),
+                bucket(deposit == null ? null : deposit.min(), depositStep),
+                bucket(deposit == null ? null : deposit.max(), depositStep),
+                text(request.managementMethod()),
+                text(request.representativeMenuName()),
+                bucket(request.representativeMenuPrice(), menuPriceStep),
+                size == null || size.min() == null ? -1 : size.min(),
+                size == null || size.max() == null ? -1 : size.max(),
+                request.height() == null ? Integer.MIN_VALUE : request.height()
+        );
+    }
+
+    private static String text(String s) {
+        return Optional.ofNullable(s).orElse("").replaceAll("\\s+", "").toLowerCase();
+    }
+
+    // 구간 단위 반올림 (미입력은 -1)
+    private static int bucket(Integer value, int step) {
+        if (value == null) return -1;
+        return Math.round(value / (float) step) * step;
+    }
+}
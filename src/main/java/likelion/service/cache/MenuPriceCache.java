@@ -0,0 +1,67 @@
+package likelion.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 대표메뉴 대학가 평균가(AI 추정값) 캐시
+ * - 키: 공백 제거 + 소문자화한 메뉴명 ("아메리카노", "국밥" ...)
+ * - 평균가는 며칠 단위로는 거의 안 바뀌어서 TTL을 길게 두고, 크기 초과 시 오래 안 쓴 것부터 제거
+ */
+@Component
+public class MenuPriceCache {
+
+    // 1인 메뉴 평균가로 말이 되는 범위(원). 밖의 값(0원, 9999999원 등)은 캐싱하지 않음
+    public static final int MIN_PRICE = 500;
+    public static final int MAX_PRICE = 200_000;
+
+    private final Cache<String, Integer> cache;
+
+    public MenuPriceCache(@Value("${analysis.menu-price-cache.max-size:1000}") long maxSize,
+                          @Value("${analysis.menu-price-cache.ttl-hours:72}") long ttlHours) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .recordStats()
+                .build();
+    }
+
+    public static String normalize(String menuName) {
+        return Optional.ofNullable(menuName).orElse("").replaceAll("\\s+", "").toLowerCase();
+    }
+
+    public Integer get(String menuName) {
+        String key = normalize(menuName);
+        return key.isEmpty() ? null : cache.getIfPresent(key);
+    }
+
+    public void put(String menuName, int avgPrice) {
+        String key = normalize(menuName);
+        if (key.isEmpty() || !isPlausible(avgPrice)) return;
+        cache.put(key, avgPrice);
+    }
+
+    public static boolean isPlausible(int avgPrice) {
+        return avgPrice >= MIN_PRICE && avgPrice <= MAX_PRICE;
+    }
+
+    // 백업 평균가 테이블로 미리 채워두기 (이 메뉴들은 AI 호출 없이 바로 응답)
+    public void seed(Map<String, Integer> table) {
+        table.forEach(this::put);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,193 @@
+package likelion.service.category;
+
+import likelion.domain.entity.Restaurant;
+import likelion.domain.entity.StoreCategory;
+
+import java.util.*;
+
+/**
+ * 카카오 카테고리 문자열 분류기
+ * - CategoryKeywords의 키워드 목록 전체를 Aho-Corasick 오토마톤(전이표까지 미리 계산한 DFA) 하나로 컴파일해 두고,
+ *   문자열을 한 번만 훑으면서 걸리는 모든 분류를 비트마스크로 돌려줍니다. (분류할 때 객체 생성 없음)
+ * - 비트 0~8: StoreCategory ordinal 순서의 대분류, 그 위로 제휴 추천용 카페/음식점 구분 비트
+ * - 결과는 기존 "소문자화 후 키워드 contains" 방식과 동일합니다.
+ */
+public final class CategoryClassifier {
+
+    // 제휴 추천용 비트 (StoreCategory 비트 다음부터)
+    public static final int PARTNER_CAFE = 1 << StoreCategory.values().length;
+    public static final int PARTNER_FOOD = PARTNER_CAFE << 1;
+    public static final int SIMPLE_CAFE = PARTNER_CAFE << 2;
+
+    private static final Automaton AUTOMATON = compile();
+
+    private CategoryClassifier() {
+    }
+
+    public static int bit(StoreCategory category) {
+        return 1 << category.ordinal();
+    }
+
+    public static boolean has(int mask, StoreCategory category) {
+        return (mask & bit(category)) != 0;
+    }
+
+    // 원본 카테고리 문자열 -> 걸리는 분류 비트마스크 (null/빈 문자열은 0)
+    public static int classify(String rawCategory) {
+        if (rawCategory == null) return 0;
+        return AUTOMATON.scan(rawCategory);
+    }
+
+    /**
+     * 대표 대분류: 걸린 대분류 중 키워드가 원문에서 가장 앞에 나온 것 ("음식점 > 아시아음식 > 베트남음식 > 쌀국수" -> 아시안)
+     * 카카오 카테고리는 "큰 분류 > 작은 분류" 순이라 앞쪽이 업종을 더 잘 나타냅니다. 같은 위치면 StoreCategory 선언 순서
+     */
+    public static StoreCategory primary(String rawCategory) {
+        int mask = classify(rawCategory);
+        if (mask == 0) return null;
+        String c = rawCategory.toLowerCase();
+        StoreCategory best = null;
+        int bestPos = Integer.MAX_VALUE;
+        for (StoreCategory category : StoreCategory.values()) {
+            if (!has(mask, category)) continue;
+            for (String k : CategoryKeywords.keywords(category)) {
+                int pos = c.indexOf(k);
+                if (pos >= 0 && pos < bestPos) {
+                    bestPos = pos;
+                    best = category;
+                }
+            }
+        }
+        return best;
+    }
+
+    // 식당의 분류 비트마스크 (저장된 값이 있으면 그대로, 백필 전이면 원문을 바로 분류)
+    public static int maskOf(Restaurant restaurant) {
+        Integer saved = restaurant.getCategoryMask();
+        return saved != null ? saved : classify(restaurant.getCategory());
+    }
+
+    // 원문 카테고리 기준으로 분류 컬럼들을 채움. 값이 바뀌었으면 true (백필에서 바뀐 것만 저장하려고)
+    public static boolean applyTo(Restaurant restaurant) {
+        int mask = classify(restaurant.getCategory());
+        StoreCategory primary = primary(restaurant.getCategory());
+        boolean cafe = (mask & PARTNER_CAFE) != 0;
+        boolean food = (mask & PARTNER_FOOD) != 0;
+
+        boolean changed = !Objects.equals(restaurant.getCategoryMask(), mask)
+                || restaurant.getStoreCategory() != primary
+                || !Objects.equals(restaurant.getCafe(), cafe)
+                || !Objects.equals(restaurant.getFood(), food);
+        restaurant.setCategoryMask(mask);
+        restaurant.setStoreCategory(primary);
+        restaurant.setCafe(cafe);
+        restaurant.setFood(food);
+        return changed;
+    }
+
+    private static Automaton compile() {
+        Map<String, Integer> patterns = new LinkedHashMap<>();
+        CategoryKeywords.BUCKETS.forEach((category, keywords) ->
+                keywords.forEach(k -> patterns.merge(k.toLowerCase(), bit(category), (a, b) -> a | b)));
+        CategoryKeywords.PARTNER_CAFE.forEach(k -> patterns.merge(k.toLowerCase(), PARTNER_CAFE, (a, b) -> a | b));
+        CategoryKeywords.PARTNER_FOOD.forEach(k -> patterns.merge(k.toLowerCase(), PARTNER_FOOD, (a, b) -> a | b));
+        CategoryKeywords.SIMPLE_CAFE.forEach(k -> patterns.merge(k.toLowerCase(), SIMPLE_CAFE, (a, b) -> a | b));
+        return Automaton.build(patterns);
+    }
+
+    /**
+     * 패턴 -> 비트 매핑을 컴파일한 오토마톤.
+     * 키워드에 쓰인 문자만 알파벳으로 압축하고(그 외 문자는 전부 0번), 상태 x 알파벳 전이표를 채워둡니다.
+     */
+    static final class Automaton {
+
+        private final short[] charIndex; // char -> 알파벳 번호 (0: 키워드에 없는 문자)
+        private final int alphabetSize;
+        private final int[] delta;       // state * alphabetSize + 알파벳 번호 -> 다음 상태
+        private final int[] output;      // 상태에 도달했을 때 매칭된 비트 (fail 링크 쪽 출력까지 합친 값)
+
+        private Automaton(short[] charIndex, int alphabetSize, int[] delta, int[] output) {
+            this.charIndex = charIndex;
+            this.alphabetSize = alphabetSize;
+            this.delta = delta;
+            this.output = output;
+        }
+
+        static Automaton build(Map<String, Integer> patterns) {
+            // 1) 알파벳 압축
+            short[] charIndex = new short[Character.MAX_VALUE + 1];
+            int alphabetSize = 1;
+            for (String p : patterns.keySet()) {
+                for (int i = 0; i < p.length(); i++) {
+                    char ch = p.charAt(i);
+                    if (charIndex[ch] == 0) charIndex[ch] = (short) alphabetSize++;
+                }
+            }
+
+            // 2) 트라이
+            List<int[]> children = new ArrayList<>();
+            List<Integer> out = new ArrayList<>();
+            children.add(new int[alphabetSize]);
+            out.add(0);
+            for (Map.Entry<String, Integer> e : patterns.entrySet()) {
+                String p = e.getKey();
+                int state = 0;
+                for (int i = 0; i < p.length(); i++) {
+                    int a = charIndex[p.charAt(i)];
+                    int next = children.get(state)[a];
+                    if (next == 0) {
+                        next = children.size();
+                        children.add(new int[alphabetSize]);
+                        out.add(0);
+                        children.get(state)[a] = next;
+                    }
+                    state = next;
+                }
+                out.set(state, out.get(state) | e.getValue());
+            }
+
+            // 3) BFS로 fail 링크를 따라 전이표 완성 (없는 전이는 fail 상태의 전이로 채움)
+            int states = children.size();
+            int[] delta = new int[states * alphabetSize];
+            int[] output = new int[states];
+            int[] fail = new int[states];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+            output[0] = out.get(0);
+            for (int a = 0; a < alphabetSize; a++) {
+                int next = children.get(0)[a];
+                delta[a] = next;
+                if (next != 0) {
+                    fail[next] = 0;
+                    queue.add(next);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int s = queue.poll();
+                output[s] = out.get(s) | output[fail[s]];
+                for (int a = 0; a < alphabetSize; a++) {
+                    int next = children.get(s)[a];
+                    if (next != 0) {
+                        fail[next] = delta[fail[s] * alphabetSize + a];
+                        delta[s * alphabetSize + a] = next;
+                        queue.add(next);
+                    } else {
+                        delta[s * alphabetSize + a] = delta[fail[s] * alphabetSize + a];
+                    }
+                }
+            }
+            return new Automaton(charIndex, alphabetSize, delta, output);
+        }
+
+        int scan(String text) {
+            int state = 0;
+            int mask = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char ch = Character.toLowerCase(text.charAt(i));
+                state = delta[state * alphabetSize + charIndex[ch]];
+                mask |= output[state];
+            }
+            return mask;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package likelion.service.category;
+
+import likelion.domain.entity.Restaurant;
+import likelion.domain.entity.StoreCategory;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 업종 대분류 -> 카카오 세부 카테고리 키워드 매핑
+ * 분석(접근성 경쟁사 필터), 리뷰 분석(동종업계 리뷰 수집), 제휴 추천(카페/음식점 구분)에서 같이 사용
+ * 실제 문자열 매칭은 CategoryClassifier가 이 목록들을 한 번에 컴파일해서 처리합니다.
+ */
+public final class CategoryKeywords {
+
+    private CategoryKeywords() {
+    }
+
+    /**
+     * 각 대분류에 대응하는 세부 키워드 목록 (소문자)
+     * 분류: "카페/디저트", "피자/치킨", "패스트푸드", "한식", "아시안", "양식", "중식", "일식", "주점/술집" (피그마 내용 따랐습니다)
+     */
+    static final Map<StoreCategory, List<String>> BUCKETS;
+
+    static {
+        Map<StoreCategory, List<String>> bucket = new EnumMap<>(StoreCategory.class);
+
+        // 카페/디저트
+        bucket.put(StoreCategory.CAFE_DESSERT, List.of(
+                "카페","커피전문점","디저트카페","제과,베이커리","제과","베이커리",
+                "갤러리카페","테마카페","무인카페","생과일전문점","전통찻집",
+                "아이스크림","빙수","디저트","도넛","브런치카페","커피"));
+
+        // 피자/치킨
+        bucket.put(StoreCategory.PIZZA_CHICKEN, List.of(
+                "피자","치킨","닭강정","양념치킨"));
+
+        // 패스트푸드 (간편식 포함)
+        bucket.put(StoreCategory.FAST_FOOD, List.of(
+                "햄버거","패스트푸드","핫도그","샌드위치","도시락","주먹밥",
+                "분식","김밥","떡볶이"));
+
+        // 한식 (국/찌개/고기/탕류 등 폭넓게 커버)
+        bucket.put(StoreCategory.KOREAN, List.of(
+                "한식","국밥","국수","칼국수","냉면",
+                "찌개,전골","찌개","전골","순대","감자탕","해장국",
+                "육류,고기","삼겹살","곱창,막창","곱창","막창","족발,보쌈","족발","보쌈",
+                "오리","삼계탕","매운탕,해물탕","매운탕","해물탕","해물,생선","해물","생선",
+                "죽","덮밥"));
+
+        // 아시안 (태국/베트남/인도 등 동남아/남아시아 계열)
+        bucket.put(StoreCategory.ASIAN, List.of(
+                "아시안","아시아","태국","베트남","쌀국수","포","인도","카레",
+                "말레이","싱가포르","샤브샤브"));
+
+        // 양식 (이탈리안/스테이크/브라질, 멕시칸 포함 — JSON에 존재)
+        bucket.put(StoreCategory.WESTERN, List.of(
+                "양식","이탈리안","파스타","스테이크,립","스테이크","립",
+                "경양식","브런치","멕시칸,브라질","멕시칸","브라질"));
+
+        // 중식
+        bucket.put(StoreCategory.CHINESE, List.of(
+                "중식","중국","중국요리","마라","짬뽕","짜장면","훠궈"));
+
+        // 일식
+        bucket.put(StoreCategory.JAPANESE, List.of(
+                "일식","돈까스,우동","돈까스","우동","라멘","라면","스시","초밥","퓨전일식","연어"));
+
+        // 주점/술집 (신규)
+        bucket.put(StoreCategory.BAR_ALCOHOL, List.of(
+                "주점","실내포장마차","호프,요리주점","오뎅바","술집"));
+
+        BUCKETS = Collections.unmodifiableMap(bucket);
+    }
+
+    // 제휴 추천: 카페로 보는 키워드 (PartnershipService.isCafeCategory)
+    static final List<String> PARTNER_CAFE = List.of(
+            "카페", "커피", "베이커리", "제과", "디저트", "빙수", "도넛", "브런치");
+
+    // 제휴 추천: 음식점으로 보는 키워드 (PartnershipService.isFoodCategory)
+    static final List<String> PARTNER_FOOD = List.of(
+            "한식", "중식", "일식", "양식", "아시안", "분식", "국밥", "칼국수", "면", "라멘", "초밥", "돈까스", "치킨", "피자", "파스타", "탕", "찌개", "덮밥", "도시락");
+
+    // 제휴 추천 간단 업종: 카페로 보는 키워드 (PartnershipService.toSimpleType, 아이스크림 포함)
+    static final List<String> SIMPLE_CAFE = List.of(
+            "카페", "커피", "디저트", "베이커리", "제과", "아이스크림", "빙수", "도넛", "브런치");
+
+    public static List<String> keywords(StoreCategory category) {
+        return BUCKETS.getOrDefault(category, List.of());
+    }
+
+    /**
+     * 클라이언트가 보낸 대분류 -> 해당하는 대분류들의 비트마스크 (CategoryClassifier.bit 기준)
+     * - 대분류 이름이 그대로 들어온 경우 + "카페"처럼 일부만 보낸 경우(서로 포함 관계)까지 커버
+     * - 아무 대분류에도 안 걸리면 0
+     */
+    public static int resolve(String category) {
+        String c = Optional.ofNullable(category).orElse("").toLowerCase();
+        if (c.isBlank()) return 0;
+
+        int mask = 0;
+        for (StoreCategory k : BUCKETS.keySet()) {
+            String name = k.getDisplayName().toLowerCase();
+            if (name.equals(c) || name.contains(c) || c.contains(name)) mask |= CategoryClassifier.bit(k);
+        }
+        return mask;
+    }
+
+    /**
+     * 사용자 대분류로 식당 카카오 카테고리를 거르는 조건.
+     * 대분류에 걸리면 분류기 비트마스크 비교(문자열 한 번 훑기), 안 걸리면 입력 자체를 키워드로 사용(fallback)
+     */
+    public static Predicate<String> matcher(String category) {
+        int mask = resolve(category);
+        if (mask != 0) {
+            return raw -> (CategoryClassifier.classify(raw) & mask) != 0;
+        }
+        String c = Optional.ofNullable(category).orElse("").toLowerCase();
+        if (c.isBlank()) return raw -> false;
+        return raw -> Optional.ofNullable(raw).orElse("").toLowerCase().contains(c);
+    }
+
+    // matcher와 같은 조건을 식당에 적용 (저장된 분류 비트가 있으면 문자열을 다시 훑지 않음)
+    public static Predicate<Restaurant> restaurantMatcher(String category) {
+        int mask = resolve(category);
+        if (mask != 0) {
+            return r -> (CategoryClassifier.maskOf(r) & mask) != 0;
+        }
+        Predicate<String> raw = matcher(category);
+        return r -> raw.test(r.getCategory());
+    }
+}
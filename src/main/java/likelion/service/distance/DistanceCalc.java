@@ -2,6 +2,17 @@ package likelion.service.distance;
 
 public class DistanceCalc {
     private static final double EARTH_RADIUS = 6371000;
+    private static final double METERS_PER_DEG_LAT = Math.toRadians(1) * EARTH_RADIUS;
+
+    /**
+     * 근사 거리(approxDistance)의 최대 상대 오차.
+     * 두 점 거리 5km 이하에서 haversine 대비 실측 최대 오차는 위도에 따라 커집니다.
+     * 적도 6e-9, 37°(서비스 지역) 2.2e-8, 60° 9e-8, 69~70° 2e-7 -> 가장 나쁜 경우보다 5배 여유를 두고 1e-6으로 잡았습니다.
+     * (1km에서 1mm). 위도 |70°| 초과나 5km 초과면 근사를 쓰지 않고 바로 haversine으로 계산합니다.
+     */
+    public static final double APPROX_MAX_REL_ERROR = 1e-6;
+    private static final double APPROX_MAX_DISTANCE_M = 5000;
+    private static final double APPROX_MAX_ABS_LAT = 70;
 
     public static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
         // 위도, 경도를 라디안 값으로 변환
@@ -24,4 +35,94 @@ public class DistanceCalc {
         // 지구 반지름을 곱해서 거리 계산 (단위: 미터)
         return EARTH_RADIUS * c;
     }
+
+    /**
+     * 등장방형(equirectangular) 근사 거리(m). 두 점의 평균 위도로 경도 차이를 줄여서 평면 거리로 계산합니다.
+     * cos 한 번 + sqrt 한 번이라 haversine보다 훨씬 싸고, 5km 이하에서는 오차가 APPROX_MAX_REL_ERROR 이내입니다.
+     */
+    public static double approxDistance(double lat1, double lon1, double lat2, double lon2) {
+        double x = Math.toRadians(lon2 - lon1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = Math.toRadians(lat2 - lat1);
+        return EARTH_RADIUS * Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * 한 점(origin)에서 좌표 배열 전체까지의 haversine 거리(m)를 out에 채웁니다.
+     * origin 쪽 라디안/cos은 한 번만 계산하고, 값은 calculateDistance와 같습니다. (out 길이는 lats 이상)
+     */
+    public static void distances(double originLat, double originLon, double[] lats, double[] lons, double[] out) {
+        double lat1Rad = Math.toRadians(originLat);
+        double cosLat1 = Math.cos(lat1Rad);
+        double lon1Rad = Math.toRadians(originLon);
+        for (int i = 0; i < lats.length; i++) {
+            double lat2Rad = Math.toRadians(lats[i]);
+            double sinDLat = Math.sin((lat2Rad - lat1Rad) / 2);
+            double sinDLon = Math.sin((Math.toRadians(lons[i]) - lon1Rad) / 2);
+            double a = sinDLat * sinDLat + cosLat1 * Math.cos(lat2Rad) * sinDLon * sinDLon;
+            out[i] = EARTH_RADIUS * (2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a)));
+        }
+    }
+
+    public static Radius radius(double originLat, double originLon, double radiusM) {
+        return new Radius(originLat, originLon, radiusM);
+    }
+
+    /**
+     * 한 점 기준 반경 판정기. 같은 origin/반경으로 여러 점을 검사할 때 사용합니다.
+     * 1) 위경도 박스 밖이면 바로 제외 (뺄셈/비교만)
+     * 2) 근사 거리가 반경보다 오차 한도 이상 작거나 크면 그걸로 판정
+     * 3) 경계 근처(오차 한도 안)만 haversine으로 정확히 계산
+     * 결과는 calculateDistance(...) <= radiusM 과 같습니다.
+     */
+    public static final class Radius {
+
+        private final double originLat;
+        private final double originLon;
+        private final double radiusM;
+        private final double minLat, maxLat, minLon, maxLon;
+        private final boolean approximate; // 근사 오차 한도가 보장되는 범위인지
+        private final double innerM;       // 근사 거리가 이 이하면 확실히 안
+        private final double outerM;       // 근사 거리가 이 초과면 확실히 밖
+
+        private Radius(double originLat, double originLon, double radiusM) {
+            this.originLat = originLat;
+            this.originLon = originLon;
+            this.radiusM = radiusM;
+
+            double dLat = radiusM / METERS_PER_DEG_LAT;
+            // 박스 안에서 가장 고위도 기준 cos (경도 1도가 가장 짧은 곳) -> 박스가 반경 원을 항상 덮음
+            double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(originLat) + dLat)));
+            double dLon = radiusM / (METERS_PER_DEG_LAT * Math.max(cosLat, 1e-6));
+            // 부동소수 오차로 경계 점을 잘못 빼지 않도록 박스는 살짝 넉넉하게
+            double pad = 1 + APPROX_MAX_REL_ERROR;
+            this.minLat = originLat - dLat * pad;
+            this.maxLat = originLat + dLat * pad;
+            this.minLon = originLon - dLon * pad;
+            this.maxLon = originLon + dLon * pad;
+
+            // 박스 안 점은 반경의 약 1.5배 안쪽이므로, 그 거리까지 근사 오차 한도가 보장될 때만 근사 사용
+            this.approximate = radiusM * 2 <= APPROX_MAX_DISTANCE_M && Math.abs(originLat) + dLat <= APPROX_MAX_ABS_LAT;
+            this.innerM = radiusM * (1 - APPROX_MAX_REL_ERROR);
+            this.outerM = radiusM * (1 + APPROX_MAX_REL_ERROR);
+        }
+
+        public double radiusM() {
+            return radiusM;
+        }
+
+        // 위경도 박스 안인지 (박스 밖이면 반경 밖이 확실)
+        public boolean inBoundingBox(double lat, double lon) {
+            return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+        }
+
+        public boolean contains(double lat, double lon) {
+            if (!inBoundingBox(lat, lon)) return false;
+            if (approximate) {
+                double approx = approxDistance(originLat, originLon, lat, lon);
+                if (approx <= innerM) return true;
+                if (approx > outerM) return false;
+            }
+            return calculateDistance(originLat, originLon, lat, lon) <= radiusM;
+        }
+    }
 }
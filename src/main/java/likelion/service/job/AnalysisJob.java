@@ -0,0 +1,95 @@
+package likelion.service.job;
+
+import likelion.dto.AnalysisRequest;
+import likelion.dto.AnalysisResponse;
+import likelion.service.AnalysisListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 비동기 분석 잡 하나의 상태
+ * - 분석 중에는 리스너 콜백으로 준비된 결과(점수/리뷰/상세)를 모아두고, 조회 시 부분 결과로 돌려줍니다.
+ * - 워커 스레드와 조회 요청 스레드가 동시에 접근하므로 상태 변경/읽기는 모두 synchronized
+ */
+public class AnalysisJob implements AnalysisListener {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final AnalysisRequest request;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private Status status = Status.QUEUED;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private final List<AnalysisResponse.ScoreInfo> scores = new ArrayList<>();
+    private AnalysisResponse.ReviewAnalysis reviewAnalysis;
+    private AnalysisResponse.DetailAnalysis detailAnalysis;
+    private AnalysisResponse result;
+    private String error;
+
+    AnalysisJob(String id, AnalysisRequest request) {
+        this.id = id;
+        this.request = request;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    AnalysisRequest getRequest() {
+        return request;
+    }
+
+    synchronized void markRunning() {
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    synchronized void markDone(AnalysisResponse response) {
+        status = Status.DONE;
+        result = response;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void markFailed(String message) {
+        status = Status.FAILED;
+        error = message;
+        finishedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public synchronized void onScore(AnalysisResponse.ScoreInfo score) {
+        scores.add(score);
+    }
+
+    @Override
+    public synchronized void onReviewAnalysis(AnalysisResponse.ReviewAnalysis reviewAnalysis) {
+        this.reviewAnalysis = reviewAnalysis;
+    }
+
+    @Override
+    public synchronized void onDetailAnalysis(AnalysisResponse.DetailAnalysis detailAnalysis) {
+        this.detailAnalysis = detailAnalysis;
+    }
+
+    // 조회 시점의 상태 (완료 전이면 지금까지 나온 부분 결과, 아직 안 나온 항목은 null)
+    public synchronized Snapshot snapshot() {
+        AnalysisResponse response = (result != null)
+                ? result
+                : new AnalysisResponse(List.copyOf(scores), reviewAnalysis, detailAnalysis);
+        return new Snapshot(id, status, createdAt, startedAt, finishedAt, response, error);
+    }
+
+    public record Snapshot(
+            String id,
+            Status status,
+            LocalDateTime createdAt,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            AnalysisResponse response,
+            String error
+    ) {}
+}
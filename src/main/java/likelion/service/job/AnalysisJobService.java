@@ -0,0 +1,102 @@
+package likelion.service.job;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import likelion.dto.AnalysisRequest;
+import likelion.exception.AiOverloadedException;
+import likelion.service.AnalysisService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * 비동기 분석 잡 관리
+ * - 잡 생성 시 워커 풀 큐에 넣고 id만 바로 반환 (요청 스레드는 분석을 기다리지 않음)
+ * - 잡은 메모리 캐시에 보관: 마지막 상태 변경 후 TTL이 지나거나 개수 상한을 넘으면 제거
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobService {
+
+    private final AnalysisService analysisService;
+    @Qualifier("analysisJobExecutor")
+    private final ThreadPoolTaskExecutor analysisJobExecutor;
+
+    @Value("${analysis.jobs.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${analysis.jobs.max-size:1000}")
+    private long maxSize;
+
+    private Cache<String, AnalysisJob> jobs;
+
+    @PostConstruct
+    void initStore() {
+        // 생성 시점부터 TTL, 완료되면 완료 시점부터 다시 TTL (run 참고)
+        long ttlNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+        jobs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, AnalysisJob>() {
+                    @Override
+                    public long expireAfterCreate(String key, AnalysisJob value, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, AnalysisJob value, long currentTime, long currentDuration) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, AnalysisJob value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // 잡 생성 + 실행 예약 (대기열이 꽉 차면 503)
+    public AnalysisJob.Snapshot submit(AnalysisRequest request) {
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), request);
+        jobs.put(job.getId(), job);
+        try {
+            analysisJobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.invalidate(job.getId());
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "분석 요청이 많아 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return job.snapshot();
+    }
+
+    public Optional<AnalysisJob.Snapshot> find(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(AnalysisJob::snapshot);
+    }
+
+    private void run(AnalysisJob job) {
+        job.markRunning();
+        try {
+            job.markDone(analysisService.analyze(job.getRequest(), job));
+        } catch (AiOverloadedException e) {
+            // 분석 풀이 꽉 차서 시작하지 못한 경우 (워커 스레드에서 대신 돌리지 않음)
+            job.markFailed("분석 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        } catch (Exception e) {
+            System.err.println("[WARN] analysis job " + job.getId() + " failed: " + e.getMessage());
+            job.markFailed("분석 중 오류가 발생했습니다.");
+        }
+        // 보관 TTL을 완료 시점부터 다시 계산 (이미 밀려난 잡이면 아무것도 안 함)
+        jobs.policy().expireVariably()
+                .ifPresent(expiry -> expiry.setExpiresAfter(job.getId(), Duration.ofMinutes(ttlMinutes)));
+    }
+}
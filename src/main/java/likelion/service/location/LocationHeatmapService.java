@@ -0,0 +1,168 @@
+package likelion.service.location;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import likelion.domain.entity.Restaurant;
+import likelion.dto.LocationHeatmapResponse;
+import likelion.service.category.CategoryKeywords;
+import likelion.service.distance.DistanceCalc;
+import likelion.service.spatial.RestaurantSpatialIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * 정문 주변 격자 전체에 대해 접근성 점수(LocationScoreRules)를 계산한 히트맵
+ * - 카테고리 식당만 모은 작은 공간 인덱스를 만들어서 칸마다 반경 50m 경쟁사 수를 셉니다.
+ * - 칸들은 행 단위로 쪼개 ForkJoin으로 병렬 계산
+ * - 결과는 (카테고리, 층, 격자 설정, 데이터 버전) 단위로 캐시. 식당 데이터가 바뀌면 버전이 달라져서 자연히 다시 계산됩니다.
+ */
+@Service
+public class LocationHeatmapService {
+
+    private static final double METERS_PER_DEG_LAT = Math.toRadians(1) * 6371000;
+    // 한 작업이 맡는 최소 행 수 (이보다 작으면 더 안 쪼갬)
+    private static final int ROWS_PER_TASK = 4;
+
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
+    private final Cache<Key, LocationHeatmapResponse> cache;
+    private final int defaultHalfSizeM;
+    private final int defaultCellM;
+    private final int maxCells;
+
+    private record Key(int categoryMask, String rawCategory, int floor, int halfSizeM, int cellM, long version) {}
+
+    public LocationHeatmapService(RestaurantSpatialIndex restaurantSpatialIndex,
+                                  @Value("${analysis.heatmap.half-size-m:600}") int defaultHalfSizeM,
+                                  @Value("${analysis.heatmap.cell-m:25}") int defaultCellM,
+                                  @Value("${analysis.heatmap.max-cells:10000}") int maxCells,
+                                  @Value("${analysis.heatmap.cache-size:50}") long cacheSize) {
+        this.restaurantSpatialIndex = restaurantSpatialIndex;
+        this.defaultHalfSizeM = defaultHalfSizeM;
+        this.defaultCellM = defaultCellM;
+        this.maxCells = maxCells;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+    }
+
+    public LocationHeatmapResponse heatmap(String category, Integer floor, Integer halfSizeM, Integer cellM) {
+        String targetCategory = Optional.ofNullable(category).orElse("").trim();
+        if (targetCategory.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "카테고리는 필수입니다.");
+        }
+        int f = floor != null ? floor : 1;
+        int half = halfSizeM != null ? halfSizeM : defaultHalfSizeM;
+        int cell = cellM != null ? cellM : defaultCellM;
+        if (half <= 0 || cell <= 0) {
+            throw new ResponseStatusException(BAD_REQUEST, "격자 크기는 0보다 커야 합니다.");
+        }
+        // 반경이 아주 크면 int 변환/제곱이 넘치므로 long으로 구하고 한 변 길이로 비교
+        long sideCells = 2 * (long) Math.ceil(half / (double) cell) + 1;
+        if (sideCells > Math.sqrt(maxCells)) {
+            throw new ResponseStatusException(BAD_REQUEST, "격자 칸 수가 너무 많습니다. (최대 " + maxCells + "칸)");
+        }
+        int side = (int) sideCells;
+
+        RestaurantSpatialIndex.Snapshot snapshot = restaurantSpatialIndex.snapshot();
+        int mask = CategoryKeywords.resolve(targetCategory);
+        // 대분류에 걸리면 마스크로 키를 잡아서 "카페"/"카페/디저트"가 같은 히트맵을 공유
+        Key key = new Key(mask, mask != 0 ? "" : targetCategory.toLowerCase(), f, half, cell, snapshot.version());
+        return cache.get(key, k -> compute(snapshot, targetCategory, mask, f, half, cell, side));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private LocationHeatmapResponse compute(RestaurantSpatialIndex.Snapshot snapshot, String category, int mask,
+                                            int floor, int halfSizeM, int cellM, int side) {
+        // 카테고리 식당만으로 작은 인덱스 (칸마다 전체 식당을 거르지 않도록)
+        List<Restaurant> sameCategory = mask != 0
+                ? snapshot.byCategories(mask)
+                : snapshot.all().stream().filter(CategoryKeywords.restaurantMatcher(category)).toList();
+        RestaurantSpatialIndex.Snapshot competitors = RestaurantSpatialIndex.Snapshot.of(snapshot.version(), sameCategory);
+
+        double cellLatDeg = cellM / METERS_PER_DEG_LAT;
+        double cellLonDeg = cellM / (METERS_PER_DEG_LAT * Math.cos(Math.toRadians(LocationScoreRules.ERICA_MAIN_GATE_LAT)));
+        int center = side / 2;
+        double originLat = LocationScoreRules.ERICA_MAIN_GATE_LAT - center * cellLatDeg;
+        double originLon = LocationScoreRules.ERICA_MAIN_GATE_LON - center * cellLonDeg;
+
+        int[][] scores = new int[side][side];
+        ForkJoinPool.commonPool().invoke(new RowsTask(competitors, scores, 0, side,
+                originLat, originLon, cellLatDeg, cellLonDeg, floor));
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int[] row : scores) {
+            for (int v : row) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        return new LocationHeatmapResponse(category, floor, snapshot.version(), originLat, originLon,
+                cellLatDeg, cellLonDeg, cellM, side, side, min, max, scores);
+    }
+
+    // 행 구간 [from, to)를 계산하는 작업. 구간이 크면 반으로 나눠서 병렬로
+    private static final class RowsTask extends RecursiveAction {
+
+        private final RestaurantSpatialIndex.Snapshot competitors;
+        private final int[][] scores;
+        private final int from;
+        private final int to;
+        private final double originLat;
+        private final double originLon;
+        private final double cellLatDeg;
+        private final double cellLonDeg;
+        private final int floor;
+
+        RowsTask(RestaurantSpatialIndex.Snapshot competitors, int[][] scores, int from, int to,
+                 double originLat, double originLon, double cellLatDeg, double cellLonDeg, int floor) {
+            this.competitors = competitors;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+            this.originLat = originLat;
+            this.originLon = originLon;
+            this.cellLatDeg = cellLatDeg;
+            this.cellLonDeg = cellLonDeg;
+            this.floor = floor;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                for (int row = from; row < to; row++) {
+                    double lat = originLat + row * cellLatDeg;
+                    for (int col = 0; col < scores[row].length; col++) {
+                        double lon = originLon + col * cellLonDeg;
+                        double distance = DistanceCalc.calculateDistance(lat, lon,
+                                LocationScoreRules.ERICA_MAIN_GATE_LAT, LocationScoreRules.ERICA_MAIN_GATE_LON);
+                        int competitorCount = competitors.withinRadius(lat, lon, LocationScoreRules.COMPETITOR_RADIUS_M).size();
+                        scores[row][col] = LocationScoreRules.score(distance, floor, competitorCount);
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new RowsTask(competitors, scores, from, mid, originLat, originLon, cellLatDeg, cellLonDeg, floor),
+                    new RowsTask(competitors, scores, mid, to, originLat, originLon, cellLatDeg, cellLonDeg, floor));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package likelion.service.location;
+
+/**
+ * 접근성(위치) 점수 규칙
+ * 분석(calculateLocationScore)과 히트맵이 같은 규칙을 쓰도록 점수 계산만 따로 모았습니다.
+ */
+public final class LocationScoreRules {
+
+    // 정문 좌표
+    public static final double ERICA_MAIN_GATE_LAT = 37.300097500612374;
+    public static final double ERICA_MAIN_GATE_LON = 126.83779165311796;
+
+    // 동종업계 경쟁사를 세는 반경(m)
+    public static final double COMPETITOR_RADIUS_M = 50;
+
+    private static final int BASE = 100;
+    private static final int ROOFTOP_PENALTY = 15;
+
+    private LocationScoreRules() {
+    }
+
+    // 거리 가감점: ≤80m +3, 80~130m 0, >130m 10m당 -3 (최대 -50)
+    public static int distanceBonus(double distance) {
+        return distance <= 80 ? 3 : 0;
+    }
+
+    public static int distancePenalty(double distance) {
+        if (distance <= 130) return 0;
+        return Math.min(50, (int) Math.ceil((distance - 130) / 10.0) * 3);
+    }
+
+    // 층수: 1층 +5, 2층부터 -7/층, 5층(옥상) -15, 지하는 층당 -10
+    public static int floorBonus(int floor) {
+        return floor == 1 ? 5 : 0;
+    }
+
+    public static int floorPenalty(int floor) {
+        if (floor == 5) return ROOFTOP_PENALTY;
+        if (floor < 0) return Math.abs(floor) * 10;
+        if (floor >= 2) return (floor - 1) * 7;
+        return 0;
+    }
+
+    // 경쟁사 가감점: 0개 +5, 1개 0, 2개부터 개당 -3
+    public static int competitorBonus(long competitorCount) {
+        return competitorCount == 0 ? 5 : 0;
+    }
+
+    public static int competitorPenalty(long competitorCount) {
+        return competitorCount >= 2 ? (int) (competitorCount * 3) : 0; // 2개→-6, 3개→-9 ...
+    }
+
+    // 점수 합산 (10~100)
+    public static int score(double distance, int floor, long competitorCount) {
+        int score = BASE;
+        score += distanceBonus(distance);
+        score -= distancePenalty(distance);
+        score += floorBonus(floor);
+        score -= floorPenalty(floor);
+        score += competitorBonus(competitorCount);
+        score -= competitorPenalty(competitorCount);
+        return Math.max(10, Math.min(100, score));
+    }
+}
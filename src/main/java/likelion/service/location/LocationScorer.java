@@ -0,0 +1,151 @@
+package likelion.service.location;
+
+import likelion.domain.entity.Restaurant;
+import likelion.dto.AnalysisRequest;
+import likelion.dto.AnalysisResponse;
+import likelion.service.category.CategoryKeywords;
+import likelion.service.distance.DistanceCalc;
+import likelion.service.spatial.RestaurantSpatialIndex;
+import org.springframework.stereotype.Component;
+
+import java.text.DecimalFormat;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 접근성(위치) 점수와 사유 문구
+ * 공간 인덱스 스냅샷과 요청만으로 계산하는 로컬 구간이라 AI/캐시 의존성이 없습니다.
+ * (AnalysisService의 빠른/전체 분석, 여러 후보지 비교에서 같이 사용)
+ */
+@Component
+public class LocationScorer {
+
+    // 위치 점수 계산 결과
+    private record LocationScoreFactors(int score, double distanceToMainGate,
+            int floor, long competitorCount, List<String> competitorNames, // "가게명(거리m)" 형태
+            String reason, List<AnalysisResponse.AdjusmentItem> penalties, List<AnalysisResponse.AdjusmentItem> bonuses
+    ) {}
+
+    // 접근성 점수 (반경 내 동종업계 기준). 같은 스냅샷을 넘기면 여러 후보지를 같은 데이터로 계산
+    public AnalysisResponse.ScoreInfo score(AnalysisRequest request, RestaurantSpatialIndex.Snapshot snapshot) {
+        // addr: "위도, 경도"
+        String[] locationParts = request.addr().split(",");
+        double latitude = Double.parseDouble(locationParts[0].trim());
+        double longitude = Double.parseDouble(locationParts[1].trim());
+
+        // 반경 내 식당 (공간 인덱스에서 주변 셀만 조회, 좌표 없는 데이터는 인덱스 생성 시 제외됨)
+        List<Restaurant> withinRadius = snapshot.withinRadius(latitude, longitude, LocationScoreRules.COMPETITOR_RADIUS_M);
+
+        // 업종(문자열) 기반 동종업계 필터 (카테고리 키워드 매핑은 CategoryKeywords), (동종업계는 위치/접근성에 사용)
+        // 최종 = 반경 안 + 동종업계(룰 기반)
+        String targetCategory = Optional.ofNullable(request.category()).orElse("").trim();
+        List<Restaurant> competitorsInRadius = withinRadius.stream()
+                .filter(CategoryKeywords.restaurantMatcher(targetCategory))
+                .collect(Collectors.toList());
+
+        //  위치 점수 계산 (최종 = 반경 안 + 동종업계 교집합 기준)
+        LocationScoreFactors locationFactors =
+                calculateLocationScore(request, latitude, longitude, competitorsInRadius);
+        return new AnalysisResponse.ScoreInfo("접근성", locationFactors.score(), null, locationFactors.reason(),locationFactors.penalties(),locationFactors.bonuses());
+    }
+
+    // ============================= "위치/접근성" 계산 로직 ===========================
+    private LocationScoreFactors calculateLocationScore(AnalysisRequest request, double latitude, double longitude, List<Restaurant> competitorsInRadius) {
+        // 점수 규칙은 LocationScoreRules (히트맵과 공유)
+        double distance = DistanceCalc.calculateDistance(latitude, longitude,
+                LocationScoreRules.ERICA_MAIN_GATE_LAT, LocationScoreRules.ERICA_MAIN_GATE_LON);
+        int distanceBonus = LocationScoreRules.distanceBonus(distance);
+        int distancePenalty = LocationScoreRules.distancePenalty(distance);
+
+        int floor = request.height() != null ? request.height() : 1;
+        int floorBonus = LocationScoreRules.floorBonus(floor);
+        int floorPenalty = LocationScoreRules.floorPenalty(floor);
+
+        long competitorCount = competitorsInRadius.size();
+        int competitorBonus = LocationScoreRules.competitorBonus(competitorCount);
+        int competitorPenalty = LocationScoreRules.competitorPenalty(competitorCount);
+
+        int score = LocationScoreRules.score(distance, floor, competitorCount);
+
+        // 이름+거리로 정렬하여 5개만 표기(결과에 5개 넘어가는 것은 그 외 n개)
+        DecimalFormat df = new DecimalFormat("#0");
+        List<String> competitorNamesWithDist = competitorsInRadius.stream()
+                .map(r -> {
+                    double d = DistanceCalc.calculateDistance(latitude, longitude, r.getLatitude(), r.getLongitude());
+                    return new AbstractMap.SimpleEntry<>(r, d);
+                })
+                .sorted(Comparator.comparingDouble(Map.Entry::getValue))
+                .limit(5)
+                .map(e -> String.format("%s(%sm)", safeName(e.getKey()), df.format(e.getValue())))
+                .collect(Collectors.toList());
+
+        String summary = generateLocationReason(distance, floor, competitorCount, competitorNamesWithDist);
+
+        // 감점/가점 항목 구성
+        List<AnalysisResponse.AdjusmentItem> penaltyItems = new ArrayList<>();
+        if (distancePenalty > 0)   penaltyItems.add(new AnalysisResponse.AdjusmentItem("정문과 거리", -distancePenalty));
+        if (floorPenalty > 0)      penaltyItems.add(new AnalysisResponse.AdjusmentItem("층수 불리",   -floorPenalty));
+        if (competitorPenalty > 0) penaltyItems.add(new AnalysisResponse.AdjusmentItem("주변 경쟁사 밀도", -competitorPenalty));
+
+        List<AnalysisResponse.AdjusmentItem> bonusItems = new ArrayList<>();
+        if (distanceBonus > 0)     bonusItems.add(new AnalysisResponse.AdjusmentItem("정문과 근접", +distanceBonus));
+        if (floorBonus > 0)        bonusItems.add(new AnalysisResponse.AdjusmentItem("1층 입지", +floorBonus));
+        if (competitorBonus > 0)   bonusItems.add(new AnalysisResponse.AdjusmentItem("동종 경쟁사 없음", +competitorBonus));
+
+        String reason = summary;
+
+        return new LocationScoreFactors(score, distance, floor, competitorCount, competitorNamesWithDist,
+                reason, penaltyItems, bonusItems);
+    }
+
+    // ======================== 사용자 설명에 보낼 멘트(위치 점수 관련) ========================
+    private String generateLocationReason(double distance, int floor, long competitorCount, List<String> competitorNamesWithDist) {
+        StringBuilder sb = new StringBuilder();
+
+        // 거리 (≤80m 가점, 80~130m 중립, 130m 넘으면 10m당 3점 감점)
+        if (distance <= 80) {
+            sb.append(String.format("정문과 매우 가까워(약 %.0fm) 접근성이 우수합니다. ", distance));
+        } else if (distance <= 130) {
+            sb.append(String.format("정문과 가까운 편(약 %.0fm)으로 접근성이 양호합니다. ", distance));
+        } else if (distance <= 160) {
+            sb.append(String.format("정문과 다소 떨어져 있어(약 %.0fm) 접근성이 떨어질 수 있습니다. ", distance));
+        } else {
+            sb.append(String.format("정문과 거리가 있어(약 %.0fm) 접근성이 제한적일 수 있습니다. ", distance));
+        }
+
+        // 층수 (1층 가점, 2층부터 감점, 지하는 더 감점)
+        if (floor < 0) {
+            sb.append(String.format("지하 %d층으로 간판 노출과 접근성이 제한적입니다. ", Math.abs(floor)));
+        } else if (floor == 1) {
+            sb.append("1층이라 고객 노출과 유입에 유리합니다. ");
+        } else if (floor == 2) {
+            sb.append("2층이라 1층 대비 고객 유입에 다소 불리할 수 있습니다. ");
+        } else if (floor == 5) {
+            sb.append("루프탑이라 1층 대비 고객 유입에 다소 불리할 수 있습니다. ");
+
+        } else {
+            sb.append(String.format("%d층이라 노출이 적어 고객 유입에 불리할 수 있습니다. ", floor));
+        }
+
+        // 경쟁사 (0개 가점, 2개부턴 감점)
+        if (competitorCount == 0) {
+            sb.append("주변에 동종 경쟁이 없어 초기 고객 유입에 유리합니다.");
+        } else if (competitorCount == 1) {
+            sb.append(String.format("주변 경쟁사: %s 1곳이 있습니다.", competitorNamesWithDist.get(0)));
+        } else {
+            String list = String.join(", ", competitorNamesWithDist);
+            long remain = competitorCount - competitorNamesWithDist.size();
+            if (remain > 0) {
+                sb.append(String.format("주변 경쟁사 %d곳: %s 외 %d곳이 있습니다.", competitorCount, list, remain));
+            } else {
+                sb.append(String.format("주변 경쟁사 %d곳: %s가(이) 있습니다.", competitorCount, list));
+            }
+        }
+
+        return sb.toString().trim();
+    }
+
+    private String safeName(Restaurant r) {
+        return Optional.ofNullable(r.getRestaurantName()).orElse("(이름없음)");
+    }
+}
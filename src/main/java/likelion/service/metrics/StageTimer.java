@@ -0,0 +1,48 @@
+package likelion.service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 요청 처리 단계별 시간 (/actuator/prometheus 의 app_stage_seconds)
+ * - flow: analysis / partnership, stage: 단계 이름 (location, menu-price, review, detail, total 등)
+ * - 비동기 단계는 future가 끝나는 시점까지 (타임아웃 fallback으로 끝난 경우 포함)
+ * 저장소(DB) 호출 시간은 Spring Data 기본 메트릭(spring_data_repository_invocations_seconds)으로 따로 집계됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StageTimer {
+
+    private final MeterRegistry registry;
+
+    public <T> T record(String flow, String stage, Supplier<T> task) {
+        long startedAt = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            record(flow, stage, System.nanoTime() - startedAt);
+        }
+    }
+
+    // 지금부터 future가 끝날 때까지
+    public <T> CompletableFuture<T> record(String flow, String stage, CompletableFuture<T> future) {
+        long startedAt = System.nanoTime();
+        return future.whenComplete((v, e) -> record(flow, stage, System.nanoTime() - startedAt));
+    }
+
+    public void record(String flow, String stage, long elapsedNanos) {
+        Timer.builder("app.stage")
+                .description("요청 처리 단계별 시간")
+                .tag("flow", flow)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
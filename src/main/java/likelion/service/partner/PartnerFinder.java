@@ -0,0 +1,77 @@
+package likelion.service.partner;
+
+import likelion.domain.entity.Restaurant;
+import likelion.service.category.CategoryClassifier;
+import likelion.service.spatial.RestaurantSpatialIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * 제휴 후보 찾기 (카페 <-> 음식점)
+ * 반경을 50m부터 30m씩(최대 500m) 넓혀가며 반대 업종 가게가 2곳 이상 나올 때까지 공간 인덱스를 조회합니다.
+ * AI/DB 없이 공간 인덱스 스냅샷만 사용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartnerFinder {
+
+    // 제휴 대상에서 빼는 대기업 프랜차이즈
+    public static final Set<String> EXCLUDED_STORES = Set.of(
+            "이디야커피 안산한대점", "스타벅스 안산한양대점", "메가MGC커피 한양대에리카점",
+            "투썸플레이스 안산꿈의교회점", "교촌치킨 사동1호점", "파리바게뜨 안산한양대점",
+            "쥬씨 안산한양대점", "아마스빈 안산한양대점"
+    );
+
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
+
+    public List<Restaurant> find(Restaurant target, boolean isTargetCafe) {
+        double lat = target.getLatitude();
+        double lon = target.getLongitude();
+        double distance = 50.0;
+        final double MAX_DISTANCE = 500.0;
+
+        List<Restaurant> potentialPartners = new ArrayList<>();
+
+        // 반경을 넓혀가며 재조회해도 DB를 다시 읽지 않도록 공간 인덱스의 같은 스냅샷을 사용
+        RestaurantSpatialIndex.Snapshot snapshot = restaurantSpatialIndex.snapshot();
+        while (potentialPartners.size() < 2 && distance <= MAX_DISTANCE) {
+            potentialPartners = snapshot.withinRadius(lat, lon, distance).stream()
+                    .filter(r -> !EXCLUDED_STORES.contains(r.getRestaurantName()))
+                    .filter(r -> !Objects.equals(r.getKakaoPlaceId(), target.getKakaoPlaceId()))
+                    .filter(r -> isTargetCafe ? isFood(r) : isCafe(r))
+                    .collect(Collectors.toList());
+
+            if (potentialPartners.size() < 2) {
+                distance += 30;
+            }
+        }
+
+        if (potentialPartners.size() < 2) {
+            throw new ResponseStatusException(NOT_FOUND, "주변에 적합한 제휴 후보가 없어요.");
+        }
+
+        if (potentialPartners.size() > 2) {
+            Collections.shuffle(potentialPartners);
+            return potentialPartners.subList(0, 2);
+        }
+
+        return potentialPartners;
+    }
+
+    // 카페/음식점 구분: 저장된 is_cafe/is_food 컬럼 사용 (백필 전 데이터면 원문을 분류기로)
+    public static boolean isCafe(Restaurant r) {
+        if (r.getCafe() != null) return r.getCafe();
+        return (CategoryClassifier.classify(r.getCategory()) & CategoryClassifier.PARTNER_CAFE) != 0;
+    }
+
+    public static boolean isFood(Restaurant r) {
+        if (r.getFood() != null) return r.getFood();
+        return (CategoryClassifier.classify(r.getCategory()) & CategoryClassifier.PARTNER_FOOD) != 0;
+    }
+}
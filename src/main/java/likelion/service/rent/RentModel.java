@@ -0,0 +1,245 @@
+package likelion.service.rent;
+
+import likelion.domain.entity.RealEstate;
+import likelion.event.RealEstateDataChangedEvent;
+import likelion.repository.RealEstateRepository;
+import likelion.service.distance.DistanceCalc;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * real_estate 매물로 만든 메모리 임대 단가 모델
+ * - 층 구분(B/1F/2F/3F/4F+/ROOF)별 평당 가격 분포(백분위)
+ * - 위치 보정 계수: 요청 좌표 주변 매물(가까운 k개, 거리 역제곱 가중)의 평당 가격이 같은 층 중앙값 대비 얼마나 비싼지
+ * 서버 시작 시와 매물 재시딩 때 한 번 만들고, 조회는 불변 스냅샷만 읽어서 DB를 타지 않습니다.
+ */
+@Component
+public class RentModel {
+
+    private final RealEstateRepository realEstateRepository;
+    private final boolean enabled;
+    private final double radiusM;
+    private final int neighbors;
+    private final int minSamples;
+    private final double minFactor;
+    private final double maxFactor;
+
+    private volatile Snapshot current = Snapshot.EMPTY;
+
+    // 평당 가격 분포 (원/평)
+    public record Percentiles(int count, long p10, long p25, long p50, long p75, long p90) {}
+
+    /**
+     * 위치 보정 결과
+     * factor: 층별 기본 단가에 곱할 계수 (주변 매물이 부족하면 1.0)
+     * sampleCount: 보정에 쓰인 주변 매물 수
+     * floorStats: 요청 층 구분의 평당 가격 분포 (매물이 없으면 null)
+     */
+    public record RentEstimate(double factor, int sampleCount, Percentiles floorStats) {
+        public static final RentEstimate NEUTRAL = new RentEstimate(1.0, 0, null);
+    }
+
+    public RentModel(RealEstateRepository realEstateRepository,
+                     @Value("${analysis.rent-model.enabled:true}") boolean enabled,
+                     @Value("${analysis.rent-model.radius-m:1500}") double radiusM,
+                     @Value("${analysis.rent-model.neighbors:8}") int neighbors,
+                     @Value("${analysis.rent-model.min-samples:3}") int minSamples,
+                     @Value("${analysis.rent-model.min-factor:0.7}") double minFactor,
+                     @Value("${analysis.rent-model.max-factor:1.3}") double maxFactor) {
+        this.realEstateRepository = realEstateRepository;
+        this.enabled = enabled;
+        this.radiusM = radiusM;
+        this.neighbors = Math.max(1, neighbors);
+        this.minSamples = Math.max(1, minSamples);
+        this.minFactor = minFactor;
+        this.maxFactor = maxFactor;
+    }
+
+    // 층 구분 키 (AnalysisService의 PY_PRICE_BY_FLOOR 키와 같음)
+    public static String floorKey(int floor) {
+        if (floor < 0) return "B";
+        if (floor == 1) return "1F";
+        if (floor == 2) return "2F";
+        if (floor == 3) return "3F";
+        if (floor == 5) return "ROOF"; // 옥상/루프탑
+        return "4F+";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild("startup");
+    }
+
+    // 분석 결과 캐시 비우기보다 먼저 (비운 뒤 들어온 분석이 새 모델을 쓰도록)
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRealEstateDataChanged(RealEstateDataChangedEvent event) {
+        rebuild(event.source());
+    }
+
+    private void rebuild(String source) {
+        if (!enabled) return;
+        try {
+            load(realEstateRepository.findAll());
+            System.out.println("[rent-model] rebuilt (" + source + "), listings=" + current.size()
+                    + ", located=" + current.locatedSize());
+        } catch (Exception e) {
+            // 실패하면 이전 스냅샷 유지 (처음이면 보정 없이 기존 층별 단가 그대로)
+            System.err.println("[rent-model] rebuild failed: " + e.getMessage());
+        }
+    }
+
+    // 매물 목록으로 새 스냅샷을 만들어 교체
+    public void load(Collection<RealEstate> listings) {
+        current = Snapshot.of(listings);
+    }
+
+    /**
+     * 요청 좌표/층의 위치 보정 계수.
+     * 반경 안의 가까운 매물 k개를 거리 역제곱으로 가중 평균한 "같은 층 중앙값 대비 평당 가격 비율"을 [min, max]로 자릅니다.
+     */
+    public RentEstimate estimate(double latitude, double longitude, String floorKey) {
+        Snapshot s = current;
+        Percentiles floorStats = s.floorStats.get(floorKey);
+        if (!enabled || s.lats.length == 0) {
+            return new RentEstimate(1.0, 0, floorStats);
+        }
+
+        // 가까운 k개 (매물 수가 많지 않아 배열 한 번 훑기, 박스 밖은 거리 계산 없이 제외)
+        DistanceCalc.Radius radius = DistanceCalc.radius(latitude, longitude, radiusM);
+        double[] nearDist = new double[neighbors];
+        double[] nearRel = new double[neighbors];
+        int found = 0;
+        for (int i = 0; i < s.lats.length; i++) {
+            if (!radius.inBoundingBox(s.lats[i], s.lons[i])) continue;
+            double d = DistanceCalc.calculateDistance(latitude, longitude, s.lats[i], s.lons[i]);
+            if (d > radiusM) continue;
+            // 거리 오름차순 삽입 (k가 작아서 단순 삽입 정렬)
+            int pos = Math.min(found, neighbors - 1);
+            if (found == neighbors && d >= nearDist[pos]) continue;
+            while (pos > 0 && nearDist[pos - 1] > d) {
+                nearDist[pos] = nearDist[pos - 1];
+                nearRel[pos] = nearRel[pos - 1];
+                pos--;
+            }
+            nearDist[pos] = d;
+            nearRel[pos] = s.relative[i];
+            if (found < neighbors) found++;
+        }
+        if (found < minSamples) {
+            return new RentEstimate(1.0, found, floorStats);
+        }
+
+        // 거리 역제곱 가중 (같은 건물/동 중심 좌표끼리 0m가 되지 않도록 50m 더함)
+        double weighted = 0;
+        double weights = 0;
+        for (int i = 0; i < found; i++) {
+            double w = 1.0 / Math.pow(nearDist[i] + 50, 2);
+            weighted += w * nearRel[i];
+            weights += w;
+        }
+        double factor = Math.max(minFactor, Math.min(maxFactor, weighted / weights));
+        return new RentEstimate(factor, found, floorStats);
+    }
+
+    public Percentiles floorStats(String floorKey) {
+        return current.floorStats.get(floorKey);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * 특정 시점 매물 분포. 만들어진 뒤 바뀌지 않아서 락 없이 읽습니다.
+     * 좌표 있는 매물은 위도/경도/상대가격을 배열로 따로 들고 있습니다.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, Map.of(), new double[0], new double[0], new double[0]);
+
+        private final int size;
+        private final Map<String, Percentiles> floorStats;
+        private final double[] lats;
+        private final double[] lons;
+        private final double[] relative; // 평당 가격 / 같은 층 구분 중앙값
+
+        private Snapshot(int size, Map<String, Percentiles> floorStats,
+                         double[] lats, double[] lons, double[] relative) {
+            this.size = size;
+            this.floorStats = floorStats;
+            this.lats = lats;
+            this.lons = lons;
+            this.relative = relative;
+        }
+
+        static Snapshot of(Collection<RealEstate> source) {
+            // 가격/면적이 없거나 0 이하인 매물은 제외
+            List<RealEstate> valid = source.stream()
+                    .filter(r -> r.getPriceManwon() != null && r.getPriceManwon() > 0)
+                    .filter(r -> r.getAreaPyeng() != null && r.getAreaPyeng() > 0)
+                    .toList();
+
+            Map<String, List<Long>> byFloor = new HashMap<>();
+            List<Long> all = new ArrayList<>();
+            for (RealEstate r : valid) {
+                long ppy = pricePerPy(r);
+                all.add(ppy);
+                if (r.getFloor() != null) byFloor.computeIfAbsent(floorKey(r.getFloor()), k -> new ArrayList<>()).add(ppy);
+            }
+
+            Map<String, Percentiles> floorStats = new HashMap<>();
+            byFloor.forEach((k, list) -> floorStats.put(k, percentiles(list)));
+            long overallMedian = all.isEmpty() ? 0 : percentiles(all).p50();
+
+            // 좌표 있는 매물: 같은 층 구분 중앙값 대비 비율 (층 정보가 없으면 전체 중앙값 대비)
+            List<RealEstate> located = valid.stream()
+                    .filter(r -> r.getLatitude() != null && r.getLongitude() != null)
+                    .toList();
+            double[] lats = new double[located.size()];
+            double[] lons = new double[located.size()];
+            double[] relative = new double[located.size()];
+            for (int i = 0; i < located.size(); i++) {
+                RealEstate r = located.get(i);
+                Percentiles base = r.getFloor() == null ? null : floorStats.get(floorKey(r.getFloor()));
+                long median = base != null ? base.p50() : overallMedian;
+                lats[i] = r.getLatitude();
+                lons[i] = r.getLongitude();
+                relative[i] = median > 0 ? pricePerPy(r) / (double) median : 1.0;
+            }
+
+            return new Snapshot(valid.size(), Map.copyOf(floorStats), lats, lons, relative);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int locatedSize() {
+            return lats.length;
+        }
+
+        // 평당 가격 (원/평)
+        private static long pricePerPy(RealEstate r) {
+            return Math.round(r.getPriceManwon() * 10_000L / r.getAreaPyeng());
+        }
+
+        // 최근접 순위(nearest-rank) 백분위
+        private static Percentiles percentiles(List<Long> values) {
+            long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Percentiles(sorted.length,
+                    rank(sorted, 0.10), rank(sorted, 0.25), rank(sorted, 0.50), rank(sorted, 0.75), rank(sorted, 0.90));
+        }
+
+        private static long rank(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
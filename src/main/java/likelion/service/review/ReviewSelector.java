@@ -0,0 +1,127 @@
+package likelion.service.review;
+
+import likelion.domain.entity.Restaurant;
+import likelion.domain.entity.Review;
+import likelion.service.ai.TokenEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * 리뷰 분석 프롬프트에 넣을 리뷰 고르기
+ * - 리뷰가 아무리 많아도 프롬프트는 토큰 예산 안으로만 들어가도록 로컬에서 미리 추립니다.
+ * - 기본 점수: 내용 길이(짧은 리뷰는 정보가 적음) + 최신순(id)
+ * - 고를 때마다 같은 가게/같은 평점대 리뷰는 점수를 깎아서 여러 가게, 여러 평점대가 골고루 들어가게 합니다.
+ */
+@Component
+public class ReviewSelector {
+
+    // 한 줄 최대 글자 수 (기존 프롬프트와 동일)
+    private final int maxLineChars;
+    private final int tokenBudget;
+
+    public ReviewSelector(@Value("${analysis.review-prompt.max-line-chars:220}") int maxLineChars,
+                          @Value("${analysis.review-prompt.token-budget:6000}") int tokenBudget) {
+        this.maxLineChars = maxLineChars;
+        this.tokenBudget = tokenBudget;
+    }
+
+    // 고른 리뷰 + 프롬프트에 들어갈 줄들 (최신순)
+    public record Selection(List<Review> reviews, String lines, int estimatedTokens) {}
+
+    private static final class Candidate {
+        final Review review;
+        final String line;
+        final int tokens;
+        final double base;
+        final String store;
+        final int ratingBucket;
+        double gain;
+
+        Candidate(Review review, String line, int tokens, double base, String store, int ratingBucket) {
+            this.review = review;
+            this.line = line;
+            this.tokens = tokens;
+            this.base = base;
+            this.store = store;
+            this.ratingBucket = ratingBucket;
+            this.gain = base;
+        }
+    }
+
+    public Selection select(List<Review> reviews) {
+        if (reviews == null || reviews.isEmpty()) return new Selection(List.of(), "", 0);
+
+        // 최신순 순위 (id 큰 게 최신)
+        List<Review> byRecency = new ArrayList<>(reviews);
+        byRecency.sort(Comparator.comparing(Review::getId, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        List<Candidate> candidates = new ArrayList<>();
+        Set<String> seenContent = new HashSet<>();
+        for (int i = 0; i < byRecency.size(); i++) {
+            Review r = byRecency.get(i);
+            String content = oneLine(r.getContent());
+            if (content.isEmpty() || !seenContent.add(content)) continue; // 빈 리뷰/복붙 리뷰 제외
+            if (content.length() > maxLineChars) content = content.substring(0, maxLineChars) + "…";
+
+            String store = Optional.ofNullable(r.getRestaurant()).map(Restaurant::getRestaurantName).orElse("(이름없음)");
+            double score = ratingOf(r);
+            String line = String.format("- [%s | %.1f] %s", store, score, content);
+
+            double lengthScore = Math.min(content.length(), maxLineChars) / (double) maxLineChars;
+            if (content.length() < 10) lengthScore *= 0.2; // "맛있어요" 같은 한 마디
+            double recencyScore = 1.0 - i / (double) byRecency.size();
+            double base = 0.6 * lengthScore + 0.4 * recencyScore;
+
+            int bucket = (int) Math.max(1, Math.min(5, Math.round(score)));
+            candidates.add(new Candidate(r, line, TokenEstimator.estimate(line) + 1, base, store, bucket));
+        }
+
+        // lazy greedy: 이득(gain)은 고를수록 줄어들기만 하므로, 꺼낸 후보의 이득을 다시 계산해서
+        // 여전히 다음 후보 이상이면 바로 선택, 아니면 갱신해서 다시 넣음
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.gain).reversed());
+        queue.addAll(candidates);
+        Map<String, Integer> perStore = new HashMap<>();
+        int[] perBucket = new int[6];
+        List<Candidate> selected = new ArrayList<>();
+        int used = 0;
+
+        while (!queue.isEmpty()) {
+            Candidate c = queue.poll();
+            if (used + c.tokens > tokenBudget) continue; // 이 줄은 안 들어감 (더 짧은 줄은 들어갈 수 있음)
+
+            double gain = c.base
+                    / (1 + perStore.getOrDefault(c.store, 0))
+                    / (1 + 0.3 * perBucket[c.ratingBucket]);
+            if (!queue.isEmpty() && gain < queue.peek().gain) {
+                c.gain = gain;
+                queue.add(c);
+                continue;
+            }
+
+            selected.add(c);
+            used += c.tokens;
+            perStore.merge(c.store, 1, Integer::sum);
+            perBucket[c.ratingBucket]++;
+        }
+
+        // 프롬프트에는 최신순으로 (선택 순서와 무관하게 항상 같은 순서)
+        selected.sort(Comparator.comparing((Candidate c) -> c.review.getId(), Comparator.nullsLast(Comparator.reverseOrder())));
+        List<Review> picked = selected.stream().map(c -> c.review).toList();
+        String lines = String.join("\n", selected.stream().map(c -> c.line).toList());
+        return new Selection(picked, lines, used);
+    }
+
+    private static double ratingOf(Review r) {
+        BigDecimal b = r.getRating();
+        return (b == null) ? 0.0 : b.doubleValue();
+    }
+
+    // 개행/탭/연속 공백 정리
+    private static String oneLine(String s) {
+        if (s == null) return "";
+        return s.replaceAll("\\s+", " ").trim();
+    }
+}
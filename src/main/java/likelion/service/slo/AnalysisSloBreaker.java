@@ -0,0 +1,127 @@
+package likelion.service.slo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 분석 응답시간 SLO 차단기
+ * - 최근 전체 분석(FULL) N건 중 SLO를 넘기거나 fallback이 섞인 비율이 기준 이상이면 열림(open)
+ * - 열려 있는 동안은 요청이 FULL이어도 빠른 모드(AI 없이 로컬 데이터만)로 응답
+ * - 열린 시간이 지나면 한 건만 FULL로 보내보고(half-open), 그 결과로 닫을지 다시 열지 결정
+ * FULL 분석마다 번호를 발급하고 결과도 번호와 같이 받아서, 열리기 전에 출발한 분석의 늦은 결과가
+ * probe나 새 집계로 섞이지 않게 합니다.
+ */
+@Component
+public class AnalysisSloBreaker {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // tryAcquireFull() 결과: 빠른 모드로 응답
+    public static final long FAST_PATH = -1;
+
+    private final boolean enabled;
+    private final long sloMs;
+    private final int minSamples;
+    private final double badRatio;
+    private final long openMs;
+
+    // 최근 결과 (true = SLO 위반 또는 fallback 응답)
+    private final boolean[] window;
+    private int next;
+    private int count;
+    private int badCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private long nextTicket;         // 다음에 발급할 FULL 분석 번호
+    private long closedSince;        // 마지막으로 닫힌 뒤 처음 발급한 번호 (이전 번호 결과는 무시)
+    private long probeTicket = FAST_PATH;
+    private long probeStartedAt;
+
+    public AnalysisSloBreaker(@Value("${analysis.fast-mode.auto:true}") boolean enabled,
+                              @Value("${analysis.fast-mode.slo-ms:20000}") long sloMs,
+                              @Value("${analysis.fast-mode.window:20}") int windowSize,
+                              @Value("${analysis.fast-mode.min-samples:5}") int minSamples,
+                              @Value("${analysis.fast-mode.bad-ratio:0.5}") double badRatio,
+                              @Value("${analysis.fast-mode.open-seconds:60}") long openSeconds) {
+        this.enabled = enabled;
+        this.sloMs = sloMs;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minSamples = Math.max(1, Math.min(minSamples, window.length));
+        this.badRatio = badRatio;
+        this.openMs = openSeconds * 1000;
+    }
+
+    /**
+     * 이번 요청을 FULL로 보내도 되면 분석 번호(0 이상), 빠른 모드로 돌려야 하면 FAST_PATH.
+     * half-open 상태에서는 한 건만 FULL로 통과시키고(probe) 나머지는 계속 빠른 모드.
+     */
+    public synchronized long tryAcquireFull() {
+        if (!enabled || state == State.CLOSED) return nextTicket++;
+        if (state == State.OPEN) {
+            if (now() - openedAt < openMs) return FAST_PATH;
+            state = State.HALF_OPEN;
+            probeTicket = FAST_PATH;
+        }
+        // probe 결과가 안 돌아오면(요청 실패 등) 열린 시간만큼 지난 뒤 다른 요청으로 다시 probe
+        if (probeTicket != FAST_PATH && now() - probeStartedAt < openMs) return FAST_PATH;
+        probeTicket = nextTicket++;
+        probeStartedAt = now();
+        return probeTicket;
+    }
+
+    // FULL 분석 한 건이 끝났을 때 tryAcquireFull()에서 받은 번호와 같이 호출 (캐시 적중 응답은 기록하지 않음)
+    public synchronized void record(long ticket, long elapsedMs, boolean degraded) {
+        if (!enabled || ticket == FAST_PATH) return;
+        boolean bad = degraded || elapsedMs > sloMs;
+
+        if (state == State.HALF_OPEN) {
+            if (ticket != probeTicket) return; // 열리기 전에 출발한 분석의 늦은 결과
+            probeTicket = FAST_PATH;
+            if (bad) {
+                open();
+            } else {
+                state = State.CLOSED;
+                closedSince = nextTicket;
+                reset();
+            }
+            return;
+        }
+        if (state == State.OPEN) return;
+        if (ticket < closedSince) return; // 닫히기 전에 출발한 분석
+
+        if (count == window.length) {
+            if (window[next]) badCount--;
+        } else {
+            count++;
+        }
+        window[next] = bad;
+        if (bad) badCount++;
+        next = (next + 1) % window.length;
+
+        if (count >= minSamples && badCount >= badRatio * count) {
+            open();
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = now();
+        reset();
+    }
+
+    private void reset() {
+        next = 0;
+        count = 0;
+        badCount = 0;
+    }
+
+    // 테스트에서 시간 흐름을 바꿀 수 있도록 분리
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,290 @@
+package likelion.service.spatial;
+
+import likelion.domain.entity.Restaurant;
+import likelion.domain.entity.StoreCategory;
+import likelion.event.RestaurantDataChangedEvent;
+import likelion.repository.RestaurantRepository;
+import likelion.service.category.CategoryClassifier;
+import likelion.service.distance.DistanceCalc;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 식당 좌표를 균일한 위경도 격자(셀)로 나눠 메모리에 들고 있는 공간 인덱스
+ * - 반경/최근접 질의 시 주변 셀만 확인하므로 매 요청마다 findAll() + 전체 거리계산을 하지 않아도 됩니다.
+ * - 스냅샷은 불변 객체이고, 시드 데이터가 바뀌면 새 스냅샷을 만들어 한 번에 교체합니다(원자적 교체).
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantSpatialIndex {
+
+    // 셀 한 변 길이(m). 분석 반경(50m)과 비슷하게 잡아서 질의 때 보통 3x3 셀만 보게 했습니다.
+    private static final double CELL_SIZE_M = 50.0;
+    private static final double METERS_PER_DEG_LAT = Math.toRadians(1) * 6371000;
+
+    private final RestaurantRepository restaurantRepository;
+
+    private final AtomicLong versionSeq = new AtomicLong();
+    private volatile Snapshot current;
+
+    // 현재 스냅샷 (처음 호출될 때 DB에서 한 번 로딩)
+    public Snapshot snapshot() {
+        Snapshot s = current;
+        if (s != null) return s;
+        synchronized (this) {
+            if (current == null) {
+                current = build(restaurantRepository.findAll());
+            }
+            return current;
+        }
+    }
+
+    public List<Restaurant> withinRadius(double latitude, double longitude, double radiusM) {
+        return snapshot().withinRadius(latitude, longitude, radiusM);
+    }
+
+    public List<Restaurant> nearest(double latitude, double longitude, int k) {
+        return snapshot().nearest(latitude, longitude, k);
+    }
+
+    // 시드/백필 후 호출: DB에서 다시 읽어서 새 스냅샷으로 교체
+    public synchronized void rebuild() {
+        current = build(restaurantRepository.findAll());
+    }
+
+    // 다른 리스너(리뷰 캐시 재생성 등)가 새 스냅샷을 읽도록 가장 먼저 실행
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRestaurantDataChanged(RestaurantDataChangedEvent event) {
+        rebuild();
+        System.out.println("[spatial-index] rebuilt (" + event.source() + "), version=" + current.version()
+                + ", size=" + current.size());
+    }
+
+    Snapshot build(List<Restaurant> restaurants) {
+        return Snapshot.of(versionSeq.incrementAndGet(), restaurants);
+    }
+
+    /**
+     * 특정 시점의 식당 좌표 격자. 한 번 만들어지면 바뀌지 않아서 여러 스레드가 락 없이 읽어도 됩니다.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final List<Restaurant> restaurants; // 로딩된 식당 전체 (좌표 없는 것 포함)
+        private final int locatedCount;             // 격자에 들어간(좌표 있는) 식당 수
+        private final Map<Long, Cell> cells;
+        private final Map<StoreCategory, List<Restaurant>> byCategory; // 대분류별 식당 (여러 대분류에 걸리면 각각에 들어감)
+        private final double cellLatDeg;
+        private final double cellLonDeg;
+        private final int minRow, maxRow, minCol, maxCol;
+        private final double maxAbsLat;
+
+        // 셀 하나에 들어있는 식당들 (좌표는 언박싱 없이 읽으려고 배열로 따로 보관)
+        private record Cell(Restaurant[] items, double[] lats, double[] lons) {}
+
+        private Snapshot(long version, List<Restaurant> restaurants, int locatedCount, Map<Long, Cell> cells,
+                         Map<StoreCategory, List<Restaurant>> byCategory, double cellLatDeg, double cellLonDeg,
+                         int minRow, int maxRow, int minCol, int maxCol, double maxAbsLat) {
+            this.version = version;
+            this.restaurants = restaurants;
+            this.locatedCount = locatedCount;
+            this.cells = cells;
+            this.byCategory = byCategory;
+            this.cellLatDeg = cellLatDeg;
+            this.cellLonDeg = cellLonDeg;
+            this.minRow = minRow;
+            this.maxRow = maxRow;
+            this.minCol = minCol;
+            this.maxCol = maxCol;
+            this.maxAbsLat = maxAbsLat;
+        }
+
+        public static Snapshot of(long version, Collection<Restaurant> source) {
+            // 좌표 없는 데이터, (0,0) 데이터 제거 (기존 analyze 필터와 동일)
+            List<Restaurant> withCoords = source.stream()
+                    .filter(Snapshot::hasCoords)
+                    .toList();
+
+            double maxAbsLat = withCoords.stream().mapToDouble(r -> Math.abs(r.getLatitude())).max().orElse(0.0);
+            double cellLatDeg = CELL_SIZE_M / METERS_PER_DEG_LAT;
+            // 가장 고위도 기준으로 경도 폭을 잡아야 모든 셀이 최소 CELL_SIZE_M 이상이 됩니다
+            double cellLonDeg = CELL_SIZE_M / (METERS_PER_DEG_LAT * Math.max(Math.cos(Math.toRadians(maxAbsLat)), 1e-6));
+
+            Map<Long, List<Restaurant>> buckets = new HashMap<>();
+            int minRow = Integer.MAX_VALUE, maxRow = Integer.MIN_VALUE, minCol = Integer.MAX_VALUE, maxCol = Integer.MIN_VALUE;
+            for (Restaurant r : withCoords) {
+                int row = (int) Math.floor(r.getLatitude() / cellLatDeg);
+                int col = (int) Math.floor(r.getLongitude() / cellLonDeg);
+                buckets.computeIfAbsent(key(row, col), k -> new ArrayList<>()).add(r);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minCol = Math.min(minCol, col);
+                maxCol = Math.max(maxCol, col);
+            }
+
+            Map<Long, Cell> cells = new HashMap<>(buckets.size() * 2);
+            buckets.forEach((k, list) -> {
+                Restaurant[] items = list.toArray(new Restaurant[0]);
+                double[] lats = new double[items.length];
+                double[] lons = new double[items.length];
+                for (int i = 0; i < items.length; i++) {
+                    lats[i] = items[i].getLatitude();
+                    lons[i] = items[i].getLongitude();
+                }
+                cells.put(k, new Cell(items, lats, lons));
+            });
+
+            // 대분류별 목록 (좌표 없는 식당 포함, 저장된 분류 비트 기준)
+            Map<StoreCategory, List<Restaurant>> byCategory = new EnumMap<>(StoreCategory.class);
+            for (Restaurant r : source) {
+                int mask = CategoryClassifier.maskOf(r);
+                for (StoreCategory c : StoreCategory.values()) {
+                    if (CategoryClassifier.has(mask, c)) byCategory.computeIfAbsent(c, k -> new ArrayList<>()).add(r);
+                }
+            }
+
+            return new Snapshot(version, List.copyOf(source), withCoords.size(), cells, byCategory, cellLatDeg, cellLonDeg,
+                    minRow, maxRow, minCol, maxCol, maxAbsLat);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        // 격자에 들어간(좌표 있는) 식당 수
+        public int size() {
+            return locatedCount;
+        }
+
+        // 로딩된 식당 전체 (카테고리 전체 조회처럼 반경과 무관한 곳에서 사용, 좌표 없는 것도 포함)
+        public List<Restaurant> all() {
+            return restaurants;
+        }
+
+        /**
+         * 대분류 비트마스크(CategoryKeywords.resolve)에 걸리는 식당 목록. 전체를 훑지 않고 대분류별 목록만 합칩니다.
+         */
+        public List<Restaurant> byCategories(int mask) {
+            List<StoreCategory> selected = Arrays.stream(StoreCategory.values())
+                    .filter(c -> CategoryClassifier.has(mask, c))
+                    .toList();
+            if (selected.size() == 1) {
+                return Collections.unmodifiableList(byCategory.getOrDefault(selected.get(0), List.of()));
+            }
+            // 여러 대분류에 동시에 걸린 식당은 한 번만
+            Set<Restaurant> union = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Restaurant> result = new ArrayList<>();
+            for (StoreCategory c : selected) {
+                for (Restaurant r : byCategory.getOrDefault(c, List.of())) {
+                    if (union.add(r)) result.add(r);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 반경 radiusM(m) 안의 식당 목록. 반경을 덮는 셀들만 보고, 후보에 대해서만 정확한 거리를 계산합니다.
+         */
+        public List<Restaurant> withinRadius(double latitude, double longitude, double radiusM) {
+            if (cells.isEmpty() || radiusM < 0) return List.of();
+
+            double dLat = radiusM / METERS_PER_DEG_LAT;
+            double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + dLat)));
+            double dLon = radiusM / (METERS_PER_DEG_LAT * Math.max(cosLat, 1e-6));
+
+            int rowFrom = Math.max(minRow, (int) Math.floor((latitude - dLat) / cellLatDeg));
+            int rowTo   = Math.min(maxRow, (int) Math.floor((latitude + dLat) / cellLatDeg));
+            int colFrom = Math.max(minCol, (int) Math.floor((longitude - dLon) / cellLonDeg));
+            int colTo   = Math.min(maxCol, (int) Math.floor((longitude + dLon) / cellLonDeg));
+
+            // 박스 밖은 바로 제외, 경계 근처만 haversine (DistanceCalc.Radius)
+            DistanceCalc.Radius radius = DistanceCalc.radius(latitude, longitude, radiusM);
+            List<Restaurant> result = new ArrayList<>();
+            for (int row = rowFrom; row <= rowTo; row++) {
+                for (int col = colFrom; col <= colTo; col++) {
+                    Cell cell = cells.get(key(row, col));
+                    if (cell == null) continue;
+                    double[] lats = cell.lats();
+                    double[] lons = cell.lons();
+                    for (int i = 0; i < lats.length; i++) {
+                        if (radius.contains(lats[i], lons[i])) {
+                            result.add(cell.items()[i]);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 가까운 순으로 k개. 질의 셀에서 링(ring) 단위로 바깥으로 넓혀가다가
+         * 더 바깥 셀에 더 가까운 식당이 있을 수 없으면 멈춥니다.
+         */
+        public List<Restaurant> nearest(double latitude, double longitude, int k) {
+            if (k <= 0 || cells.isEmpty()) return List.of();
+
+            record Neighbor(Restaurant r, double distance) {}
+            // 거리 내림차순 힙(가장 먼 후보가 맨 위)
+            PriorityQueue<Neighbor> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::distance).reversed());
+
+            int row0 = (int) Math.floor(latitude / cellLatDeg);
+            int col0 = (int) Math.floor(longitude / cellLonDeg);
+            int maxRing = Math.max(
+                    Math.max(Math.abs(row0 - minRow), Math.abs(maxRow - row0)),
+                    Math.max(Math.abs(col0 - minCol), Math.abs(maxCol - col0)));
+
+            // 링 하나가 보장하는 최소 거리(m): 셀 높이/너비 중 작은 쪽
+            double cellHeightM = cellLatDeg * METERS_PER_DEG_LAT;
+            double cellWidthM = cellLonDeg * METERS_PER_DEG_LAT
+                    * Math.cos(Math.toRadians(Math.min(89.0, Math.max(Math.abs(latitude), maxAbsLat))));
+            double ringM = Math.min(cellHeightM, cellWidthM);
+
+            double[] distances = new double[16];
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int row = row0 - ring; row <= row0 + ring; row++) {
+                    boolean edgeRow = (row == row0 - ring || row == row0 + ring);
+                    for (int col = col0 - ring; col <= col0 + ring; col++) {
+                        // 링의 테두리 셀만 (안쪽은 이전 링에서 이미 봤음)
+                        if (!edgeRow && col != col0 - ring && col != col0 + ring) continue;
+                        Cell cell = cells.get(key(row, col));
+                        if (cell == null) continue;
+                        // 셀 하나의 거리를 한 번에 (origin 쪽 삼각함수는 한 번만)
+                        if (distances.length < cell.lats().length) distances = new double[cell.lats().length];
+                        DistanceCalc.distances(latitude, longitude, cell.lats(), cell.lons(), distances);
+                        for (int i = 0; i < cell.items().length; i++) {
+                            double d = distances[i];
+                            if (best.size() < k) {
+                                best.add(new Neighbor(cell.items()[i], d));
+                            } else if (d < best.peek().distance()) {
+                                best.poll();
+                                best.add(new Neighbor(cell.items()[i], d));
+                            }
+                        }
+                    }
+                }
+                // 다음 링의 셀들은 최소 ring * ringM 만큼 떨어져 있음
+                if (best.size() == k && best.peek().distance() <= ring * ringM) break;
+            }
+
+            List<Neighbor> sorted = new ArrayList<>(best);
+            sorted.sort(Comparator.comparingDouble(Neighbor::distance));
+            return sorted.stream().map(Neighbor::r).toList();
+        }
+
+        private static boolean hasCoords(Restaurant r) {
+            if (r.getLatitude() == null || r.getLongitude() == null) return false;
+            return !(Objects.equals(r.getLatitude(), 0.0) && Objects.equals(r.getLongitude(), 0.0));
+        }
+
+        private static long key(int row, int col) {
+            return ((long) row << 32) | (col & 0xffffffffL);
+        }
+    }
+}
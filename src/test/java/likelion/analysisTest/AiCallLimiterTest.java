@@ -0,0 +1,182 @@
+package likelion.analysisTest;
+
+import likelion.exception.AiOverloadedException;
+import likelion.service.ai.AiCallLimiter;
+import likelion.service.ai.AiPromptType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiCallLimiterTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    // 종류별 동시 1건, 토큰은 넉넉하게
+    private static AiCallLimiter limiter(int queueCapacity, long maxWaitMs) {
+        return new AiCallLimiter(true, 60_000, 100, queueCapacity, maxWaitMs, 1, 1, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("종류별 동시 호출 상한에 걸린 종류만 기다리고, 다른 종류는 바로 들어간다")
+    void perTypeConcurrencyCap() throws Exception {
+        AiCallLimiter limiter = limiter(10, 5000);
+        AiCallLimiter.Permit first = limiter.acquire(AiPromptType.PRICE);
+
+        Future<AiCallLimiter.Permit> second = callers.submit(() -> limiter.acquire(AiPromptType.PRICE));
+        waitUntil(() -> limiter.queued() == 1);
+        assertThat(second.isDone()).isFalse();
+
+        try (AiCallLimiter.Permit other = limiter.acquire(AiPromptType.MENU_GUESS)) {
+            assertThat(limiter.inFlight(AiPromptType.MENU_GUESS)).isEqualTo(1);
+        }
+
+        first.close();
+        second.get(5, TimeUnit.SECONDS).close();
+        assertThat(limiter.inFlight(AiPromptType.PRICE)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("토큰이 모자라면 우선순위가 높은 상세분석이 먼저 들어간다")
+    void priorityWhenTokensAreScarce() throws Exception {
+        // 토큰 1개, 초당 1개씩 충전
+        AiCallLimiter limiter = new AiCallLimiter(true, 60, 1, 10, 10_000, 5, 5, 5, 5, 5);
+        limiter.acquire(AiPromptType.PRICE).close(); // 토큰 소진
+
+        List<AiPromptType> order = new CopyOnWriteArrayList<>();
+        Future<?> background = callers.submit(() -> {
+            limiter.acquire(AiPromptType.REVIEW_FEEDBACK).close();
+            order.add(AiPromptType.REVIEW_FEEDBACK);
+            return null;
+        });
+        waitUntil(() -> limiter.queued() == 1);
+        Future<?> interactive = callers.submit(() -> {
+            limiter.acquire(AiPromptType.DETAIL).close();
+            order.add(AiPromptType.DETAIL);
+            return null;
+        });
+        waitUntil(() -> limiter.queued() == 2);
+
+        interactive.get(5, TimeUnit.SECONDS);
+        background.get(5, TimeUnit.SECONDS);
+        assertThat(order).isEqualTo(List.of(AiPromptType.DETAIL, AiPromptType.REVIEW_FEEDBACK));
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 Retry-After가 붙은 503으로 거절한다")
+    void rejectsWhenQueueIsFull() throws Exception {
+        AiCallLimiter limiter = limiter(1, 5000);
+        AiCallLimiter.Permit held = limiter.acquire(AiPromptType.DETAIL);
+        Future<AiCallLimiter.Permit> queued = callers.submit(() -> limiter.acquire(AiPromptType.DETAIL));
+        waitUntil(() -> limiter.queued() == 1);
+
+        long startedAt = System.nanoTime();
+        AiOverloadedException rejected = null;
+        try {
+            limiter.acquire(AiPromptType.DETAIL);
+        } catch (AiOverloadedException e) {
+            rejected = e;
+        }
+        assertThat(rejected).isNotNull();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1000);
+        assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        boolean saturated = false;
+        try {
+            limiter.rejectIfSaturated();
+        } catch (AiOverloadedException e) {
+            saturated = true;
+        }
+        assertThat(saturated).isTrue();
+        assertThat(limiter.rejectedCount()).isEqualTo(2);
+
+        held.close();
+        queued.get(5, TimeUnit.SECONDS).close();
+        limiter.rejectIfSaturated(); // 비었으면 통과
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간 안에 못 들어가면 거절하고 대기열에서 빠진다")
+    void rejectsAfterMaxWait() throws Exception {
+        AiCallLimiter limiter = limiter(10, 100);
+        AiCallLimiter.Permit held = limiter.acquire(AiPromptType.PARTNERSHIP_EVENT);
+
+        boolean rejected = false;
+        try {
+            limiter.acquire(AiPromptType.PARTNERSHIP_EVENT);
+        } catch (AiOverloadedException e) {
+            rejected = true;
+        }
+        assertThat(rejected).isTrue();
+        assertThat(limiter.queued()).isEqualTo(0);
+
+        held.close();
+        held.close(); // 두 번 반납해도 한 번만
+        assertThat(limiter.inFlight(AiPromptType.PARTNERSHIP_EVENT)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("호출 스레드풀이 꽉 차서 거절할 때도 대기열 기준 Retry-After를 주고, 동시에 거절돼도 거절 수가 빠지지 않는다")
+    void overloadedWhileWaitersAreQueued() throws Exception {
+        // 초당 토큰 1개, 대기열 2칸, 종류별 동시 1건
+        AiCallLimiter limiter = new AiCallLimiter(true, 60, 5, 2, 10_000, 1, 1, 1, 1, 1);
+        AiCallLimiter.Permit held = limiter.acquire(AiPromptType.PRICE);
+        Future<AiCallLimiter.Permit> firstWaiter = callers.submit(() -> limiter.acquire(AiPromptType.PRICE));
+        Future<AiCallLimiter.Permit> secondWaiter = callers.submit(() -> limiter.acquire(AiPromptType.PRICE));
+        waitUntil(() -> limiter.queued() == 2);
+
+        // 대기 2건 + 1건이 초당 1건씩 빠지는 시간
+        assertThat(limiter.overloaded().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+
+        // 풀 거절(overloaded)과 대기열 가득 참 거절(acquire)이 동시에 일어나도 모두 집계
+        int threads = 4;
+        int perThread = 500;
+        List<Future<?>> rejecters = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            rejecters.add(callers.submit(() -> {
+                for (int n = 0; n < perThread; n++) limiter.overloaded();
+                return null;
+            }));
+            rejecters.add(callers.submit(() -> {
+                for (int n = 0; n < perThread; n++) {
+                    try {
+                        limiter.acquire(AiPromptType.PRICE).close();
+                    } catch (AiOverloadedException expected) {
+                        // 대기열이 가득 차 있으니 항상 거절
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> rejecter : rejecters) rejecter.get(10, TimeUnit.SECONDS);
+        assertThat(limiter.rejectedCount()).isEqualTo(1 + 2L * threads * perThread);
+        assertThat(limiter.queued()).isEqualTo(2);
+
+        held.close();
+        firstWaiter.get(5, TimeUnit.SECONDS).close();
+        secondWaiter.get(5, TimeUnit.SECONDS).close();
+        assertThat(limiter.inFlight(AiPromptType.PRICE)).isEqualTo(0);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
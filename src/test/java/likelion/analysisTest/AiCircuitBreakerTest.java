@@ -0,0 +1,128 @@
+package likelion.analysisTest;
+
+import likelion.service.ai.AiCircuitBreaker;
+import likelion.service.ai.AiPromptType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiCircuitBreakerTest {
+
+    // 시간은 직접 움직이는 차단기 (최근 4건, 최소 4건, 절반 이상 나쁘면, 연속 실패 3번, 느린 호출 1000ms, 10초 동안 열림)
+    private static class TestBreaker extends AiCircuitBreaker {
+        long now;
+
+        TestBreaker() {
+            super(true, 4, 4, 0.5, 3, 1000, 10);
+        }
+
+        @Override
+        protected long now() {
+            return now;
+        }
+
+        // 통과시킨 호출 한 건의 결과 기록
+        void succeed(AiPromptType type, long elapsedMs) {
+            onSuccess(type, tryAcquire(type), elapsedMs);
+        }
+
+        void fail(AiPromptType type, long elapsedMs) {
+            onFailure(type, tryAcquire(type), elapsedMs);
+        }
+    }
+
+    @Test
+    @DisplayName("연속 실패하면 최소 건수를 채우기 전에도 바로 열리고, 다른 종류는 영향이 없다")
+    void opensOnConsecutiveFailures() {
+        TestBreaker breaker = new TestBreaker();
+        breaker.fail(AiPromptType.PRICE, 60_000);
+        breaker.fail(AiPromptType.PRICE, 60_000);
+        assertThat(breaker.tryAcquire(AiPromptType.PRICE)).isNotEqualTo(AiCircuitBreaker.REJECTED);
+
+        breaker.fail(AiPromptType.PRICE, 60_000);
+        assertThat(breaker.state(AiPromptType.PRICE)).isEqualTo(AiCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(AiPromptType.PRICE)).isEqualTo(AiCircuitBreaker.REJECTED);
+        assertThat(breaker.tryAcquire(AiPromptType.MENU_GUESS)).isNotEqualTo(AiCircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("느린 호출 비율이 기준 이상이면 열린다")
+    void opensOnSlowCalls() {
+        TestBreaker breaker = new TestBreaker();
+        breaker.succeed(AiPromptType.DETAIL, 200);
+        breaker.succeed(AiPromptType.DETAIL, 5000);
+        breaker.succeed(AiPromptType.DETAIL, 300);
+        assertThat(breaker.tryAcquire(AiPromptType.DETAIL)).isNotEqualTo(AiCircuitBreaker.REJECTED);
+
+        breaker.succeed(AiPromptType.DETAIL, 4000);
+        assertThat(breaker.tryAcquire(AiPromptType.DETAIL)).isEqualTo(AiCircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("열린 시간이 지나면 한 건만 보내보고, 성공하면 닫히고 실패하면 다시 열린다")
+    void halfOpenProbe() {
+        TestBreaker breaker = new TestBreaker();
+        for (int i = 0; i < 3; i++) breaker.fail(AiPromptType.REVIEW_FEEDBACK, 100);
+
+        breaker.now += 10_000;
+        assertThat(breaker.state(AiPromptType.REVIEW_FEEDBACK)).isEqualTo(AiCircuitBreaker.State.HALF_OPEN);
+        long probe = breaker.tryAcquire(AiPromptType.REVIEW_FEEDBACK);
+        assertThat(probe).isNotEqualTo(AiCircuitBreaker.REJECTED);
+        assertThat(breaker.tryAcquire(AiPromptType.REVIEW_FEEDBACK)).isEqualTo(AiCircuitBreaker.REJECTED); // probe 진행 중
+        breaker.onFailure(AiPromptType.REVIEW_FEEDBACK, probe, 100);
+        assertThat(breaker.tryAcquire(AiPromptType.REVIEW_FEEDBACK)).isEqualTo(AiCircuitBreaker.REJECTED);
+
+        breaker.now += 10_000;
+        probe = breaker.tryAcquire(AiPromptType.REVIEW_FEEDBACK);
+        assertThat(probe).isNotEqualTo(AiCircuitBreaker.REJECTED);
+        breaker.onSuccess(AiPromptType.REVIEW_FEEDBACK, probe, 300);
+        assertThat(breaker.state(AiPromptType.REVIEW_FEEDBACK)).isEqualTo(AiCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(AiPromptType.REVIEW_FEEDBACK)).isNotEqualTo(AiCircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("열리기 전에 출발한 호출의 늦은 성공은 probe가 아니므로 닫지 않고, 닫힌 뒤의 늦은 실패도 집계하지 않는다")
+    void lateResultIsNotTheProbe() {
+        TestBreaker breaker = new TestBreaker();
+        long early = breaker.tryAcquire(AiPromptType.DETAIL);  // 장애 전에 출발한 느린 호출
+        long earlier = breaker.tryAcquire(AiPromptType.DETAIL);
+        for (int i = 0; i < 3; i++) breaker.fail(AiPromptType.DETAIL, 100);
+
+        breaker.now += 10_000;
+        long probe = breaker.tryAcquire(AiPromptType.DETAIL);
+        assertThat(probe).isNotEqualTo(AiCircuitBreaker.REJECTED);
+
+        // 늦게 끝난 예전 호출(또는 같은 번호의 hedge/합류 호출)이 성공해도 half-open 그대로
+        breaker.onSuccess(AiPromptType.DETAIL, early, 300);
+        assertThat(breaker.state(AiPromptType.DETAIL)).isEqualTo(AiCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire(AiPromptType.DETAIL)).isEqualTo(AiCircuitBreaker.REJECTED);
+
+        // probe가 닫은 뒤 예전 호출의 실패가 와도 새 집계에 안 섞임
+        breaker.onSuccess(AiPromptType.DETAIL, probe, 300);
+        assertThat(breaker.state(AiPromptType.DETAIL)).isEqualTo(AiCircuitBreaker.State.CLOSED);
+        breaker.onFailure(AiPromptType.DETAIL, earlier, 60_000);
+        breaker.fail(AiPromptType.DETAIL, 60_000);
+        breaker.fail(AiPromptType.DETAIL, 60_000);
+        assertThat(breaker.state(AiPromptType.DETAIL)).isEqualTo(AiCircuitBreaker.State.CLOSED);
+        assertThat(breaker.snapshot().get(AiPromptType.DETAIL).failureRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("응답시간 분위수는 최근 window건 기준이다")
+    void latencyPercentiles() {
+        TestBreaker breaker = new TestBreaker();
+        assertThat(breaker.percentileMs(AiPromptType.PARTNERSHIP_EVENT, 0.9)).isEqualTo(-1);
+
+        breaker.succeed(AiPromptType.PARTNERSHIP_EVENT, 100);
+        breaker.succeed(AiPromptType.PARTNERSHIP_EVENT, 200);
+        breaker.succeed(AiPromptType.PARTNERSHIP_EVENT, 300);
+        breaker.succeed(AiPromptType.PARTNERSHIP_EVENT, 400);
+        assertThat(breaker.percentileMs(AiPromptType.PARTNERSHIP_EVENT, 0.5)).isEqualTo(200);
+        assertThat(breaker.percentileMs(AiPromptType.PARTNERSHIP_EVENT, 0.9)).isEqualTo(400);
+
+        breaker.succeed(AiPromptType.PARTNERSHIP_EVENT, 50); // 100이 밀려남
+        assertThat(breaker.percentileMs(AiPromptType.PARTNERSHIP_EVENT, 0.5)).isEqualTo(200);
+        assertThat(breaker.snapshot().get(AiPromptType.PARTNERSHIP_EVENT).samples()).isEqualTo(4);
+    }
+}
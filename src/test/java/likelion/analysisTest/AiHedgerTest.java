@@ -0,0 +1,147 @@
+package likelion.analysisTest;
+
+import likelion.service.ai.AiCircuitBreaker;
+import likelion.service.ai.AiHedger;
+import likelion.service.ai.AiPromptType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiHedgerTest {
+
+    // 최근 응답시간이 모두 50ms인 차단기 -> hedge 기준 p90 = 50ms
+    private static AiCircuitBreaker breakerWithLatency(long ms) {
+        AiCircuitBreaker breaker = new AiCircuitBreaker(true, 20, 5, 0.5, 3, 30_000, 30);
+        for (int i = 0; i < 5; i++) breaker.onSuccess(AiPromptType.DETAIL, breaker.tryAcquire(AiPromptType.DETAIL), ms);
+        return breaker;
+    }
+
+    // 운영과 같은 설정(큐 없음, 꽉 차면 거절)의 작은 스레드풀
+    private static ThreadPoolTaskExecutor executor(int maxSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Test
+    @DisplayName("첫 호출이 p90보다 늦으면 한 번 더 보내고, 먼저 온 응답을 쓰고 늦은 호출은 취소한다")
+    void hedgeWinsWhenPrimaryIsSlow() throws Exception {
+        AiHedger hedger = new AiHedger(breakerWithLatency(50), executor(4), true, 0.9, 0, 1.0, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+
+        String result = hedger.execute(AiPromptType.DETAIL, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                    return "primary";
+                } catch (InterruptedException e) {
+                    primaryCancelled.countDown();
+                    throw new IllegalStateException(e);
+                }
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(hedger.hedgedCount()).isEqualTo(1L);
+        assertThat(hedger.hedgeWinCount()).isEqualTo(1L);
+        assertThat(primaryCancelled.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("예산이 없으면 늦어도 한 번만 호출한다")
+    void noHedgeWithoutBudget() {
+        AiHedger hedger = new AiHedger(breakerWithLatency(50), executor(4), true, 0.9, 0, 0.0, 1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.execute(AiPromptType.DETAIL, () -> {
+            attempts.incrementAndGet();
+            sleep(200);
+            return "primary";
+        });
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(hedger.hedgedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("예산은 호출 수에 비례해서만 쌓인다 (5%면 20건에 1번)")
+    void budgetIsProportional() {
+        AiHedger hedger = new AiHedger(breakerWithLatency(1), executor(4), true, 0.9, 0, 0.05, 1);
+        for (int i = 0; i < 40; i++) {
+            hedger.execute(AiPromptType.DETAIL, () -> {
+                sleep(20);
+                return "ok";
+            });
+        }
+        assertThat(hedger.hedgedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("응답시간 기록이 없는 종류는 hedge 없이 호출한 스레드에서 바로 실행한다")
+    void runsInlineWithoutSamples() {
+        AiHedger hedger = new AiHedger(breakerWithLatency(50), executor(4), true, 0.9, 0, 1.0, 1);
+        Thread caller = Thread.currentThread();
+
+        Thread ran = hedger.execute(AiPromptType.PRICE, Thread::currentThread);
+
+        assertThat(ran).isEqualTo(caller);
+        assertThat(hedger.hedgeDelayMs(AiPromptType.PRICE)).isEqualTo(-1L);
+    }
+
+    @Test
+    @DisplayName("첫 호출이 바로 실패하면 hedge 없이 그 예외를 던진다")
+    void fastFailureIsNotHedged() {
+        AiHedger hedger = new AiHedger(breakerWithLatency(50), executor(4), true, 0.9, 0, 1.0, 1);
+
+        assertThatThrownBy(() -> hedger.execute(AiPromptType.DETAIL, () -> {
+            throw new IllegalArgumentException("bad request");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(hedger.hedgedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("스레드풀이 꽉 차면 hedge 없이 호출한 스레드에서 바로 실행한다")
+    void runsInlineWhenPoolIsFull() throws Exception {
+        ThreadPoolTaskExecutor executor = executor(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.getThreadPoolExecutor().submit(() -> {
+            release.await();
+            return null;
+        });
+        AiHedger hedger = new AiHedger(breakerWithLatency(50), executor, true, 0.9, 0, 1.0, 1);
+        Thread caller = Thread.currentThread();
+
+        try {
+            Thread ran = hedger.execute(AiPromptType.DETAIL, Thread::currentThread);
+            assertThat(ran).isEqualTo(caller);
+            assertThat(hedger.hedgedCount()).isEqualTo(0L);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package likelion.analysisTest;
+
+import likelion.config.AiModelProperties;
+import likelion.config.AiModelProperties.ModelSettings;
+import likelion.service.ai.AiPromptType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiModelPropertiesTest {
+
+    @Test
+    @DisplayName("종류별 설정에 없는 항목은 기본값으로 채운다")
+    void mergesWithDefaults() {
+        AiModelProperties properties = new AiModelProperties(
+                new ModelSettings("gpt-4o", null, 0.5),
+                Map.of(AiPromptType.PRICE, new ModelSettings("gpt-4o-mini", 50, null)));
+
+        ModelSettings price = properties.settingsFor(AiPromptType.PRICE);
+        assertThat(price.model()).isEqualTo("gpt-4o-mini");
+        assertThat(price.maxTokens()).isEqualTo(50);
+        assertThat(price.temperature()).isEqualTo(0.5);
+
+        ModelSettings detail = properties.settingsFor(AiPromptType.DETAIL);
+        assertThat(detail.model()).isEqualTo("gpt-4o");
+        assertThat(detail.maxTokens()).isNull();
+    }
+
+    @Test
+    @DisplayName("설정이 전혀 없으면 gpt-4o를 쓴다")
+    void defaultsWhenEmpty() {
+        AiModelProperties properties = new AiModelProperties(null, null);
+        assertThat(properties.settingsFor(AiPromptType.MENU_GUESS).model()).isEqualTo("gpt-4o");
+    }
+
+    @Test
+    @DisplayName("모델이나 설정이 다르면 캐시 키가 달라진다")
+    void cacheKeyDiffersBySettings() {
+        AiModelProperties properties = new AiModelProperties(
+                new ModelSettings("gpt-4o", null, null),
+                Map.of(AiPromptType.PRICE, new ModelSettings("gpt-4o-mini", null, null)));
+
+        assertThat(properties.settingsFor(AiPromptType.PRICE).cacheKey())
+                .isNotEqualTo(properties.settingsFor(AiPromptType.DETAIL).cacheKey());
+    }
+}
@@ -0,0 +1,121 @@
+package likelion.analysisTest;
+
+import likelion.service.ai.AiResponseStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiResponseStoreTest {
+
+    // 시간은 직접 움직이는 저장소 (TTL 1시간, 최대 3건, 로그 1MB, 다른 인스턴스 로그는 매번 다시 확인)
+    private static class TestStore extends AiResponseStore {
+        long now = 1_000_000;
+
+        TestStore(Path dir, String instance) {
+            super(true, dir.toString(), instance, 1, 3, 1, 0);
+        }
+
+        @Override
+        protected long now() {
+            return now;
+        }
+    }
+
+    @Test
+    @DisplayName("재시작해도 저장한 응답을 다시 읽는다")
+    void survivesRestart() throws Exception {
+        Path dir = Files.createTempDirectory("ai-cache");
+        TestStore store = new TestStore(dir, "blue_server");
+        store.open();
+        store.put("k1", "{\"menu\":\"국밥\"}");
+
+        TestStore restarted = new TestStore(dir, "blue_server");
+        restarted.open();
+        assertThat(restarted.get("k1")).isEqualTo("{\"menu\":\"국밥\"}");
+    }
+
+    @Test
+    @DisplayName("다른 색 인스턴스가 저장한 응답도 읽는다")
+    void readsOtherInstance() throws Exception {
+        Path dir = Files.createTempDirectory("ai-cache");
+        TestStore blue = new TestStore(dir, "blue_server");
+        TestStore green = new TestStore(dir, "green_server");
+        blue.open();
+        green.open();
+
+        blue.put("k1", "blue 응답");
+        assertThat(green.get("k1")).isEqualTo("blue 응답");
+
+        // blue가 compaction으로 파일을 교체한 뒤 쓴 응답도 읽음
+        blue.compact();
+        blue.put("k2", "compaction 이후");
+        assertThat(green.get("k2")).isEqualTo("compaction 이후");
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 응답은 돌려주지 않는다")
+    void expires() throws Exception {
+        TestStore store = new TestStore(Files.createTempDirectory("ai-cache"), "blue_server");
+        store.open();
+        store.put("k1", "응답");
+
+        store.now += 3_600_000 - 1;
+        assertThat(store.get("k1")).isEqualTo("응답");
+        store.now += 1;
+        assertThat(store.get("k1")).isNull();
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 오래 안 쓴 응답부터 빠지고, compaction 후 파일에는 남은 것만 있다")
+    void capsAndCompacts() throws Exception {
+        Path dir = Files.createTempDirectory("ai-cache");
+        TestStore store = new TestStore(dir, "blue_server");
+        store.open();
+        store.put("k1", "1");
+        store.put("k2", "2");
+        store.put("k3", "3");
+        store.get("k1"); // k2가 가장 오래 안 쓴 항목
+        store.put("k4", "4");
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.get("k2")).isNull();
+
+        long before = store.fileBytes();
+        store.compact();
+        assertThat(store.fileBytes()).isLessThan(before);
+
+        TestStore restarted = new TestStore(dir, "blue_server");
+        restarted.open();
+        assertThat(restarted.get("k1")).isEqualTo("1");
+        assertThat(restarted.get("k2")).isNull();
+        assertThat(restarted.get("k4")).isEqualTo("4");
+    }
+
+    @Test
+    @DisplayName("쓰다가 끊긴 줄은 건너뛰고 나머지는 읽는다")
+    void skipsTornLine() throws Exception {
+        Path dir = Files.createTempDirectory("ai-cache");
+        TestStore store = new TestStore(dir, "blue_server");
+        store.open();
+        store.put("k1", "응답");
+        Files.write(dir.resolve("ai-responses-blue_server.log"), "99999999999\tk2\t%%%".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        TestStore restarted = new TestStore(dir, "blue_server");
+        restarted.open();
+        assertThat(restarted.get("k1")).isEqualTo("응답");
+        assertThat(restarted.get("k2")).isNull();
+
+        // 재시작 때 정리했으므로 이후 append가 끊긴 줄에 붙지 않음
+        restarted.put("k3", "새 응답");
+        TestStore again = new TestStore(dir, "blue_server");
+        again.open();
+        assertThat(again.get("k3")).isEqualTo("새 응답");
+    }
+}
@@ -0,0 +1,63 @@
+package likelion.analysisTest;
+
+import likelion.dto.AnalysisRequest;
+import likelion.dto.AnalysisResponse;
+import likelion.service.cache.AnalysisResultCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultCacheTest {
+
+    private final AnalysisResultCache cache = new AnalysisResultCache(true, 100, 60, 10, 10, 100, 100);
+
+    private AnalysisRequest request(String addr, String category, int budgetMax, int menuPrice) {
+        return new AnalysisRequest(addr, category, "대학가/학교 주변",
+                new AnalysisRequest.MinMax(150, budgetMax), new AnalysisRequest.MinMax(2000, 3000),
+                "홀 영업 위주", "아메리카노", menuPrice,
+                new AnalysisRequest.MinMax(15, 20), 1);
+    }
+
+    private AnalysisResponse response() {
+        return new AnalysisResponse(List.of(), new AnalysisResponse.ReviewAnalysis(4.2, List.of(), "피드백"),
+                new AnalysisResponse.DetailAnalysis(List.of()));
+    }
+
+    @Test
+    @DisplayName("좌표가 몇 m 차이 나고 예산/가격이 같은 구간이면 같은 캐시 항목을 쓴다")
+    void nearlyIdenticalRequestsHit() {
+        AnalysisResponse response = response();
+        cache.put(request("37.299873, 126.839004", "카페/디저트", 200, 4000), response, cache.currentGeneration());
+
+        // 약 1~2m 이동, 공백/예산 끝자리/가격 끝자리만 다름
+        AnalysisResponse hit = cache.get(request("37.299880,126.839010", " 카페/디저트 ", 201, 4020));
+        assertThat(hit).isSameAs(response);
+    }
+
+    @Test
+    @DisplayName("카테고리나 위치가 다르면 캐시를 타지 않는다")
+    void differentRequestsMiss() {
+        cache.put(request("37.299873, 126.839004", "카페/디저트", 200, 4000), response(), cache.currentGeneration());
+
+        assertThat(cache.get(request("37.299873, 126.839004", "중식", 200, 4000))).isNull();
+        assertThat(cache.get(request("37.300873, 126.839004", "카페/디저트", 200, 4000))).isNull(); // 약 110m
+        assertThat(cache.get(request("잘못된 주소", "카페/디저트", 200, 4000))).isNull();
+    }
+
+    @Test
+    @DisplayName("데이터가 바뀌면 비워지고, 바뀌기 전에 시작한 분석 결과는 저장하지 않는다")
+    void invalidatedOnDataChange() {
+        AnalysisRequest req = request("37.299873, 126.839004", "카페/디저트", 200, 4000);
+        cache.put(req, response(), cache.currentGeneration());
+
+        long startedBeforeChange = cache.currentGeneration();
+        cache.invalidateAll();
+        assertThat(cache.get(req)).isNull();
+
+        cache.put(req, response(), startedBeforeChange);
+        assertThat(cache.get(req)).isNull();
+    }
+}
@@ -0,0 +1,112 @@
+package likelion.analysisTest;
+
+import likelion.service.slo.AnalysisSloBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static likelion.service.slo.AnalysisSloBreaker.FAST_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisSloBreakerTest {
+
+    // 시간은 직접 움직이는 차단기 (SLO 1000ms, 최근 4건, 최소 4건, 절반 이상 나쁘면 10초 동안 열림)
+    private static class TestBreaker extends AnalysisSloBreaker {
+        long now;
+
+        TestBreaker() {
+            super(true, 1000, 4, 4, 0.5, 10);
+        }
+
+        @Override
+        protected long now() {
+            return now;
+        }
+
+        // FULL로 통과한 분석 한 건을 바로 기록
+        void full(long elapsedMs, boolean degraded) {
+            record(tryAcquireFull(), elapsedMs, degraded);
+        }
+    }
+
+    @Test
+    @DisplayName("최근 분석 절반 이상이 SLO를 넘기면 빠른 모드로 전환된다")
+    void opensWhenSloViolated() {
+        TestBreaker breaker = new TestBreaker();
+        breaker.full(200, false);
+        breaker.full(5000, false);
+        breaker.full(300, false);
+        long ticket = breaker.tryAcquireFull();
+        assertThat(ticket).isNotEqualTo(FAST_PATH);
+
+        breaker.record(ticket, 200, true); // fallback 응답도 나쁜 결과로 침
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.tryAcquireFull()).isEqualTo(FAST_PATH);
+    }
+
+    @Test
+    @DisplayName("열린 시간이 지나면 한 건만 FULL로 보내보고, 정상이면 닫힌다")
+    void halfOpenProbeCloses() {
+        TestBreaker breaker = new TestBreaker();
+        for (int i = 0; i < 4; i++) breaker.full(5000, false);
+        assertThat(breaker.tryAcquireFull()).isEqualTo(FAST_PATH);
+
+        breaker.now += 10_000;
+        long probe = breaker.tryAcquireFull();
+        assertThat(probe).isNotEqualTo(FAST_PATH);
+        assertThat(breaker.tryAcquireFull()).isEqualTo(FAST_PATH); // probe 진행 중엔 나머지는 빠른 모드
+
+        breaker.record(probe, 300, false);
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(breaker.tryAcquireFull()).isNotEqualTo(FAST_PATH);
+    }
+
+    @Test
+    @DisplayName("probe가 다시 느리면 다시 열린다")
+    void halfOpenProbeReopens() {
+        TestBreaker breaker = new TestBreaker();
+        for (int i = 0; i < 4; i++) breaker.full(5000, false);
+
+        breaker.now += 10_000;
+        long probe = breaker.tryAcquireFull();
+        assertThat(probe).isNotEqualTo(FAST_PATH);
+        breaker.record(probe, 5000, false);
+
+        assertThat(breaker.tryAcquireFull()).isEqualTo(FAST_PATH);
+        breaker.now += 9_999;
+        assertThat(breaker.tryAcquireFull()).isEqualTo(FAST_PATH);
+    }
+
+    @Test
+    @DisplayName("열리기 전에 출발한 분석의 늦은 결과는 probe로 치지 않는다")
+    void lateResultIsNotProbe() {
+        TestBreaker breaker = new TestBreaker();
+        long early = breaker.tryAcquireFull(); // 열리기 전에 출발한 분석
+        for (int i = 0; i < 4; i++) breaker.full(5000, false);
+        assertThat(breaker.isOpen()).isTrue();
+
+        breaker.now += 10_000;
+        long probe = breaker.tryAcquireFull();
+        breaker.record(early, 200, false); // 정상이어도 닫히지 않음
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.tryAcquireFull()).isEqualTo(FAST_PATH);
+
+        breaker.record(probe, 200, false);
+        assertThat(breaker.isOpen()).isFalse();
+    }
+
+    @Test
+    @DisplayName("닫힌 뒤에는 열리기 전에 출발한 분석 결과를 새 집계에 넣지 않는다")
+    void lateResultIgnoredAfterClose() {
+        TestBreaker breaker = new TestBreaker();
+        long[] early = new long[4];
+        for (int i = 0; i < 4; i++) early[i] = breaker.tryAcquireFull();
+        for (int i = 0; i < 4; i++) breaker.full(5000, false);
+
+        breaker.now += 10_000;
+        breaker.record(breaker.tryAcquireFull(), 200, false);
+        assertThat(breaker.isOpen()).isFalse();
+
+        for (long ticket : early) breaker.record(ticket, 5000, false);
+        assertThat(breaker.isOpen()).isFalse();
+    }
+}
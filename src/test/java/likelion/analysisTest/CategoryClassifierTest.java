@@ -0,0 +1,98 @@
+package likelion.analysisTest;
+
+import likelion.domain.entity.StoreCategory;
+import likelion.service.category.CategoryClassifier;
+import likelion.service.category.CategoryKeywords;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryClassifierTest {
+
+    // PartnershipService에 있던 원래 목록 (동작이 그대로인지 비교용)
+    private static final List<String> OLD_CAFE = List.of("카페", "커피", "베이커리", "제과", "디저트", "빙수", "도넛", "브런치");
+    private static final List<String> OLD_FOOD = List.of(
+            "한식", "중식", "일식", "양식", "아시안", "분식", "국밥", "칼국수", "면", "라멘", "초밥", "돈까스", "치킨", "피자", "파스타", "탕", "찌개", "덮밥", "도시락");
+
+    private final Random random = new Random(7);
+
+    private boolean containsAny(String raw, List<String> keywords) {
+        String c = raw.toLowerCase();
+        return keywords.stream().anyMatch(c::contains);
+    }
+
+    // 키워드에 쓰인 글자 + 구분자들로 만든 랜덤 문자열 (키워드가 부분적으로/겹쳐서 나오도록)
+    private List<String> randomCategories(int n) {
+        StringBuilder pool = new StringBuilder(" >,ABc");
+        for (StoreCategory c : StoreCategory.values()) CategoryKeywords.keywords(c).forEach(pool::append);
+        OLD_FOOD.forEach(pool::append);
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + random.nextInt(12);
+            for (int j = 0; j < len; j++) sb.append(pool.charAt(random.nextInt(pool.length())));
+            list.add(sb.toString());
+        }
+        list.addAll(List.of("음식점 > 카페 > 커피전문점", "음식점 > 한식 > 해장국", "음식점 > 술집 > 호프,요리주점",
+                "음식점 > 양식 > 이탈리안", "음식점 > 패스트푸드 > 햄버거", "음식점 > 일식 > 돈까스,우동", ""));
+        return list;
+    }
+
+    @Test
+    @DisplayName("대분류 비트가 키워드 contains 결과와 같다")
+    void bucketsMatchContains() {
+        for (String raw : randomCategories(50_000)) {
+            int mask = CategoryClassifier.classify(raw);
+            for (StoreCategory c : StoreCategory.values()) {
+                assertThat(CategoryClassifier.has(mask, c))
+                        .as("%s / %s", raw, c)
+                        .isEqualTo(containsAny(raw, CategoryKeywords.keywords(c)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("제휴 카페/음식점 비트가 기존 isCafeCategory/isFoodCategory와 같다")
+    void partnerBitsMatchOldLists() {
+        for (String raw : randomCategories(50_000)) {
+            int mask = CategoryClassifier.classify(raw);
+            assertThat((mask & CategoryClassifier.PARTNER_CAFE) != 0).as(raw).isEqualTo(containsAny(raw, OLD_CAFE));
+            assertThat((mask & CategoryClassifier.PARTNER_FOOD) != 0).as(raw).isEqualTo(containsAny(raw, OLD_FOOD));
+        }
+        assertThat(CategoryClassifier.classify(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("사용자 대분류 -> 매처: 대분류 이름/일부 단어는 비트로, 모르는 단어는 그대로 포함 여부로")
+    void userCategoryMatcher() {
+        Predicate<String> cafe = CategoryKeywords.matcher("카페/디저트");
+        assertThat(cafe.test("음식점 > 카페 > 커피전문점")).isTrue();
+        assertThat(cafe.test("음식점 > 간식 > 아이스크림")).isTrue();
+        assertThat(cafe.test("음식점 > 한식 > 국밥")).isFalse();
+
+        // "카페"만 보내도 카페/디저트 대분류로
+        assertThat(CategoryKeywords.matcher("카페").test("음식점 > 간식 > 도넛")).isTrue();
+
+        // 대분류에 없는 단어는 입력 자체로 비교
+        Predicate<String> taco = CategoryKeywords.matcher("타코");
+        assertThat(taco.test("음식점 > 양식 > 멕시칸,브라질 > 타코")).isTrue();
+        assertThat(taco.test("음식점 > 양식 > 이탈리안")).isFalse();
+
+        assertThat(CategoryKeywords.matcher(" ").test("음식점 > 카페")).isFalse();
+    }
+
+    @Test
+    @DisplayName("대표 대분류는 원문에서 가장 앞에 나온 대분류")
+    void primaryCategory() {
+        // "쌀국수"에 "국수"(한식)도 걸리지만 앞쪽의 "아시아"가 대표
+        assertThat(CategoryClassifier.primary("음식점 > 아시아음식 > 베트남음식 > 쌀국수")).isEqualTo(StoreCategory.ASIAN);
+        assertThat(CategoryClassifier.primary("음식점 > 양식 > 이탈리안 > 피자")).isEqualTo(StoreCategory.WESTERN);
+        assertThat(CategoryClassifier.primary("음식점 > 술집 > 호프,요리주점")).isEqualTo(StoreCategory.BAR_ALCOHOL);
+        assertThat(CategoryClassifier.primary("음식점 > 뷔페")).isNull();
+        assertThat(CategoryClassifier.primary(null)).isNull();
+    }
+}
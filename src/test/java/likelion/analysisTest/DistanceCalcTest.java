@@ -0,0 +1,74 @@
+package likelion.analysisTest;
+
+import likelion.service.distance.DistanceCalc;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DistanceCalcTest {
+
+    private static final double METERS_PER_DEG_LAT = Math.toRadians(1) * 6371000;
+
+    private final Random random = new Random(7);
+
+    // origin에서 방향/거리를 랜덤으로 골라 만든 점 (위도, 경도)
+    private double[] pointAround(double lat, double lon, double distanceM) {
+        double bearing = random.nextDouble() * 2 * Math.PI;
+        return new double[]{
+                lat + distanceM * Math.cos(bearing) / METERS_PER_DEG_LAT,
+                lon + distanceM * Math.sin(bearing) / (METERS_PER_DEG_LAT * Math.cos(Math.toRadians(lat)))
+        };
+    }
+
+    @Test
+    @DisplayName("근사 거리는 5km 이하에서 문서화된 상대 오차 안에 있다")
+    void approxDistanceWithinErrorBound() {
+        for (double lat : new double[]{0, 37.3, 60, 69}) {
+            for (int i = 0; i < 20000; i++) {
+                double[] p = pointAround(lat, 126.8, 1 + random.nextDouble() * 4999);
+                double exact = DistanceCalc.calculateDistance(lat, 126.8, p[0], p[1]);
+                double approx = DistanceCalc.approxDistance(lat, 126.8, p[0], p[1]);
+                assertThat(Math.abs(approx - exact)).isLessThanOrEqualTo(exact * DistanceCalc.APPROX_MAX_REL_ERROR);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("반경 판정은 경계 근처 점까지 haversine 판정과 같다")
+    void radiusMatchesHaversine() {
+        for (int q = 0; q < 200; q++) {
+            double lat = 37.28 + random.nextDouble() * 0.04;
+            double lon = 126.82 + random.nextDouble() * 0.04;
+            double radiusM = random.nextDouble() * 1000;
+            DistanceCalc.Radius radius = DistanceCalc.radius(lat, lon, radiusM);
+            for (int i = 0; i < 500; i++) {
+                // 절반은 경계 ±0.5m, 나머지는 반경 2배 안쪽 아무 곳
+                double d = i % 2 == 0 ? radiusM + (random.nextDouble() - 0.5) : random.nextDouble() * radiusM * 2;
+                double[] p = pointAround(lat, lon, d);
+                boolean expected = DistanceCalc.calculateDistance(lat, lon, p[0], p[1]) <= radiusM;
+                assertThat(radius.contains(p[0], p[1])).isEqualTo(expected);
+                if (expected) assertThat(radius.inBoundingBox(p[0], p[1])).isTrue();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("배열 일괄 계산은 한 쌍씩 계산한 값과 같다")
+    void batchMatchesSingle() {
+        int n = 1000;
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = 37.28 + random.nextDouble() * 0.04;
+            lons[i] = 126.82 + random.nextDouble() * 0.04;
+        }
+        double[] out = new double[n];
+        DistanceCalc.distances(37.3, 126.84, lats, lons, out);
+        for (int i = 0; i < n; i++) {
+            assertThat(out[i]).isEqualTo(DistanceCalc.calculateDistance(37.3, 126.84, lats[i], lons[i]));
+        }
+    }
+}
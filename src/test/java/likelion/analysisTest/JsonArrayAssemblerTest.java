@@ -0,0 +1,74 @@
+package likelion.analysisTest;
+
+import likelion.service.ai.JsonArrayAssembler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonArrayAssemblerTest {
+
+    private static final String RESPONSE = """
+            ```json
+            { "title": "sections", "sections": [
+              {"name": "입지 {요약}", "content": "정문 \\"50m\\" 안 [경쟁] 3곳"},
+              {"name": "예산", "content": "층별 시세 대비 충분\\\\"}
+            ], "extra": [{"name": "무시"}] }
+            ```""";
+
+    @Test
+    @DisplayName("한 글자씩 들어와도 섹션 객체가 닫히는 순간마다 원문 그대로 넘긴다")
+    void emitsEachSectionAsItCloses() {
+        List<String> emitted = new ArrayList<>();
+        List<Integer> emittedAtChar = new ArrayList<>();
+        int[] position = {0};
+        JsonArrayAssembler assembler = new JsonArrayAssembler("sections", json -> {
+            emitted.add(json);
+            emittedAtChar.add(position[0]);
+        });
+
+        for (int i = 0; i < RESPONSE.length(); i++) {
+            position[0] = i;
+            assembler.accept(String.valueOf(RESPONSE.charAt(i)));
+        }
+
+        assertThat(emitted.size()).isEqualTo(2);
+        assertThat(emitted.get(0)).isEqualTo("{\"name\": \"입지 {요약}\", \"content\": \"정문 \\\"50m\\\" 안 [경쟁] 3곳\"}");
+        assertThat(emitted.get(1)).isEqualTo("{\"name\": \"예산\", \"content\": \"층별 시세 대비 충분\\\\\"}");
+        // 첫 섹션은 응답이 끝나기 전에 나옴
+        assertThat(emittedAtChar.get(0)).isEqualTo(RESPONSE.indexOf("3곳\"}") + 3);
+        assertThat(assembler.isFinished()).isTrue();
+    }
+
+    @Test
+    @DisplayName("조각을 어디서 나눠도 결과가 같다")
+    void chunkBoundariesDoNotMatter() {
+        List<String> whole = new ArrayList<>();
+        new JsonArrayAssembler("sections", whole::add).accept(RESPONSE);
+
+        for (int size = 2; size <= 7; size++) {
+            List<String> chunked = new ArrayList<>();
+            JsonArrayAssembler assembler = new JsonArrayAssembler("sections", chunked::add);
+            for (int i = 0; i < RESPONSE.length(); i += size) {
+                assembler.accept(RESPONSE.substring(i, Math.min(RESPONSE.length(), i + size)));
+            }
+            assertThat(chunked).isEqualTo(whole);
+        }
+        assertThat(whole.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("배열이 끝나기 전에 끊기면 완성된 섹션만 넘긴다")
+    void truncatedResponse() {
+        List<String> emitted = new ArrayList<>();
+        JsonArrayAssembler assembler = new JsonArrayAssembler("sections", emitted::add);
+        assembler.accept(RESPONSE.substring(0, RESPONSE.indexOf("예산")));
+
+        assertThat(emitted.size()).isEqualTo(1);
+        assertThat(assembler.emittedCount()).isEqualTo(1);
+        assertThat(assembler.isFinished()).isFalse();
+    }
+}
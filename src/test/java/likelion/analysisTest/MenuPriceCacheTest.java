@@ -0,0 +1,23 @@
+package likelion.analysisTest;
+
+import likelion.service.cache.MenuPriceCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuPriceCacheTest {
+
+    @Test
+    @DisplayName("말이 안 되는 평균가(0원, 9999999원)는 캐싱하지 않는다")
+    void rejectsOutOfRangePrices() {
+        MenuPriceCache cache = new MenuPriceCache(100, 72);
+        cache.put("국밥", 0);
+        cache.put("아메리카노", 9_999_999);
+        cache.put("마라탕", 9_500);
+
+        assertThat(cache.get("국밥")).isNull();
+        assertThat(cache.get("아메리카노")).isNull();
+        assertThat(cache.get("마 라 탕")).isEqualTo(9_500);
+    }
+}
@@ -0,0 +1,51 @@
+package likelion.analysisTest;
+
+import likelion.service.ai.AiPromptType;
+import likelion.service.ai.PromptTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptTemplateTest {
+
+    private static final PromptTemplate TEMPLATE = PromptTemplate.compile(AiPromptType.REVIEW_FEEDBACK, """
+            # Role: Review analysis coach   
+            - 아래 [Category]의 [Reviews]를 분석하세요.
+            """, "Category", "Reviews");
+
+    @Test
+    @DisplayName("값이 달라도 앞부분은 바이트 단위로 같고, 값은 맨 뒤에만 붙는다")
+    void prefixIsStable() {
+        String a = TEMPLATE.render("한식", "- [가게A | 4.5] 맛있어요");
+        String b = TEMPLATE.render("카페", "- [가게B | 3.0] 조용해요");
+
+        assertThat(a.startsWith(TEMPLATE.prefix())).isTrue();
+        assertThat(b.startsWith(TEMPLATE.prefix())).isTrue();
+        assertThat(a.substring(TEMPLATE.prefix().length()))
+                .isEqualTo("\n[Category]\n한식\n\n[Reviews]\n- [가게A | 4.5] 맛있어요\n");
+        // 줄 끝 공백은 정리됨
+        assertThat(TEMPLATE.prefix()).startsWith("# Role: Review analysis coach\n");
+        assertThat(TEMPLATE.prefixTokens()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("지시문에 자리표시자가 있으면 컴파일 단계에서 막는다")
+    void rejectsPlaceholders() {
+        assertThatThrownBy(() -> PromptTemplate.compile(AiPromptType.DETAIL, "- 업종: %s", "User Inputs"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PromptTemplate.compile(AiPromptType.DETAIL, "- 거리: %dm", "User Inputs"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 퍼센트 표기는 허용
+        assertThat(PromptTemplate.compile(AiPromptType.DETAIL, "- 할인율 10% 이하", "User Inputs").prefix())
+                .isEqualTo("- 할인율 10% 이하\n");
+    }
+
+    @Test
+    @DisplayName("값 개수가 블록 수와 다르면 예외")
+    void rejectsWrongArity() {
+        assertThatThrownBy(() -> TEMPLATE.render("한식"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package likelion.analysisTest;
+
+import likelion.domain.entity.RealEstate;
+import likelion.service.rent.RentModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RentModelTest {
+
+    // 반경 1500m, 가까운 8개, 최소 3개, 보정 0.7~1.3
+    private final RentModel model = new RentModel(null, true, 1500, 8, 3, 0.7, 1.3);
+
+    private RealEstate listing(int priceManwon, double areaPyeng, int floor, Double lat, Double lon) {
+        RealEstate r = new RealEstate();
+        r.setPriceManwon(priceManwon);
+        r.setAreaPyeng(areaPyeng);
+        r.setFloor(floor);
+        r.setLatitude(lat);
+        r.setLongitude(lon);
+        return r;
+    }
+
+    @Test
+    @DisplayName("층 구분별 평당 가격 백분위를 계산한다")
+    void floorPercentiles() {
+        List<RealEstate> listings = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            listings.add(listing(i * 100, 10, 1, null, null)); // 평당 10만~100만원
+        }
+        listings.add(listing(500, 10, 2, null, null));
+        listings.add(listing(0, 10, 1, null, null)); // 가격 없는 매물은 제외
+        model.load(listings);
+
+        RentModel.Percentiles first = model.floorStats("1F");
+        assertThat(first.count()).isEqualTo(10);
+        assertThat(first.p50()).isEqualTo(500_000L);
+        assertThat(first.p90()).isEqualTo(900_000L);
+        assertThat(model.floorStats("2F").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("주변 매물이 같은 층 중앙값보다 비싸면 보정 계수가 1보다 크고 상한으로 잘린다")
+    void locationFactor() {
+        List<RealEstate> listings = new ArrayList<>();
+        // 정문 근처: 평당 1500만원 (비싼 곳)
+        for (int i = 0; i < 5; i++) listings.add(listing(15000, 10, 1, 37.2985 + i * 0.0001, 126.8375));
+        // 멀리 떨어진 곳: 평당 1000만원
+        for (int i = 0; i < 5; i++) listings.add(listing(10000, 10, 1, 37.33 + i * 0.0001, 126.88));
+        // 더 멀리 아주 싼 곳 (중앙값을 낮춤)
+        for (int i = 0; i < 5; i++) listings.add(listing(5000, 10, 1, 37.40, 126.95));
+        model.load(listings);
+
+        RentModel.RentEstimate near = model.estimate(37.2986, 126.8376, "1F");
+        assertThat(near.sampleCount()).isEqualTo(5);
+        assertThat(near.factor()).isEqualTo(1.3); // 1.5배지만 상한 1.3
+
+        RentModel.RentEstimate mid = model.estimate(37.3301, 126.8801, "1F");
+        assertThat(mid.factor()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("주변 매물이 부족하면 보정하지 않는다")
+    void notEnoughNeighbors() {
+        model.load(List.of(
+                listing(15000, 10, 1, 37.2985, 126.8375),
+                listing(15000, 10, 1, 37.2986, 126.8375),
+                listing(5000, 10, 1, 37.40, 126.95)));
+
+        RentModel.RentEstimate estimate = model.estimate(37.2986, 126.8376, "1F");
+        assertThat(estimate.sampleCount()).isEqualTo(2);
+        assertThat(estimate.factor()).isEqualTo(1.0);
+    }
+}
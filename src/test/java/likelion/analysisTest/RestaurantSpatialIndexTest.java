@@ -0,0 +1,95 @@
+package likelion.analysisTest;
+
+import likelion.domain.entity.Restaurant;
+import likelion.service.distance.DistanceCalc;
+import likelion.service.spatial.RestaurantSpatialIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantSpatialIndexTest {
+
+    private final Random random = new Random(42);
+
+    private Restaurant newR(long id, Double lat, Double lon) {
+        Restaurant r = new Restaurant();
+        r.setKakaoPlaceId(id);
+        r.setRestaurantName("식당" + id);
+        r.setLatitude(lat);
+        r.setLongitude(lon);
+        return r;
+    }
+
+    // 에리카 정문 주변 2km 안쪽에 랜덤 식당 생성
+    private List<Restaurant> randomRestaurants(int n) {
+        List<Restaurant> list = new ArrayList<>();
+        for (long i = 0; i < n; i++) {
+            list.add(newR(i, 37.29 + random.nextDouble() * 0.02, 126.83 + random.nextDouble() * 0.02));
+        }
+        return list;
+    }
+
+    private Set<Long> ids(List<Restaurant> list) {
+        return list.stream().map(Restaurant::getKakaoPlaceId).collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("반경 조회 결과가 전체 스캔 결과와 같다")
+    void withinRadius_matchesFullScan() {
+        List<Restaurant> all = randomRestaurants(3000);
+        RestaurantSpatialIndex.Snapshot snapshot = RestaurantSpatialIndex.Snapshot.of(1, all);
+
+        for (int q = 0; q < 200; q++) {
+            double lat = 37.285 + random.nextDouble() * 0.03;
+            double lon = 126.825 + random.nextDouble() * 0.03;
+            double radius = random.nextDouble() * 500;
+
+            Set<Long> expected = all.stream()
+                    .filter(r -> DistanceCalc.calculateDistance(lat, lon, r.getLatitude(), r.getLongitude()) <= radius)
+                    .map(Restaurant::getKakaoPlaceId)
+                    .collect(Collectors.toSet());
+
+            assertThat(ids(snapshot.withinRadius(lat, lon, radius))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("k-최근접 조회가 거리순 정렬 결과의 앞 k개와 같다")
+    void nearest_matchesSortedFullScan() {
+        List<Restaurant> all = randomRestaurants(3000);
+        RestaurantSpatialIndex.Snapshot snapshot = RestaurantSpatialIndex.Snapshot.of(1, all);
+
+        for (int q = 0; q < 100; q++) {
+            double lat = 37.285 + random.nextDouble() * 0.03;
+            double lon = 126.825 + random.nextDouble() * 0.03;
+            int k = 1 + random.nextInt(15);
+
+            List<Long> expected = all.stream()
+                    .sorted(Comparator.comparingDouble(r -> DistanceCalc.calculateDistance(lat, lon, r.getLatitude(), r.getLongitude())))
+                    .limit(k)
+                    .map(Restaurant::getKakaoPlaceId)
+                    .toList();
+
+            assertThat(snapshot.nearest(lat, lon, k).stream().map(Restaurant::getKakaoPlaceId).toList())
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("좌표가 없거나 (0,0)인 식당은 격자에서 빠지지만 전체 목록에는 남는다")
+    void missingCoords_excludedFromGrid() {
+        List<Restaurant> all = new ArrayList<>(randomRestaurants(10));
+        all.add(newR(100L, null, null));
+        all.add(newR(101L, 0.0, 0.0));
+
+        RestaurantSpatialIndex.Snapshot snapshot = RestaurantSpatialIndex.Snapshot.of(1, all);
+
+        assertThat(snapshot.size()).isEqualTo(10);
+        assertThat(snapshot.all()).hasSize(12);
+        assertThat(ids(snapshot.withinRadius(0.0, 0.0, 100))).isEmpty();
+    }
+}
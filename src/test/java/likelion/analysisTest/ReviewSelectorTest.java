@@ -0,0 +1,77 @@
+package likelion.analysisTest;
+
+import likelion.domain.entity.Restaurant;
+import likelion.domain.entity.Review;
+import likelion.service.ai.TokenEstimator;
+import likelion.service.review.ReviewSelector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewSelectorTest {
+
+    private Review review(long id, String store, double rating, String content) {
+        Restaurant r = new Restaurant();
+        r.setRestaurantName(store);
+        Review v = new Review();
+        v.setId(id);
+        v.setRestaurant(r);
+        v.setRating(BigDecimal.valueOf(rating));
+        v.setContent(content);
+        return v;
+    }
+
+    @Test
+    @DisplayName("리뷰가 아무리 많아도 토큰 예산을 넘지 않는다")
+    void staysWithinBudget() {
+        ReviewSelector selector = new ReviewSelector(220, 500);
+        List<Review> reviews = new ArrayList<>();
+        for (long i = 0; i < 5_000; i++) {
+            reviews.add(review(i, "가게" + (i % 50), 1 + i % 5, "커피가 맛있고 자리가 넓어서 시험기간에 공부하기 좋아요 " + i));
+        }
+
+        ReviewSelector.Selection selection = selector.select(reviews);
+
+        assertThat(selection.reviews()).isNotEmpty();
+        assertThat(selection.estimatedTokens()).isLessThanOrEqualTo(500);
+        assertThat(TokenEstimator.estimate(selection.lines())).isLessThanOrEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("한 가게 리뷰만 몰리지 않고 여러 가게/평점대가 섞인다")
+    void prefersDiversity() {
+        ReviewSelector selector = new ReviewSelector(220, 400);
+        List<Review> reviews = new ArrayList<>();
+        // 인기 가게의 긴 최신 리뷰가 잔뜩 + 다른 가게들의 리뷰 조금
+        for (long i = 100; i < 200; i++) {
+            reviews.add(review(i, "인기가게", 5.0, "분위기도 좋고 음료도 맛있고 직원분들도 친절해서 자주 방문하게 되는 곳이에요 " + i));
+        }
+        reviews.add(review(1, "가게A", 2.0, "가격에 비해 양이 적고 피크타임에 너무 오래 기다렸어요"));
+        reviews.add(review(2, "가게B", 3.0, "무난한 편인데 좌석이 좁아서 단체로 가기는 어려워요"));
+        reviews.add(review(3, "가게C", 1.0, "주문이 누락돼서 한참 기다렸는데 사과도 없었어요"));
+
+        List<String> stores = selector.select(reviews).reviews().stream()
+                .map(v -> v.getRestaurant().getRestaurantName())
+                .toList();
+
+        assertThat(stores).contains("가게A", "가게B", "가게C", "인기가게");
+    }
+
+    @Test
+    @DisplayName("빈 리뷰와 같은 내용 리뷰는 한 번만")
+    void skipsEmptyAndDuplicates() {
+        ReviewSelector selector = new ReviewSelector(220, 6000);
+        List<Review> reviews = List.of(
+                review(1, "가게A", 4.0, "맛있어요 재방문 의사 있어요"),
+                review(2, "가게B", 4.0, "맛있어요   재방문 의사 있어요"),
+                review(3, "가게C", 4.0, "   "),
+                review(4, "가게D", 4.0, null));
+
+        assertThat(selector.select(reviews).reviews()).hasSize(1);
+    }
+}
@@ -0,0 +1,168 @@
+package likelion.analysisTest;
+
+import likelion.service.ai.SingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final ExecutorService upstream = Executors.newCachedThreadPool();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        upstream.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 호출하면 upstream은 한 번만 호출되고 모두 같은 결과를 받는다")
+    void coalescesConcurrentCalls() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>(upstream);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(callers.submit(() -> flight.execute("k", () -> {
+                upstreamCalls.incrementAndGet();
+                await(release);
+                return "answer";
+            }, 5000)));
+        }
+        waitUntil(() -> flight.callCount() + flight.coalescedCount() == 5);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("answer");
+        }
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        waitUntil(() -> flight.inFlightCount() == 0); // 완료 콜백에서 맵 정리
+        assertThat(flight.inFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("한 대기자가 타임아웃으로 빠져도 다른 대기자는 결과를 받는다")
+    void timeoutOnlyAffectsThatCaller() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>(upstream);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> patient = callers.submit(() -> flight.execute("k", () -> {
+            await(release);
+            return "answer";
+        }, 5000));
+        waitUntil(() -> flight.callCount() == 1);
+
+        boolean timedOut = false;
+        try {
+            flight.execute("k", () -> "other", 50);
+        } catch (TimeoutException e) {
+            timedOut = true;
+        }
+        assertThat(timedOut).isTrue();
+
+        release.countDown();
+        assertThat(patient.get(5, TimeUnit.SECONDS)).isEqualTo("answer");
+        assertThat(flight.callCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기자가 모두 빠지면 upstream 호출을 취소하고 다음 호출은 새로 시작한다")
+    void cancelsWhenAllWaitersLeave() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>(upstream);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        boolean timedOut = false;
+        try {
+            flight.execute("k", () -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                } finally {
+                    finished.countDown();
+                }
+                return "late";
+            }, 50);
+        } catch (TimeoutException e) {
+            timedOut = true;
+        }
+        assertThat(timedOut).isTrue();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted.get()).isTrue();
+        assertThat(flight.inFlightCount()).isEqualTo(0);
+
+        assertThat(flight.execute("k", () -> "fresh", 5000)).isEqualTo("fresh");
+        assertThat(flight.callCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("upstream 실패는 합류한 모든 대기자에게 전달된다")
+    void failurePropagatesToAllWaiters() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>(upstream);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(callers.submit(() -> {
+                try {
+                    flight.execute("k", () -> {
+                        await(release);
+                        throw new IllegalStateException("boom");
+                    }, 5000);
+                    return false;
+                } catch (ExecutionException e) {
+                    return e.getCause() instanceof IllegalStateException;
+                }
+            }));
+        }
+        waitUntil(() -> flight.callCount() + flight.coalescedCount() == 3);
+        release.countDown();
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(flight.callCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("키는 모델과 프롬프트가 모두 같을 때만 같다")
+    void keyDependsOnModelAndPrompt() {
+        String key = SingleFlight.keyOf("gpt-4o", "프롬프트");
+        assertThat(key).isEqualTo(SingleFlight.keyOf("gpt-4o", "프롬프트"));
+        assertThat(key).isNotEqualTo(SingleFlight.keyOf("gpt-4o-mini", "프롬프트"));
+        assertThat(key).isNotEqualTo(SingleFlight.keyOf("gpt-4o", "프롬프트 "));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
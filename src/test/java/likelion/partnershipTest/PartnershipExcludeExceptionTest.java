@@ -1,16 +1,19 @@
 package likelion.partnershipTest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import likelion.domain.entity.Restaurant;
 import likelion.dto.PartnershipRequestDto;
 import likelion.repository.RestaurantRepository;
 import likelion.service.AiChatService;
 import likelion.service.PartnershipService;
+import likelion.service.metrics.StageTimer;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -35,6 +38,9 @@ class PartnershipExcludeExceptionTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Spy
+    private StageTimer stageTimer = new StageTimer(new SimpleMeterRegistry());
+
     @ParameterizedTest
     @ValueSource(strings = {
             "이디야커피 안산한대점", "스타벅스 안산한양대점", "메가MGC커피 한양대에리카점",